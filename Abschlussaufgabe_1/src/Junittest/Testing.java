@@ -15,15 +15,39 @@ import org.junit.Test;
     import static org.junit.Assert.assertEquals;
     import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.junit.After;
 
     import  edu.kit.informatik.Terminal;
     import org.junit.Before;
+    import org.junit.Rule;
     import org.junit.Test;
+    import org.junit.rules.TemporaryFolder;
 
+import events.Event;
+import logic.LogicException;
+import logic.TrackNetwork;
 import userinterface.InputException;
+import userinterface.RailWayHost;
 import userinterface.Session;
 import userinterface.commands.Command;
 import userinterface.commands.CommandCenter;
@@ -32,6 +56,12 @@ public class Testing {
     
     Session session;
     CommandCenter center;
+    
+    /**
+     * Directory for the snapshots, journals and scripts of a test.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
         /**
          * Resets before every Test
          */
@@ -66,6 +96,30 @@ public class Testing {
             }
         }
         
+        /**
+         * Helper Method, which writes a script for the batch mode into the temp directory.
+         * @param lines the Commands of the script
+         * @return the path of the script
+         * @throws IOException 
+         */
+        private String script(String... lines) throws IOException {
+            Path file = folder.newFile().toPath();
+            Files.write(file, Arrays.asList(lines), StandardCharsets.ISO_8859_1);
+            return file.toString();
+        }
+        
+        /**
+         * Helper Method, which starts a new Session like Main does after a restart.
+         * @param journal the journal directory the Session recovers from
+         * @param interlocking true if the Session is started with --interlocking
+         */
+        private void restart(String journal, boolean interlocking) {
+            session = new Session();
+            session.setInterlocking(interlocking);
+            session.openJournal(journal);
+            center = new CommandCenter(session);
+        }
+        
         /**
          * Example Commands from Sheet
          * @throws SecurityException 
@@ -580,5 +634,1279 @@ public class Testing {
         assertTrue(Terminal.buffer.contains("Error, "));
                                                 
     }
+    @Test
+    public void pointsWithNegativeCoordinates() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (-5,0) -> (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (0,0) -> (0,-5)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (0,-5) -> (-5,-5)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (-5,-5) -> (-5,0)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("add track (0,-5) -> (5,-5)");
+        assertTrue(Terminal.buffer.contains("Error, "));
+        e("add track (100000,0) -> (100000,-100000)");
+        assertTrue(Terminal.buffer.contains("Error, "));
+        e("create engine diesel D 1 1 true true");
+        e("add train 1 D-1");
+        // (-1,-1) and (-5,-1) are no points of the track, (-5,-2) is
+        e("put train 1 at (-1,-1) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("Error, this point is not existing!"));
+        e("put train 1 at (-5,-2) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (-5,0)"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (-4,0)"));
+        e("step 4");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (0,0)"));
+        e("step -3");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (-3,0)"));
+        e("step 10");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (-2,-5)"));
+    }
+    @Test
+    public void longTracks() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (100000000,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add switch (100000000,0) -> (100000000,100000000),(100000010,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (100000000,100000000) -> (0,100000000)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (100000000,0) 100000000\n"
+                + "s 2 (100000000,0) -> (100000000,100000000),(100000010,0)\n"
+                + "t 3 (100000000,100000000) -> (0,100000000) 100000000"));
+        e("set switch 2 position (100000000,100000000)");
+        e("create engine diesel D 1 5 true true");
+        e("add train 1 D-1");
+        e("put train 1 at (100000000,12345678) in direction 1,0");
+        assertTrue(Terminal.buffer.contains("Error, "));
+        e("put train 1 at (99999990,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 15");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (100000000,5)"));
+        e("step -20");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (99999985,0)"));
+        e("delete train 1");
+        e("add train 1 D-1");
+        e("put train 1 at (12345,100000000) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 12344");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (1,100000000)"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Crash of train 1"));
+    }
+    /**
+     * Builds a ring with a switch and two trains which drive around it.
+     */
+    private void ringWithTwoTrains() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (20,0)");
+        e("add switch (20,0) -> (20,10),(30,0)");
+        e("add track (20,10) -> (0,10)");
+        e("add track (0,10) -> (0,0)");
+        e("set switch 2 position (20,10)");
+        e("create engine diesel D 1 3 true true");
+        e("create coach passenger 2 true true");
+        e("create engine steam S 1 2 true true");
+        e("add train 1 D-1");
+        e("add train 1 W1");
+        e("add train 2 S-1");
+        e("put train 1 at (10,0) in direction 1,0");
+        e("put train 2 at (10,10) in direction -1,0");
+    }
+
+    @Test
+    public void stepSeveralPoints() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        ringWithTwoTrains();
+        e("step 25");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (15,10)\nTrain 2 at (5,0)"));
+        e("step -7");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (20,8)\nTrain 2 at (0,2)"));
+        e("step 30");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (0,2)\nTrain 2 at (20,8)"));
+        e("step 100");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (12,10)\nTrain 2 at (8,0)"));
+        e("set switch 2 position (30,0)");
+        e("step 20");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (0,2)\nTrain 2 at (28,0)"));
+        e("step 20");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (18,0)\nCrash of train 2"));
+        
+        // the same way one point at a time
+        session = new Session();
+        center = new CommandCenter(session);
+        ringWithTwoTrains();
+        for (int i = 0; i < 25; i++) {
+            e("step 1");
+        }
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (15,10)\nTrain 2 at (5,0)"));
+        for (int i = 0; i < 7; i++) {
+            e("step -1");
+        }
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (20,8)\nTrain 2 at (0,2)"));
+    }
+    @Test
+    public void crashesOfSeveralTrains() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        e("add track (10,0) -> (20,0)");
+        e("add track (20,0) -> (30,0)");
+        e("add track (30,0) -> (40,0)");
+        e("add track (40,0) -> (40,10)");
+        e("create engine diesel D 1 1 true true");
+        e("create engine diesel D 2 1 true true");
+        e("create engine diesel D 3 1 true true");
+        e("create engine diesel D 4 4 true true");
+        e("add train 1 D-1");
+        e("add train 2 D-2");
+        e("add train 3 D-3");
+        e("add train 4 D-4");
+        e("put train 1 at (3,0) in direction 1,0");
+        e("put train 2 at (16,0) in direction -1,0");
+        e("put train 3 at (25,0) in direction 1,0");
+        e("put train 4 at (40,5) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 4");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (7,0)\nTrain 2 at (12,0)\nTrain 3 at (29,0)\nTrain 4 at (40,9)"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (9,0)\nTrain 2 at (10,0)\nTrain 3 at (31,0)\nCrash of train 4"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Crash of train 1,2\nTrain 3 at (32,0)"));
+        e("step 8");
+        assertTrue(Terminal.buffer.contentEquals("Train 3 at (40,0)"));
+        // the crashed trains are off the track and can be put again
+        e("put train 1 at (3,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 2 at (20,0) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 8");
+        assertTrue(Terminal.buffer.contentEquals("Crash of train 1,2\nTrain 3 at (40,8)"));
+    }
+    @Test
+    public void longTrainForwardAndBackward() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (-20,0) -> (10,0)");
+        e("add switch (10,0) -> (10,10),(20,0)");
+        e("add track (10,10) -> (0,10)");
+        e("add track (20,0) -> (20,10)");
+        e("set switch 2 position (10,10)");
+        e("create engine electrical E 1 4 true true");
+        e("create coach passenger 3 true true");
+        e("create coach freight 2 true true");
+        e("add train 1 E-1");
+        e("add train 1 W1");
+        e("add train 1 W2");
+        e("put train 1 at (10,4) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 3");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,7)"));
+        e("step -12");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (5,0)"));
+        e("step 4");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (9,0)"));
+        // the train now drives over the other end of the switch
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step -3");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (6,0)"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (7,0)"));
+        e("step -10");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (-3,0)"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (-2,0)"));
+        e("step 15");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (13,0)"));
+        e("step 10");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (20,3)"));
+        e("step -6");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (17,0)"));
+        e("step 20");
+        assertTrue(Terminal.buffer.contentEquals("Crash of train 1"));
+    }
+    @Test
+    public void trainsBlockingTracksAndSwitches() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (20,0),(10,10)");
+        e("add track (20,0) -> (30,0)");
+        e("add track (10,10) -> (10,20)");
+        e("set switch 2 position (20,0)");
+        e("create engine diesel D 1 3 true true");
+        e("create engine diesel D 2 1 true true");
+        e("add train 1 D-1");
+        e("add train 2 D-2");
+        e("put train 1 at (12,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        // the tail of train 1 is on the switch and on track 1
+        e("put train 2 at (10,0) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("Error, already a train on this track!"));
+        e("put train 2 at (3,0) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("Error, already a train on this track!"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (14,0)"));
+        e("put train 2 at (3,0) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        // setting the switch under train 1 takes it off the track
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 2 at (2,0)"));
+        e("put train 1 at (10,15) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,17)\nTrain 2 at (0,0)"));
+    }
+    @Test
+    public void findTracksAndSwitchesById() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (20,0),(10,10)");
+        e("add track (20,0) -> (30,0)");
+        e("set switch 1 position (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch is not existing!"));
+        e("set switch 3 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch is not existing!"));
+        e("set switch 5 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch is not existing!"));
+        e("set switch 02 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("set switch 2 position (15,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch state is invalid!"));
+        e("delete track 7");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no Track!"));
+        e("delete track 3");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        // the new track gets the id of the deleted one
+        e("add track (10,10) -> (0,10)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("set switch 3 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch is not existing!"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n" + "s 2 (10,0) -> (20,0),(10,10) 10\n"
+                + "t 3 (10,10) -> (0,10) 10"));
+        e("delete track 3");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("add switch (0,0) -> (0,10),(-10,0)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("set switch 3 position (-10,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n" + "s 2 (10,0) -> (20,0),(10,10) 10\n"
+                + "s 3 (0,0) -> (0,10),(-10,0) 10"));
+    }
+    @Test
+    public void connectedTracksAndDuplicates() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (10,0) -> (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the Track already exists."));
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the Track already exists."));
+        e("add track (10,0) -> (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (10,0) -> (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, already two tracks connected!"));
+        e("add switch (10,10) -> (10,20),(20,10)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (20,10) -> (30,10)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("add track (20,10) -> (20,20)");
+        assertTrue(Terminal.buffer.contentEquals("5"));
+        e("add switch (10,10) -> (0,10),(10,5)");
+        assertTrue(Terminal.buffer.contentEquals("Error, already two tracks connected!"));
+        e("add track (10,20) -> (0,20)");
+        assertTrue(Terminal.buffer.contentEquals("6"));
+        e("add track (0,20) -> (10,20)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the Track already exists."));
+        e("add switch (0,0) -> (0,10),(-10,0)");
+        assertTrue(Terminal.buffer.contentEquals("7"));
+        e("add switch (0,0) -> (0,20),(-10,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, already two tracks connected!"));
+        e("add track (0,10) -> (0,20)");
+        assertTrue(Terminal.buffer.contentEquals("8"));
+        e("add track (0,20) -> (-10,20)");
+        assertTrue(Terminal.buffer.contentEquals("Error, already two tracks connected!"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n"
+                + "t 2 (10,0) -> (10,10) 10\n"
+                + "s 3 (10,10) -> (10,20),(20,10)\n"
+                + "t 4 (20,10) -> (30,10) 10\n"
+                + "t 5 (20,10) -> (20,20) 10\n"
+                + "t 6 (10,20) -> (0,20) 10\n"
+                + "s 7 (0,0) -> (0,10),(-10,0)\n"
+                + "t 8 (0,10) -> (0,20) 10"));
+    }
+    @Test
+    public void trainsOnConnectionPoints() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        e("add track (10,0) -> (20,0)");
+        e("add track (20,0) -> (20,10)");
+        e("add track (20,10) -> (10,10)");
+        e("create engine diesel D 1 2 true true");
+        e("create engine diesel D 2 1 true true");
+        e("add train 1 D-1");
+        e("add train 2 D-2");
+        // train 1 reaches over (10,0) back onto track 1
+        e("put train 1 at (11,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 2 at (5,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("Error, already a train on this track!"));
+        e("put train 2 at (20,5) in direction 0,-1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (12,0)\nTrain 2 at (20,4)"));
+        e("step 9");
+        assertTrue(Terminal.buffer.contentEquals("Crash of train 1,2"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 1 at (10,0) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 2 at (20,0) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 3");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (7,0)\nTrain 2 at (20,3)"));
+        e("step 5");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (2,0)\nTrain 2 at (20,8)"));
+    }
+    /**
+     * The step benchmark drives trains behind each other around a closed ring. They have to keep their
+     * distance, otherwise the benchmark would only measure the first step.
+     */
+    @Test
+    public void trainsOnTheBenchmarkRing() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        int side = 48;
+        for (int i = 0; i < side; i += 8) {
+            e("add track (" + i + ",0) -> (" + (i + 8) + ",0)");
+        }
+        for (int i = 0; i < side; i += 8) {
+            e("add track (" + side + "," + i + ") -> (" + side + "," + (i + 8) + ")");
+        }
+        for (int i = 0; i < side; i += 8) {
+            e("add track (" + (side - i) + "," + side + ") -> (" + (side - i - 8) + "," + side + ")");
+        }
+        for (int i = 0; i < side; i += 8) {
+            e("add track (0," + (side - i) + ") -> (0," + (side - i - 8) + ")");
+        }
+        assertTrue(Terminal.buffer.contentEquals("24"));
+        for (int i = 0; i < 3; i++) {
+            e("create engine electrical E B" + i + " 2 true true");
+            e("add train " + (i + 1) + " E-B" + i);
+            e("put train " + (i + 1) + " at (" + (16 * i + 6) + ",0) in direction 1,0");
+            assertTrue(Terminal.buffer.contentEquals("OK"));
+        }
+        e("step 50");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (48,8)\nTrain 2 at (48,24)\nTrain 3 at (48,40)"));
+        e("step 192");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (48,8)\nTrain 2 at (48,24)\nTrain 3 at (48,40)"));
+        e("step -100");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (0,44)\nTrain 2 at (0,28)\nTrain 3 at (0,12)"));
+    }
+    @Test
+    public void commandSyntax() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (1,1) -> (5,1)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (5,1) ->(9,1)");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("add track (5,1)  -> (9,1)");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("add track(5,1) -> (9,1)");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("add track (5,1) -> (9,+1)");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("add track (5,1) -> (9,1) ");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("add track (5,1) -> (9,1)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (1,1) -> (5,1) 4\n"
+                + "t 2 (5,1) -> (9,1) 4"));
+        e("list track");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("list  tracks");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("list");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("step");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("step x");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("step +1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step -0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 40000");
+        assertTrue(Terminal.buffer.contentEquals("Error, Not a valid number!"));
+        e("create engine steam T3 Emma 1 false true");
+        assertTrue(Terminal.buffer.contentEquals("T3-Emma"));
+        e("create engine steam T3  Emma 1 false true");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("create engine steam T3 Emma 1 false maybe");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("create coach passenger 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("create coach cargo 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("create train-set 403 ICE4 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("403-ICE4"));
+        e("add train 1 W1");
+        assertTrue(Terminal.buffer.contentEquals("passenger coach W1 added to train 1"));
+        e("add train 1 W 1");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("show train 1 ");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("delete rolling stock W1");
+        assertTrue(Terminal.buffer.contentEquals("Error, this rolling stock is in use!"));
+        e("delete rolling stock T3-Emma");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete train 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete rolling stock W1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("list engines");
+        assertTrue(Terminal.buffer.contentEquals("No engine exists"));
+        e("list coaches");
+        assertTrue(Terminal.buffer.contentEquals("No coach exists"));
+        e("list train-sets");
+        assertTrue(Terminal.buffer.contentEquals("none 403 ICE4 1 true true"));
+        e("EXIT");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+        e("exit ");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no matching Command!"));
+    }
+    @Test
+    public void batchScript() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException, IOException {
+        session.runBatch(script("add track (0,0) -> (10,0)",
+                "add track (10,0) -> (10,10)",
+                "add track (10,10) -> (99,99)",
+                "create engine diesel D 1 1 true true",
+                "add train 1 D-1",
+                "put train 1 at (2,0) in direction 1,0",
+                "step 3"));
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (5,0)"));
+        // the batch mode has ended, the Session goes on line by line
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\nt 2 (10,0) -> (10,10) 10"));
+        session.runBatch(script("step 7",
+                "exit",
+                "step 1"));
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,2)"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,3)"));
+    }
+    @Test
+    public void listingsAndEventsOfManyTrains() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        for (int i = 0; i < 11; i++) {
+            e("add track (" + 20 * i + ",0) -> (" + (20 * i + 20) + ",0)");
+        }
+        e("add switch (220,0) -> (220,10),(230,0)");
+        for (int i = 1; i < 12; i++) {
+            e("create engine diesel D " + i + " 1 true true");
+            e("add train " + i + " D-" + i);
+        }
+        e("create coach freight 2 true false");
+        e("create coach special 3 false true");
+        e("create train-set 403 T 4 true true");
+        e("add train 11 W1");
+        e("set switch 12 position (230,0)");
+        for (int i = 1; i < 12; i++) {
+            e("put train " + i + " at (" + (20 * i - 10) + ",0) in direction 1,0");
+            assertTrue(Terminal.buffer.contentEquals("OK"));
+        }
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (12,0)\n"
+                + "Train 2 at (32,0)\n"
+                + "Train 3 at (52,0)\n"
+                + "Train 4 at (72,0)\n"
+                + "Train 5 at (92,0)\n"
+                + "Train 6 at (112,0)\n"
+                + "Train 7 at (132,0)\n"
+                + "Train 8 at (152,0)\n"
+                + "Train 9 at (172,0)\n"
+                + "Train 10 at (192,0)\n"
+                + "Train 11 at (212,0)"));
+        e("list trains");
+        assertTrue(Terminal.buffer.contentEquals("1 D-1\n"
+                + "2 D-2\n"
+                + "3 D-3\n"
+                + "4 D-4\n"
+                + "5 D-5\n"
+                + "6 D-6\n"
+                + "7 D-7\n"
+                + "8 D-8\n"
+                + "9 D-9\n"
+                + "10 D-10\n"
+                + "11 D-11 W1"));
+        e("list engines");
+        assertTrue(Terminal.buffer.contentEquals("1 d D 1 1 true true\n"
+                + "10 d D 10 1 true true\n"
+                + "11 d D 11 1 true true\n"
+                + "2 d D 2 1 true true\n"
+                + "3 d D 3 1 true true\n"
+                + "4 d D 4 1 true true\n"
+                + "5 d D 5 1 true true\n"
+                + "6 d D 6 1 true true\n"
+                + "7 d D 7 1 true true\n"
+                + "8 d D 8 1 true true\n"
+                + "9 d D 9 1 true true"));
+        e("list coaches");
+        assertTrue(Terminal.buffer.contentEquals("1 11 f 2 true false\n"
+                + "2 none s 3 false true"));
+        e("list train-sets");
+        assertTrue(Terminal.buffer.contentEquals("none 403 T 4 true true"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (20,0) 20\n"
+                + "t 2 (20,0) -> (40,0) 20\n"
+                + "t 3 (40,0) -> (60,0) 20\n"
+                + "t 4 (60,0) -> (80,0) 20\n"
+                + "t 5 (80,0) -> (100,0) 20\n"
+                + "t 6 (100,0) -> (120,0) 20\n"
+                + "t 7 (120,0) -> (140,0) 20\n"
+                + "t 8 (140,0) -> (160,0) 20\n"
+                + "t 9 (160,0) -> (180,0) 20\n"
+                + "t 10 (180,0) -> (200,0) 20\n"
+                + "t 11 (200,0) -> (220,0) 20\n"
+                + "s 12 (220,0) -> (220,10),(230,0) 10"));
+        e("step 15");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (27,0)\n"
+                + "Train 2 at (47,0)\n"
+                + "Train 3 at (67,0)\n"
+                + "Train 4 at (87,0)\n"
+                + "Train 5 at (107,0)\n"
+                + "Train 6 at (127,0)\n"
+                + "Train 7 at (147,0)\n"
+                + "Train 8 at (167,0)\n"
+                + "Train 9 at (187,0)\n"
+                + "Crash of train 10,11"));
+    }
+    @Test
+    public void eventsOfAStep() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException, LogicException {
+        e("add track (0,0) -> (10,0)");
+        e("add track (10,0) -> (20,0)");
+        e("add switch (20,0) -> (30,0),(20,10)");
+        e("create engine diesel D 1 1 true true");
+        e("create engine diesel D 2 1 true true");
+        e("create engine diesel D 3 1 true true");
+        e("add train 1 D-1");
+        e("add train 2 D-2");
+        e("add train 3 D-3");
+        List<Event> events = new ArrayList<Event>();
+        try {
+            session.getModelRailWay().step((short) 1, events::add);
+            fail();
+        } catch (LogicException l) {
+            assertTrue(events.isEmpty());
+        }
+        e("set switch 3 position (30,0)");
+        e("put train 1 at (2,0) in direction 1,0");
+        e("put train 2 at (13,0) in direction -1,0");
+        e("put train 3 at (25,0) in direction 1,0");
+        session.getModelRailWay().step((short) 4, events::add);
+        // the crash is passed on once when it happens, the driving train at the end of the step
+        assertEquals(2, events.size());
+        assertTrue(events.get(0).toString().contentEquals("Crash of train 1,2"));
+        assertEquals(2, events.get(0).getTrains().size());
+        assertTrue(events.get(1).toString().contentEquals("Train 3 at (29,0)"));
+        events.clear();
+        session.getModelRailWay().step((short) 0, events::add);
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).toString().contentEquals("Train 3 at (29,0)"));
+        events.clear();
+        session.getModelRailWay().step((short) 5, events::add);
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).toString().contentEquals("Crash of train 3"));
+        events.clear();
+        session.getModelRailWay().step((short) 5, events::add);
+        assertTrue(events.isEmpty());
+    }
+    @Test
+    public void snapshotRoundTrip() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        String snapshot = folder.getRoot().toPath().resolve("railway.bin").toString();
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (20,0),(10,10)");
+        e("add track (20,0) -> (30,0)");
+        e("add track (10,10) -> (10,20)");
+        e("set switch 2 position (20,0)");
+        e("create engine diesel D 1 1 true true");
+        e("create coach passenger 1 true true");
+        e("create train-set T 5 1 true true");
+        e("add train 1 D-1");
+        e("add train 1 W1");
+        e("put train 1 at (5,0) in direction 1,0");
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (7,0)"));
+        session.saveSnapshot(snapshot);
+        e("step 3");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,0)"));
+        
+        session = new Session();
+        center = new CommandCenter(session);
+        session.loadSnapshot(snapshot);
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n" + "s 2 (10,0) -> (20,0),(10,10) 10\n"
+                + "t 3 (20,0) -> (30,0) 10\n" + "t 4 (10,10) -> (10,20) 10"));
+        e("list trains");
+        assertTrue(Terminal.buffer.contentEquals("1 D-1 W1"));
+        e("list train-sets");
+        assertTrue(Terminal.buffer.contentEquals("none T 5 1 true true"));
+        e("step 3");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,0)"));
+        e("create coach passenger 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (30,0) -> (40,0)");
+        assertTrue(Terminal.buffer.contentEquals("5"));
+        
+        session.loadSnapshot(folder.getRoot().toPath().resolve("missing.bin").toString());
+        e("list tracks");
+        assertTrue(Terminal.buffer.endsWith("t 5 (30,0) -> (40,0) 10"));
+    }
+    @Test
+    public void journalRecoveryAfterCrash() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException, IOException {
+        String journal = folder.newFolder("journal").toString();
+        session.openJournal(journal);
+        session.runBatch(script("add track (0,0) -> (10,0)",
+                "add switch (10,0) -> (20,0),(10,10)",
+                "add track (20,0) -> (30,0)",
+                "add track (50,50) -> (60,60)",
+                "set switch 2 position (20,0)",
+                "create engine diesel D 1 1 true true",
+                "add train 1 D-1",
+                "list trains",
+                "put train 1 at (5,0) in direction 1,0",
+                "step 2",
+                "step 1",
+                "add track (10,10) -> (10,20)"));
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        // the Session crashes while it writes the next Command
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder.getRoot().toPath().resolve("journal"),
+                "journal-*")) {
+            for (Path file : files) {
+                Files.write(file, "delete track 3".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            }
+        }
+        
+        restart(journal, false);
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n" + "s 2 (10,0) -> (20,0),(10,10) 10\n"
+                + "t 3 (20,0) -> (30,0) 10\n" + "t 4 (10,10) -> (10,20) 10"));
+        e("list trains");
+        assertTrue(Terminal.buffer.contentEquals("1 D-1"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (9,0)"));
+        session.runBatch(script("step 1"));
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (10,0)"));
+        session.closeJournal();
+        
+        restart(journal, false);
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (11,0)"));
+    }
+    @Test
+    public void idsOfEverySession() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (10,0) -> (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (20,0) -> (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (30,0) -> (40,0)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("delete track 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("add track (20,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (10,0) -> (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("create coach passenger 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("create coach freight 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("create coach special 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("delete rolling stock W2");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete rolling stock W1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("create coach freight 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("create coach freight 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("create engine diesel D 1 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("D-1"));
+        e("create engine diesel D 2 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("D-2"));
+        e("add train 2 D-1");
+        assertTrue(Terminal.buffer.contentEquals("Error, the id does not match the next free id!"));
+        e("add train 1 D-1");
+        assertTrue(Terminal.buffer.contentEquals("diesel engine D-1 added to train 1"));
+        e("add train 2 D-2");
+        assertTrue(Terminal.buffer.contentEquals("diesel engine D-2 added to train 2"));
+        e("delete train 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("add train 3 W3");
+        assertTrue(Terminal.buffer.contentEquals("Error, the id does not match the next free id!"));
+        e("add train 1 W3");
+        assertTrue(Terminal.buffer.contentEquals("special coach W3 added to train 1"));
+        e("list trains");
+        assertTrue(Terminal.buffer.contentEquals("1 W3\n"
+                + "2 D-2"));
+        
+        // another Session starts with its own ids
+        Session first = session;
+        session = new Session();
+        center = new CommandCenter(session);
+        e("add track (5,5) -> (5,10)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("create coach passenger 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("create engine diesel D 1 1 true true");
+        e("add train 1 D-1");
+        assertTrue(Terminal.buffer.contentEquals("diesel engine D-1 added to train 1"));
+        session = first;
+        center = new CommandCenter(session);
+        e("create coach passenger 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("add track (40,0) -> (50,0)");
+        assertTrue(Terminal.buffer.contentEquals("5"));
+    }
+    @Test
+    public void stepUntilCrash() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("step until crash");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (20,0),(10,10)");
+        e("add track (20,0) -> (30,0)");
+        e("create engine diesel D 1 1 true true");
+        e("create engine diesel D 2 1 true true");
+        e("add train 1 D-1");
+        e("add train 2 D-2");
+        e("step until crash");
+        assertTrue(Terminal.buffer.contains("Error, "));
+        e("set switch 2 position (20,0)");
+        e("put train 1 at (5,0) in direction 1,0");
+        e("step until crash max 0");
+        assertTrue(Terminal.buffer.contains("Error, "));
+        e("step until crash max 3");
+        assertTrue(Terminal.buffer.contentEquals("3\nTrain 1 at (8,0)"));
+        e("put train 2 at (28,0) in direction -1,0");
+        e("step until crash max 5");
+        assertTrue(Terminal.buffer.contentEquals("5\nTrain 1 at (13,0)\nTrain 2 at (23,0)"));
+        e("step until crash");
+        assertTrue(Terminal.buffer.contentEquals("4\nCrash of train 1,2"));
+        e("step until crash");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 1 at (25,0) in direction 1,0");
+        e("step until crash max 100");
+        assertTrue(Terminal.buffer.contentEquals("6\nCrash of train 1"));
+    }
+    @Test
+    public void deleteFromACycle() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (10,0) -> (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (10,10) -> (0,10)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (0,10) -> (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 4");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("delete track 3");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n"
+                + "t 4 (0,10) -> (0,0) 10"));
+    }
+    @Test
+    public void deleteABridge() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add switch (10,0) -> (10,10),(20,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (10,10) -> (0,10)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (0,10) -> (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("add track (20,0) -> (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("5"));
+        e("add switch (30,0) -> (40,0),(30,10)");
+        assertTrue(Terminal.buffer.contentEquals("6"));
+        e("add track (40,0) -> (40,10)");
+        assertTrue(Terminal.buffer.contentEquals("7"));
+        e("add track (40,10) -> (30,10)");
+        assertTrue(Terminal.buffer.contentEquals("8"));
+        e("delete track 5");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("delete track 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 7");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 5");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("delete track 6");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("delete track 8");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("s 2 (10,0) -> (10,10),(20,0)\n"
+                + "t 3 (10,10) -> (0,10) 10\n"
+                + "t 4 (0,10) -> (0,0) 10\n"
+                + "t 5 (20,0) -> (30,0) 10\n"
+                + "s 6 (30,0) -> (40,0),(30,10)"));
+    }
+    @Test
+    public void deleteASwitchLeg() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (-10,0) -> (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add switch (0,0) -> (10,0),(0,10)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (10,0) -> (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (0,10) -> (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("add track (0,10) -> (0,20)");
+        assertTrue(Terminal.buffer.contentEquals("5"));
+        e("set switch 2 position (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("delete track 4");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("delete track 3");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("Error, the track cannot be deleted!"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (-10,0) -> (0,0) 10\n"
+                + "s 2 (0,0) -> (10,0),(0,10) 10\n"
+                + "t 5 (0,10) -> (0,20) 10"));
+    }
+    @Test
+    public void graphOfTheTracks() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException, IllegalAccessException {
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (10,10),(20,0)");
+        e("add track (10,10) -> (0,10)");
+        e("add track (0,10) -> (0,0)");
+        Object graph = graph();
+        assertEquals(5, call(graph, "getNodeCount"));
+        assertEquals(-1, call(graph, "findNode", 5, 0));
+        int node = call(graph, "findNode", 10, 0);
+        int first = call(graph, "firstEdge", node);
+        int last = call(graph, "lastEdge", node);
+        assertEquals(3, last - first);
+        List<String> edges = new ArrayList<String>();
+        for (int edge = first; edge < last; edge++) {
+            int target = call(graph, "getTarget", edge);
+            edges.add(call(graph, "getTrackId", edge) + " (" + call(graph, "getX", target) + ","
+                    + call(graph, "getY", target) + ") " + call(graph, "getLength", edge));
+        }
+        edges.sort(null);
+        assertEquals(Arrays.asList("1 (0,0) 10", "2 (10,10) 10", "2 (20,0) 10"), edges);
+        e("add track (20,0) -> (20,5)");
+        graph = graph();
+        node = call(graph, "findNode", 20, 0);
+        assertEquals(2, call(graph, "lastEdge", node) - call(graph, "firstEdge", node));
+        e("delete track 5");
+        graph = graph();
+        node = call(graph, "findNode", 20, 0);
+        assertEquals(1, call(graph, "lastEdge", node) - call(graph, "firstEdge", node));
+    }
+    /**
+     * Helper Method, returns the graph of the tracks of the session.
+     * @return the TrackGraph
+     * @throws NoSuchMethodException 
+     * @throws IllegalAccessException 
+     * @throws InvocationTargetException 
+     */
+    private Object graph() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        TrackNetwork trackNet = session.getModelRailWay().getTrackNet();
+        Method getGraph = TrackNetwork.class.getDeclaredMethod("getGraph");
+        getGraph.setAccessible(true);
+        return getGraph.invoke(trackNet);
+    }
+    /**
+     * Helper Method, calls a method of the graph with int parameters.
+     * @param graph the TrackGraph
+     * @param name the name of the method
+     * @param parameters the int parameters
+     * @return the int the method returns
+     * @throws NoSuchMethodException 
+     * @throws IllegalAccessException 
+     * @throws InvocationTargetException 
+     */
+    private int call(Object graph, String name, int... parameters) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        Class<?>[] types = new Class<?>[parameters.length];
+        Object[] values = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            types[i] = int.class;
+            values[i] = parameters[i];
+        }
+        Method method = graph.getClass().getDeclaredMethod(name, types);
+        method.setAccessible(true);
+        return (Integer) method.invoke(graph, values);
+    }
+    @Test
+    public void route() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (20,0),(10,10)");
+        e("add track (20,0) -> (30,0)");
+        e("create engine diesel D 1 1 true true");
+        e("add train 1 D-1");
+        e("route 2 to (30,0)");
+        assertTrue(Terminal.buffer.contains("Error, "));
+        e("route 1 to (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this train is not on a track!"));
+        e("set switch 2 position (20,0)");
+        e("put train 1 at (5,0) in direction 1,0");
+        e("route 1 to (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("25\nset switch 2 position (20,0)"));
+        e("route 1 to (7,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("route 1 to (10,5)");
+        assertTrue(Terminal.buffer.contentEquals("10\nset switch 2 position (10,10)"));
+        e("route 1 to (10,5)");
+        assertTrue(Terminal.buffer.contentEquals("10\nset switch 2 position (10,10)"));
+        e("route 1 to (50,50)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this point is not existing!"));
+        // the train can not turn around
+        e("route 1 to (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no route to this point!"));
+        e("route 1 to (0,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, there is no route to this point!"));
+        e("step 2");
+        e("route 1 to (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("23\nset switch 2 position (20,0)"));
+        // a new track replaces the cached routes
+        e("add track (10,10) -> (10,20)");
+        e("route 1 to (10,20)");
+        assertTrue(Terminal.buffer.contentEquals("23\nset switch 2 position (10,10)"));
+        e("add track (30,0) -> (30,20)");
+        e("add track (10,20) -> (30,20)");
+        e("route 1 to (30,20)");
+        assertTrue(Terminal.buffer.contentEquals("43\nset switch 2 position (20,0)"));
+        e("delete track 3");
+        e("route 1 to (30,20)");
+        assertTrue(Terminal.buffer.contentEquals("43\nset switch 2 position (10,10)"));
+    }
+    @Test
+    public void settingASwitchAgainAndAgain() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add switch (10,0) -> (20,0),(10,10)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (20,0) -> (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (10,10) -> (10,20)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("create engine steam T3 Emma 1 false true");
+        assertTrue(Terminal.buffer.contentEquals("T3-Emma"));
+        e("add train 1 T3-Emma");
+        assertTrue(Terminal.buffer.contentEquals("steam engine T3-Emma added to train 1"));
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 1 at (2,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 10");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (12,0)"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("put train 1 at (15,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("Error, this point is not existing!"));
+        e("put train 1 at (10,5) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step -8");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (7,0)"));
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 10");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (17,0)"));
+        e("step 5");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (22,0)"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 1 (0,0) -> (10,0) 10\n"
+                + "s 2 (10,0) -> (20,0),(10,10) 10\n"
+                + "t 3 (20,0) -> (30,0) 10\n"
+                + "t 4 (10,10) -> (10,20) 10"));
+    }
+    @Test
+    public void interlocking() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        String snapshot = folder.getRoot().toPath().resolve("railway.bin").toString();
+        session.setInterlocking(true);
+        e("add track (0,0) -> (10,0)");
+        e("add switch (10,0) -> (20,0),(10,10)");
+        e("add track (20,0) -> (30,0)");
+        e("set switch 2 position (20,0)");
+        e("create engine diesel D 1 1 true true");
+        e("add train 1 D-1");
+        e("put train 1 at (16,0) in direction 1,0");
+        e("set switch 2 position (10,5)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch state is invalid!"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the switch is occupied!"));
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the switch is occupied!"));
+        e("step 4");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (20,0)"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the switch is occupied!"));
+        session.saveSnapshot(snapshot);
+        
+        // a restored ModelRailWay keeps the interlocking of the Session
+        session = new Session();
+        session.setInterlocking(true);
+        session.loadSnapshot(snapshot);
+        center = new CommandCenter(session);
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the switch is occupied!"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (22,0)"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        
+        session.setInterlocking(false);
+        e("create engine diesel D 2 1 true true");
+        e("add train 2 D-2");
+        e("put train 2 at (10,5) in direction 0,1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+    }
+    @Test
+    public void journalRecoveryWithInterlocking() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException, IOException {
+        String journal = folder.newFolder("journal").toString();
+        session.setInterlocking(true);
+        session.openJournal(journal);
+        session.runBatch(script("add track (0,0) -> (10,0)",
+                "add switch (10,0) -> (20,0),(10,10)",
+                "add track (20,0) -> (30,0)",
+                "set switch 2 position (20,0)",
+                "create engine diesel D 1 1 true true",
+                "add train 1 D-1",
+                "put train 1 at (16,0) in direction 1,0",
+                "set switch 2 position (10,10)"));
+        assertTrue(Terminal.buffer.contentEquals("Error, the switch is occupied!"));
+        
+        // without interlocking the replay would set the switch under the train
+        restart(journal, true);
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (17,0)"));
+    }
+    @Test
+    public void overlappingTracks() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,4) -> (6,4)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (6,4) -> (6,8)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (6,8) -> (3,8)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add track (3,8) -> (3,4)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("create engine diesel D 1 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("D-1"));
+        e("add train 1 D-1");
+        assertTrue(Terminal.buffer.contentEquals("diesel engine D-1 added to train 1"));
+        e("put train 1 at (3,4) in direction -1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (2,4)"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (1,4)"));
+        e("create engine diesel E 1 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("E-1"));
+        e("add train 2 E-1");
+        assertTrue(Terminal.buffer.contentEquals("diesel engine E-1 added to train 2"));
+        e("put train 2 at (3,5) in direction 0,-1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (0,4)\n"
+                + "Train 2 at (3,4)"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Crash of train 1\n"
+                + "Train 2 at (3,4)"));
+    }
+    @Test
+    public void pointsOfASetSwitch() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        String snapshot = folder.getRoot().toPath().resolve("railway.bin").toString();
+        e("add track (1,2) -> (1,-1)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add track (1,-1) -> (1,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (1,0) -> (-2,0)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("add switch (-2,0) -> (-2,3),(3,0)");
+        assertTrue(Terminal.buffer.contentEquals("4"));
+        e("create engine electrical E 1 3 true true");
+        assertTrue(Terminal.buffer.contentEquals("E-1"));
+        e("add train 1 E-1");
+        assertTrue(Terminal.buffer.contentEquals("electrical engine E-1 added to train 1"));
+        e("put train 1 at (1,0) in direction 0,-1");
+        assertTrue(Terminal.buffer.contentEquals("Error, there are unset Switches in the Track!"));
+        e("set switch 4 position (3,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        session.saveSnapshot(snapshot);
+        
+        // the removed points stay removed in a restored ModelRailWay
+        session = new Session();
+        session.loadSnapshot(snapshot);
+        center = new CommandCenter(session);
+        e("put train 1 at (1,0) in direction 0,-1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 1");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (2,0)"));
+    }
+    @Test
+    public void invalidSwitchEnd() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add switch (10,0) -> (20,0),(10,10)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (20,0) -> (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("set switch 2 position (20,0)");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("create engine diesel D 1 1 true true");
+        assertTrue(Terminal.buffer.contentEquals("D-1"));
+        e("add train 1 D-1");
+        assertTrue(Terminal.buffer.contentEquals("diesel engine D-1 added to train 1"));
+        e("set switch 2 position (10,5)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch state is invalid!"));
+        e("put train 1 at (15,0) in direction 1,0");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (17,0)"));
+        e("set switch 2 position (15,0)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch state is invalid!"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (19,0)"));
+        
+        session.setInterlocking(true);
+        e("set switch 2 position (10,5)");
+        assertTrue(Terminal.buffer.contentEquals("Error, this switch state is invalid!"));
+        e("set switch 2 position (10,10)");
+        assertTrue(Terminal.buffer.contentEquals("Error, the switch is occupied!"));
+        e("step 2");
+        assertTrue(Terminal.buffer.contentEquals("Train 1 at (21,0)"));
+    }
+    @Test
+    public void orderOfTracksWithReusedIds() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        e("add track (0,0) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("add switch (10,0) -> (20,0),(10,10)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("add track (20,0) -> (30,0)");
+        assertTrue(Terminal.buffer.contentEquals("3"));
+        e("delete track 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("add track (30,0) -> (30,10)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("add track (10,10) -> (10,0)");
+        assertTrue(Terminal.buffer.contentEquals("2"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("t 3 (20,0) -> (30,0) 10\n"
+                + "t 1 (30,0) -> (30,10) 10\n"
+                + "t 2 (10,10) -> (10,0) 10"));
+        e("delete track 3");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 1");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("delete track 2");
+        assertTrue(Terminal.buffer.contentEquals("OK"));
+        e("list tracks");
+        assertTrue(Terminal.buffer.contentEquals("No track exists"));
+        e("add track (50,50) -> (60,50)");
+        assertTrue(Terminal.buffer.contentEquals("1"));
+    }
+    @Test
+    public void concurrentSessions() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        PipedOutputStream inputA = new PipedOutputStream();
+        ByteArrayOutputStream outputA = new ByteArrayOutputStream();
+        ByteArrayOutputStream outputB = new ByteArrayOutputStream();
+        try (RailWayHost host = new RailWayHost()) {
+            Future<?> a = host.submit(new PipedInputStream(inputA), outputA);
+            try {
+                inputA.write("add track (0,0) -> (10,0)\n".getBytes(StandardCharsets.UTF_8));
+                inputA.flush();
+                
+                // Session A waits for its input while Session B runs to its end.
+                Future<?> b = host.submit(new ByteArrayInputStream(("add track (5,5) -> (5,15)\n"
+                        + "add track (5,15) -> (15,15)\n"
+                        + "list tracks\n"
+                        + "exit\n").getBytes(StandardCharsets.UTF_8)), outputB);
+                b.get(10, TimeUnit.SECONDS);
+                assertEquals("1\n2\n"
+                        + "t 1 (5,5) -> (5,15) 10\n"
+                        + "t 2 (5,15) -> (15,15) 10\n", outputB.toString(StandardCharsets.UTF_8).replace("\r", ""));
+                
+                inputA.write("list tracks\nexit\n".getBytes(StandardCharsets.UTF_8));
+            } finally {
+                inputA.close();
+            }
+            a.get(10, TimeUnit.SECONDS);
+            assertEquals("1\n"
+                    + "t 1 (0,0) -> (10,0) 10\n", outputA.toString(StandardCharsets.UTF_8).replace("\r", ""));
+        }
+    }
+    /**
+     * Helper Method, which executes Commands in a new Session.
+     * @param parallel true if the trains of a step are moved at the same time
+     * @param commands the Commands
+     * @return the output of every Command
+     */
+    private List<String> outputs(boolean parallel, String... commands) throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        session = new Session();
+        session.setParallelStep(parallel);
+        center = new CommandCenter(session);
+        List<String> outputs = new ArrayList<>();
+        for (String command : commands) {
+            Terminal.buffer = "";
+            e(command);
+            outputs.add(Terminal.buffer);
+        }
+        session.setParallelStep(false);
+        return outputs;
+    }
+    @Test
+    public void parallelStep() throws IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+        String[] commands = {"add track (0,0) -> (20,0)",
+                "add switch (20,0) -> (30,0),(20,10)",
+                "add track (30,0) -> (60,0)",
+                "add track (20,10) -> (20,30)",
+                "set switch 2 position (30,0)",
+                "create engine diesel D 1 1 true true",
+                "create engine diesel D 2 2 true true",
+                "create engine diesel D 3 1 true true",
+                "add train 1 D-1",
+                "add train 2 D-2",
+                "add train 3 D-3",
+                "put train 1 at (54,0) in direction 1,0",
+                "put train 2 at (10,0) in direction 1,0",
+                "put train 3 at (20,26) in direction 0,1",
+                "step 3",
+                "step 4",
+                "step 9",
+                "set switch 2 position (20,10)",
+                "put train 1 at (20,20) in direction 0,-1",
+                "put train 3 at (5,0) in direction -1,0",
+                "step 10",
+                "step -3"};
+        List<String> sequential = outputs(false, commands);
+        // train 1 derails, so train 2 behind it is not moved on this point
+        assertEquals("Crash of train 1\nTrain 2 at (16,0)\nCrash of train 3", sequential.get(15));
+        assertEquals(sequential, outputs(true, commands));
+    }
 
 }
@@ -1,6 +1,5 @@
 package events;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -40,16 +39,14 @@ public class Crash extends Event {
     }
 
     @Override
-    public String toString() {
-        String toReturn = "Crash of train ";
+    public void appendTo(StringBuilder output) {
+        output.append("Crash of train ");
         for (int i = 0; i < crashedTrains.size(); i++) {
-            if (i < crashedTrains.size() - 1) {
-                toReturn += crashedTrains.get(i).getId() + ",";
-            } else {
-                toReturn += crashedTrains.get(i).getId();
+            if (i > 0) {
+                output.append(',');
             }
+            output.append(crashedTrains.get(i).getId());
         }
-        return toReturn;
     }
 
     @Override
@@ -59,20 +56,7 @@ public class Crash extends Event {
 
     @Override
     public List<Train> getTrains() {
-        return this.clonedTrains();
-    }
-
-    /**
-     * Clones the list of trains.
-     * 
-     * @return the cloned version of Trains.
-     */
-    private List<Train> clonedTrains() {
-        List<Train> clone = new ArrayList<Train>();
-        for (Train train : this.crashedTrains) {
-            clone.add(train);
-        }
-        return clone;
+        return Collections.unmodifiableList(this.crashedTrains);
     }
 
 }
@@ -44,6 +44,20 @@ public abstract class Event implements Comparable<Event> {
      */
     public abstract String getType();
 
+    /**
+     * Writes the String representation of the event into a StringBuilder.
+     * 
+     * @param output the StringBuilder the event is written into.
+     */
+    public abstract void appendTo(StringBuilder output);
+
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder();
+        this.appendTo(output);
+        return output.toString();
+    }
+
     /**
      * Getter for the trains involved.
      * 
@@ -0,0 +1,20 @@
+package events;
+
+/**
+ * An EventListener receives the Events of a step as soon as they occur. A
+ * Crash is passed on when it is detected, a Success for every Train which is
+ * still driving at the end of the step.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+public interface EventListener {
+
+    /**
+     * Receives an Event of a step.
+     * 
+     * @param event the Event, either a Crash or a Success.
+     */
+    void onEvent(Event event);
+}
@@ -33,9 +33,8 @@ public class Success extends Event {
     }
 
     @Override
-    public String toString() {
-        String toReturn = "Train " + train1.getId() + " at " + train1.getHeadPoint();
-        return toReturn;
+    public void appendTo(StringBuilder output) {
+        output.append("Train ").append(train1.getId()).append(" at ").append(train1.getHeadPoint());
     }
 
     @Override
@@ -1,9 +1,5 @@
 package logic;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * Class which represents a Coach.
  * 
@@ -43,15 +39,11 @@ class Coach implements RollMaterial, Comparable<Coach> {
         "/--------------|  |", 
         "               ____" };
     /**
-     * A static counter which counts one up everytime a Coach is created.
-     */
-    private static int counter = 0;
-    /**
-     * List which contains all the possible iDs for a Coach.
+     * The allocator which hands out the ids of the Coaches.
      */
-    private static List<Integer> iDs = new ArrayList<Integer>();
+    private final IdAllocator coachIds;
     /**
-     * The iD of a Coach which is set by the returnNextFreeId() method.
+     * The iD of a Coach which is handed out by the allocator.
      */
     private final int coachId;
     /**
@@ -84,10 +76,11 @@ class Coach implements RollMaterial, Comparable<Coach> {
      *                          constructed.
      * @param couplingFrontBool determines if a Coach has a coupling in the Front.
      * @param couplingBackBool  determines if a Coach has a coupling in the Back.
+     * @param coachIds          the allocator which hands out the id of the Coach.
      * @throws LogicException thrown if any of the parameters is not fitting.
      */
-    Coach(String wagonType, String length, String couplingFrontBool, String couplingBackBool)
-            throws LogicException {
+    Coach(String wagonType, String length, String couplingFrontBool, String couplingBackBool,
+            IdAllocator coachIds) throws LogicException {
         if (this.convertToBoolean(couplingBackBool) == false && this.convertToBoolean(couplingFrontBool) == false) {
             throw new LogicException(ErrorMessages.AT_LEAST_ONE_COUPLING.getMessage());
         }
@@ -100,26 +93,32 @@ class Coach implements RollMaterial, Comparable<Coach> {
             throw new LogicException(ErrorMessages.LENGTH_IS_ZERO.getMessage());
         }
         this.wagonType = this.convertToWagonType(wagonType);
-        this.coachId = this.returnNextFreeId();
+        this.coachIds = coachIds;
+        this.coachId = coachIds.next();
         this.train = null;
     }
 
     /**
-     * Returns the next free id.
+     * Constructor for a Coach which is restored from a snapshot. The Coach keeps
+     * the given id instead of taking one from the allocator.
      * 
-     * @return the next free id.
+     * @param coachId           the id of the Coach.
+     * @param wagonType         can be either passenger|freight|special
+     * @param length            the length of the Coach.
+     * @param couplingFrontBool determines if a Coach has a coupling in the Front.
+     * @param couplingBackBool  determines if a Coach has a coupling in the Back.
+     * @param coachIds          the allocator the id is given back to.
+     * @throws LogicException thrown if the wagonType does not exist.
      */
-    private int returnNextFreeId() {
-        if (iDs.isEmpty()) {
-            counter++;
-            iDs.add(counter);
-
-            return iDs.remove(0);
-        } else {
-            Collections.sort(iDs);
-            Collections.reverse(iDs);
-            return iDs.remove(iDs.size() - 1);
-        }
+    Coach(int coachId, String wagonType, int length, boolean couplingFrontBool, boolean couplingBackBool,
+            IdAllocator coachIds) throws LogicException {
+        this.coachIds = coachIds;
+        this.coachId = coachId;
+        this.wagonType = this.convertToWagonType(wagonType);
+        this.length = length;
+        this.couplingFrontBool = couplingFrontBool;
+        this.couplingBackBool = couplingBackBool;
+        this.train = null;
     }
 
     /**
@@ -258,7 +257,7 @@ class Coach implements RollMaterial, Comparable<Coach> {
 
     @Override
     public void resetId() {
-        iDs.add(Integer.parseInt(this.getId()));
+        this.coachIds.release(this.coachId);
 
     }
 
@@ -151,7 +151,42 @@ public enum ErrorMessages {
     /**
      * Error message when user trys to put a train with an invalid Vector.
      */
-    VECTOR_INVALID("Error, this vector is invalid!");
+    VECTOR_INVALID("Error, this vector is invalid!"),
+    /**
+     * Error message when a snapshot of a ModelRailWay can not be restored.
+     */
+    SNAPSHOT_NOT_VALID("Error, the snapshot is not valid!"),
+    /**
+     * Error message when a snapshot of a ModelRailWay can not be written.
+     */
+    SNAPSHOT_NOT_WRITTEN("Error, the snapshot could not be written!"),
+    /**
+     * Error message when the state of a Session can not be recovered from its
+     * journal.
+     */
+    JOURNAL_NOT_RECOVERED("Error, the journal could not be recovered!"),
+    /**
+     * Error message when a Command can not be written into the journal.
+     */
+    JOURNAL_NOT_WRITTEN("Error, the journal could not be written!"),
+    /**
+     * Error message when the maximum number of points of a step until crash is
+     * 0.
+     */
+    MAX_IS_ZERO("Error, the maximum can not be 0!"),
+    /**
+     * Error message when user trys to plan the route of a train which is not on
+     * a track.
+     */
+    TRAIN_NOT_PUT("Error, this train is not on a track!"),
+    /**
+     * Error message when a train can not reach the point of a route.
+     */
+    NO_ROUTE("Error, there is no route to this point!"),
+    /**
+     * Error message when a switch is set while a train is on it.
+     */
+    SWITCH_OCCUPIED("Error, the switch is occupied!");
 
     /**
      * The errorMessage which a Enum-object contains.
@@ -0,0 +1,118 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Distributes the ids of one kind of object of a ModelRailWay, for example the
+ * ids of its Tracks. Every ModelRailWay has its own allocators, so the ids of
+ * two ModelRailWays do not depend on each other.
+ *
+ * <p>
+ * The allocator always hands out the smallest free id. An id becomes free when
+ * it is given back, and if no id is free, the id after the highest id so far
+ * becomes free. The free ids are stored in a BitSet, the search for the smallest
+ * one starts at the lowest position a free id can be at.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class IdAllocator {
+    /**
+     * The highest id which became free so far.
+     */
+    private int counter;
+    /**
+     * The ids which are free.
+     */
+    private final BitSet freeIds;
+    /**
+     * No id below this one is free.
+     */
+    private int lowestFree;
+
+    /**
+     * Constructor for an allocator which hands out the ids from 1 on.
+     */
+    IdAllocator() {
+        this.counter = 0;
+        this.freeIds = new BitSet();
+        this.lowestFree = 0;
+    }
+
+    /**
+     * Returns the smallest free id without handing it out.
+     *
+     * @return the smallest free id.
+     */
+    int peek() {
+        if (this.freeIds.isEmpty()) {
+            this.counter++;
+            this.freeIds.set(this.counter);
+        }
+        this.lowestFree = this.freeIds.nextSetBit(this.lowestFree);
+        return this.lowestFree;
+    }
+
+    /**
+     * Hands out the smallest free id.
+     *
+     * @return the id.
+     */
+    int next() {
+        int id = this.peek();
+        this.freeIds.clear(id);
+        this.lowestFree = id + 1;
+        return id;
+    }
+
+    /**
+     * Gives back an id, so it can be handed out again.
+     *
+     * @param id the id.
+     */
+    void release(int id) {
+        this.freeIds.set(id);
+        this.lowestFree = Math.min(this.lowestFree, id);
+    }
+
+    /**
+     * Getter for the highest id which became free so far.
+     *
+     * @return the counter.
+     */
+    int getCounter() {
+        return this.counter;
+    }
+
+    /**
+     * Returns the free ids.
+     *
+     * @return the free ids in ascending order.
+     */
+    List<Integer> getFreeIds() {
+        List<Integer> ids = new ArrayList<Integer>();
+        for (int id = this.freeIds.nextSetBit(0); id >= 0; id = this.freeIds.nextSetBit(id + 1)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Replaces the state of the allocator, for example with the one of a
+     * snapshot.
+     *
+     * @param idCounter the highest id which became free so far.
+     * @param ids       the free ids.
+     */
+    void restore(int idCounter, List<Integer> ids) {
+        this.counter = idCounter;
+        this.freeIds.clear();
+        this.lowestFree = 0;
+        for (int id : ids) {
+            this.freeIds.set(id);
+        }
+    }
+}
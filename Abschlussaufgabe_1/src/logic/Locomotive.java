@@ -13,7 +13,7 @@ public class Locomotive implements RollMaterial, Comparable<Locomotive> {
     /**
      * The string representation for a electrical engine.
      */
-    private static String[] representationElectrical = {
+    private static final String[] REPRESENTATION_ELECTRICAL = {
         "  (O)(O)      (O)(O)  ", 
         " \\__________________/ ",
         "\\                    /", 
@@ -25,7 +25,7 @@ public class Locomotive implements RollMaterial, Comparable<Locomotive> {
     /**
      * The string representation for a diesel engine.
      */
-    private static String[] representationDiesel = {
+    private static final String[] REPRESENTATION_DIESEL = {
         "  (O)(O)      (O)(O)  ", 
         " \\__________________/ ",
         "\\                    /", 
@@ -35,7 +35,7 @@ public class Locomotive implements RollMaterial, Comparable<Locomotive> {
     /**
      * The string representation for a steam engine.
      */
-    private static String[] representationSteam = {
+    private static final String[] REPRESENTATION_STEAM = {
         "//// \\_/      \\_/   ", 
         " _|--/~\\------/~\\-+ ",
         "  + ========  +-+ | ", 
@@ -170,10 +170,10 @@ public class Locomotive implements RollMaterial, Comparable<Locomotive> {
     /**
      * Getter for the representation of a Steam engine.
      * 
-     * @return representationSteam
+     * @return REPRESENTATION_STEAM
      */
     public static String[] getRepresentationSteam() {
-        return representationSteam;
+        return REPRESENTATION_STEAM;
     }
 
     @Override
@@ -205,19 +205,19 @@ public class Locomotive implements RollMaterial, Comparable<Locomotive> {
     /**
      * Getter for the representation of a diesel engine.
      * 
-     * @return representationDiesel
+     * @return REPRESENTATION_DIESEL
      */
     public static String[] getRepresentationDiesel() {
-        return representationDiesel;
+        return REPRESENTATION_DIESEL;
     }
 
     /**
      * Getter for the representation of a electrical engine.
      * 
-     * @return representationElectrical
+     * @return REPRESENTATION_ELECTRICAL
      */
     public static String[] getRepresentationElectrical() {
-        return representationElectrical;
+        return REPRESENTATION_ELECTRICAL;
     }
 
     @Override
@@ -1,14 +1,20 @@
 package logic;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import events.Crash;
 import events.Event;
+import events.EventListener;
 import events.Success;
 
 /**
@@ -25,6 +31,20 @@ public class ModelRailWay {
     private final TrackNetwork trackNet;
     private final RollMaterialComposition rollMaterialComposition;
     private final List<Train> trainsDriving;
+    /**
+     * The holders of the Tracks at the last check for crashes, and of the Tracks
+     * of the trains put since then. Also used to find the trains on a switch.
+     */
+    private final TrackOccupancy occupancy;
+    /**
+     * The threads which move the trains of a step at the same time, null if the
+     * trains are moved one after another.
+     */
+    private ForkJoinPool stepPool;
+    /**
+     * True if a switch can not be set while a train is on it.
+     */
+    private boolean interlocking;
 
     /**
      * Constructor for a ModelRailWay.
@@ -33,9 +53,37 @@ public class ModelRailWay {
         this.trackNet = new TrackNetwork();
         this.rollMaterialComposition = new RollMaterialComposition();
         this.trainsDriving = new ArrayList<Train>();
+        this.occupancy = new TrackOccupancy();
         movement = new ModelRailWayMovement(this);
     }
 
+    /**
+     * Sets whether the trains of a step are moved at the same time on several
+     * threads. The output of a step is the same in both modes. The threads
+     * belong to this ModelRailWay, they end when the parallel mode is switched
+     * off or when they have been idle for a while.
+     * 
+     * @param parallel true to move the trains at the same time.
+     */
+    public void setParallelStep(boolean parallel) {
+        if (parallel && this.stepPool == null) {
+            this.stepPool = new ForkJoinPool();
+        } else if (!parallel && this.stepPool != null) {
+            this.stepPool.shutdown();
+            this.stepPool = null;
+        }
+    }
+
+    /**
+     * Sets whether a switch which a train is on can be set. In the interlocking
+     * mode setting such a switch fails, otherwise the trains on it crash.
+     * 
+     * @param interlocking true to refuse setting occupied switches.
+     */
+    public void setInterlocking(boolean interlocking) {
+        this.interlocking = interlocking;
+    }
+
     /**
      * Getter for the TrackNet.
      * 
@@ -74,6 +122,7 @@ public class ModelRailWay {
         if (this.findTrain(trainId) != null) {
             trainToDelete = this.findTrain(trainId);
             trainsDriving.remove(trainToDelete);
+            this.occupyTracksOfTrains();
             this.rollMaterialComposition.deleteTrain(trainId);
             return "OK";
         } else {
@@ -109,7 +158,7 @@ public class ModelRailWay {
         }
         trainToSet.checkIfValid();
         newPoint = this.trackNet.checkIfInherited(pointToSetOn);
-        if (!trainToSet.getPointsOfTrain().isEmpty()) {
+        if (trainToSet.hasPoints()) {
             throw new LogicException(ErrorMessages.TRAIN_ALREADY_PUT.getMessage());
         }
         if (newPoint == null) {
@@ -133,9 +182,34 @@ public class ModelRailWay {
         }
         this.generateTracksOfTrain(trainToSet);
         this.trainsDriving.add(trainToSet);
+        this.occupyTracks(trainToSet);
         return "OK";
     }
 
+    /**
+     * Plans the shortest route of a train on the track to a point. The route
+     * consists of its length and the switches which have to be set on the way.
+     * 
+     * @param trainId the id of the train.
+     * @param point   the point the head of the train should reach.
+     * @return the length of the route, followed by the switch settings in the
+     *         order the train passes the switches.
+     * @throws LogicException if the train does not exist or is not on the track,
+     *                        if the point is not on a track or can not be
+     *                        reached.
+     */
+    public String route(String trainId, String point) throws LogicException {
+        Train train = this.findTrain(trainId);
+        if (train == null) {
+            if (this.rollMaterialComposition.trainWithIdExists(Integer.parseInt(trainId)) == null) {
+                throw new LogicException(ErrorMessages.TRAIN_NOT_EXISTING.getMessage());
+            }
+            throw new LogicException(ErrorMessages.TRAIN_NOT_PUT.getMessage());
+        }
+        TrackPoint target = this.trackNet.createTrackPoint(point.split(","));
+        return this.trackNet.getRoutePlanner().plan(train, target);
+    }
+
     /**
      * Checks if a Train is standing on the given Point, or on the Track of the
      * point.
@@ -146,18 +220,14 @@ public class ModelRailWay {
     private boolean trainStanding(TrackPoint newPoint) {
         if (newPoint.getCurrentTrack() != null) {
             for (Train train : this.trainsDriving) {
-                for (NormalTrack nt : train.getCurrentTracks()) {
-                    if (nt.equals(newPoint.getCurrentTrack())) {
-                        return true;
-                    }
+                if (train.holdsTrack(newPoint.getCurrentTrack())) {
+                    return true;
                 }
             }
         } else {
             for (Train train : this.trainsDriving) {
-                for (TrackPoint tp : train.getPointsOfTrain()) {
-                    if (tp.equals(newPoint)) {
-                        return true;
-                    }
+                if (train.checkIfTrainIsOnPoint(newPoint) != null) {
+                    return true;
                 }
             }
         }
@@ -170,12 +240,12 @@ public class ModelRailWay {
      * @param trainToSet the train of which the Tracks should be created.
      */
     void generateTracksOfTrain(Train trainToSet) {
-        trainToSet.deleteCurrentTracks();
-        for (TrackPoint tp : trainToSet.getPointsOfTrain()) {
-            if (this.trackNet.getTrackWithPoint(tp) != null) {
-                trainToSet.addTrack(this.trackNet.getTrackWithPoint(tp));
-            }
+        List<TrackPoint> points = trainToSet.getPointsOfTrain();
+        NormalTrack[] tracks = new NormalTrack[points.size()];
+        for (int i = 0; i < tracks.length; i++) {
+            tracks[i] = this.trackNet.getTrackWithPoint(points.get(i));
         }
+        trainToSet.setTracksOfPoints(tracks);
     }
 
     /**
@@ -207,7 +277,7 @@ public class ModelRailWay {
             switchToSet.getStart().setPrevious(destination);
             destination.setNext(switchToSet.getStart());
         } else {
-            switchToSet.generateInheritedPoints(destination, switchToSet.getStart());
+            this.trackNet.useLeg(switchToSet, destination, switchToSet.getStart());
             switchToSet.getStart().setPrevious(switchToSet.getLastInherited());
             destination.setNext(switchToSet.getFirstInherited());
             switchToSet.getFirstInherited().setPrevious(destination);
@@ -226,7 +296,7 @@ public class ModelRailWay {
             switchToSet.getStart().setNext(destination);
             destination.setPrevious(switchToSet.getStart());
         } else {
-            switchToSet.generateInheritedPoints(switchToSet.getStart(), destination);
+            this.trackNet.useLeg(switchToSet, switchToSet.getStart(), destination);
             switchToSet.getStart().setNext(switchToSet.getFirstInherited());
             destination.setPrevious(switchToSet.getLastInherited());
             switchToSet.getFirstInherited().setPrevious(switchToSet.getStart());
@@ -249,48 +319,46 @@ public class ModelRailWay {
             throw new LogicException(ErrorMessages.SWITCH_NOT_EXISTING.getMessage().toString());
         }
         TrackPoint trackPointToSet = this.trackNet.createTrackPoint(tp.split(","));
-        this.trackNet.removeTrackPoints(switchToSet);
+        TrackPoint destination;
         if (switchToSet.getEnd().equals(trackPointToSet)) {
-            switchToSet.setActiveSwitchEnd(switchToSet.getEnd());
-            switchToSet.deleteInheritedPoints();
-            if (switchToSet.getStart().getPrevious() != null && switchToSet.getEnd().getNext() == null) {
-                this.setSwitchUtilityEnd(switchToSet, switchToSet.getEnd());
-            } else if (switchToSet.getStart().getPrevious() == null && switchToSet.getEnd().getNext() != null) {
-                this.setSwitchUtilityEnd(switchToSet, switchToSet.getEnd());
-            } else if (switchToSet.getStart().getNext() == null && switchToSet.getEnd().getPrevious() != null) {
-                this.setSwitchUtilityOppositeDirectionEnd(switchToSet, switchToSet.getEnd());
-            } else if (switchToSet.getStart().getNext() != null && switchToSet.getEnd().getPrevious() == null) {
-                this.setSwitchUtilityOppositeDirectionEnd(switchToSet, switchToSet.getEnd());
-            } else if (switchToSet.getStart().getPrevious() != null && switchToSet.getEnd().getNext() != null
-                    && switchToSet.getStart().getPrevious().getCurrentTrack() != switchToSet) {
-                this.setSwitchUtilityEnd(switchToSet, switchToSet.getEnd());
-            } else if (switchToSet.getStart().getNext() != null && switchToSet.getEnd().getPrevious() != null) {
-                this.setSwitchUtilityOppositeDirectionEnd(switchToSet, switchToSet.getEnd());
-            }
-            this.checkForCrashSwitch(switchToSet);
-            this.trackNet.addTrackPoints(switchToSet.inheritedPoints);
-            return "OK";
+            destination = switchToSet.getEnd();
         } else if (switchToSet.getEnd2().equals(trackPointToSet)) {
-            switchToSet.setActiveSwitchEnd(switchToSet.getEnd2());
-            switchToSet.deleteInheritedPoints();
-            if (switchToSet.getStart().getPrevious() != null && switchToSet.getEnd2().getNext() == null) {
-                this.setSwitchUtilityEnd(switchToSet, switchToSet.getEnd2());
-            } else if (switchToSet.getStart().getPrevious() == null && switchToSet.getEnd2().getNext() != null) {
-                this.setSwitchUtilityEnd(switchToSet, switchToSet.getEnd2());
-            } else if (switchToSet.getStart().getPrevious() != null && switchToSet.getEnd2().getNext() != null) {
-                this.setSwitchUtilityEnd(switchToSet, switchToSet.getEnd2());
-            } else if (switchToSet.getStart().getNext() == null && switchToSet.getEnd2().getPrevious() != null) {
-                this.setSwitchUtilityOppositeDirectionEnd(switchToSet, switchToSet.getEnd2());
-            } else if (switchToSet.getStart().getNext() != null && switchToSet.getEnd2().getPrevious() == null) {
-                this.setSwitchUtilityOppositeDirectionEnd(switchToSet, switchToSet.getEnd2());
-            } else if (switchToSet.getStart().getNext() != null && switchToSet.getEnd2().getPrevious() != null) {
-                this.setSwitchUtilityOppositeDirectionEnd(switchToSet, switchToSet.getEnd2());
-            }
-            this.trackNet.addTrackPoints(switchToSet.inheritedPoints);
-            this.checkForCrashSwitch(switchToSet);
-            return "OK";
+            destination = switchToSet.getEnd2();
+        } else {
+            throw new LogicException(ErrorMessages.INVALID_SWITCH_END.getMessage().toString());
+        }
+        if (this.interlocking && !this.trainsOnSwitch(switchToSet).isEmpty()) {
+            throw new LogicException(ErrorMessages.SWITCH_OCCUPIED.getMessage());
+        }
+        this.trackNet.releaseSwitch(switchToSet);
+        switchToSet.setActiveSwitchEnd(destination);
+        this.linkSwitch(switchToSet, destination);
+        this.checkForCrashSwitch(switchToSet);
+        return "OK";
+    }
+
+    /**
+     * Links the points of a switch to the end it is set to. The direction of the
+     * links follows the links the start and the end already have to the tracks
+     * next to them.
+     * 
+     * @param switchToSet the switch.
+     * @param destination the active switchEnd.
+     */
+    private void linkSwitch(TrackSwitch switchToSet, TrackPoint destination) {
+        TrackPoint start = switchToSet.getStart();
+        boolean startHasPrevious = start.getPrevious() != null;
+        boolean startHasNext = start.getNext() != null;
+        boolean destinationHasNext = destination.getNext() != null;
+        boolean destinationHasPrevious = destination.getPrevious() != null;
+        if (startHasPrevious != destinationHasNext) {
+            this.setSwitchUtilityEnd(switchToSet, destination);
+        } else if (startHasPrevious && (destination == switchToSet.getEnd2()
+                || (startHasNext == destinationHasPrevious && start.getPrevious().getCurrentTrack() != switchToSet))) {
+            this.setSwitchUtilityEnd(switchToSet, destination);
+        } else if (startHasNext || destinationHasPrevious) {
+            this.setSwitchUtilityOppositeDirectionEnd(switchToSet, destination);
         }
-        throw new LogicException(ErrorMessages.INVALID_SWITCH_END.getMessage().toString());
     }
 
     /**
@@ -299,19 +367,78 @@ public class ModelRailWay {
      * @param switchToSet the switch to set.
      */
     private void checkForCrashSwitch(TrackSwitch switchToSet) {
-        List<Train> crashedTrains = new ArrayList<Train>();
-        for (Train train : this.trainsDriving) {
-            for (NormalTrack nt : train.getCurrentTracks()) {
-                if (nt.equals(switchToSet)) {
-                    crashedTrains.add(train);
+        this.removeTrainsFromTrack(this.trainsOnSwitch(switchToSet));
+    }
+
+    /**
+     * Finds the trains which hold a switch or stand on one of its ends. A train on
+     * the switch holds the switch or a Track at the node of one of its ends in the
+     * TrackGraph, or it stands on points without a Track. So only the holders of
+     * these slots in the occupancy are checked. All trains are only checked if
+     * one of these slots is shared.
+     * 
+     * @param switchToSet the switch.
+     * @return the trains on the switch.
+     */
+    private List<Train> trainsOnSwitch(TrackSwitch switchToSet) {
+        TrackGraph graph = this.trackNet.getGraph();
+        List<Integer> tracks = new ArrayList<Integer>();
+        tracks.add(TrackOccupancy.NO_TRACK);
+        tracks.add(switchToSet.getTrackID());
+        for (TrackPoint end : new TrackPoint[] {switchToSet.getEnd(), switchToSet.getEnd2()}) {
+            int node = graph.findNode(end.getCoordX(), end.getCoordY());
+            if (node >= 0) {
+                for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+                    tracks.add(graph.getTrackId(edge));
                 }
             }
-            if (train.checkIfTrainIsOnPoint(switchToSet.getEnd()) != null
+        }
+        Collection<Train> holders = new LinkedHashSet<Train>();
+        for (int trackId : tracks) {
+            if (this.occupancy.isShared(trackId)) {
+                holders = this.trainsDriving;
+                break;
+            }
+            Train holder = this.occupancy.getHolder(trackId);
+            if (holder != null && this.trainsDriving.contains(holder)) {
+                holders.add(holder);
+            }
+        }
+        List<Train> trainsOnSwitch = new ArrayList<Train>();
+        for (Train train : holders) {
+            if (train.holdsTrack(switchToSet) || train.checkIfTrainIsOnPoint(switchToSet.getEnd()) != null
                     || train.checkIfTrainIsOnPoint(switchToSet.getEnd2()) != null) {
-                crashedTrains.add(train);
+                trainsOnSwitch.add(train);
             }
         }
-        this.removeTrainsFromTrack(crashedTrains);
+        return trainsOnSwitch;
+    }
+
+    /**
+     * Lets every driving train occupy its Tracks, as the check for crashes does.
+     * Used after trains were restored or removed without a step, so the slots of
+     * the removed trains are free again.
+     */
+    void occupyTracksOfTrains() {
+        this.occupancy.clear();
+        for (Train train : this.trainsDriving) {
+            this.occupyTracks(train);
+        }
+    }
+
+    /**
+     * Lets a train occupy its Tracks, and the slot of the trains without a Track
+     * if it stands on points which do not belong to one of its Tracks.
+     * 
+     * @param train the train.
+     */
+    private void occupyTracks(Train train) {
+        for (NormalTrack track : train.getCurrentTracks()) {
+            this.occupancy.occupy(track, train);
+        }
+        if (!train.holdsTracksOfAllPoints()) {
+            this.occupancy.occupyWithoutTrack(train);
+        }
     }
 
     /**
@@ -323,71 +450,243 @@ public class ModelRailWay {
      * @throws LogicException if switches are unset.
      */
     public String step(short speed) throws LogicException {
-        Collections.sort(this.trainsDriving);
+        if (!this.trackNet.switchUnset() && this.trainsDriving.isEmpty()) {
+            return "OK";
+        }
         List<Event> events = new ArrayList<Event>();
+        this.step(speed, events::add);
+        Collections.sort(events);
+        StringBuilder output = new StringBuilder();
+        for (Event event : events) {
+            event.appendTo(output);
+            output.append('\n');
+        }
+        return output.toString().trim();
+    }
+
+    /**
+     * Step command. Moves every train in the railnet by <speed> points and passes
+     * the Events on to a listener as they occur. Crashes are passed on when they
+     * are detected, a Success for every train which is still driving at the end of
+     * the step. Every Event is passed on only once.
+     * 
+     * @param speed    how often the trains should be moved.
+     * @param listener the listener which receives the Events.
+     * @throws LogicException if switches are unset.
+     */
+    public void step(short speed, EventListener listener) throws LogicException {
+        Collections.sort(this.trainsDriving);
         if (this.trackNet.switchUnset()) {
             throw new LogicException(ErrorMessages.SWITCH_IS_UNSET.getMessage());
         } else if (this.trainsDriving.isEmpty()) {
-            return "OK";
+            return;
         }
         if (speed == 0) {
             for (Train train : trainsDriving) {
-                Event success = new Success(train, train.getId());
-                events.add(success);
+                listener.onEvent(new Success(train, train.getId()));
             }
-        } else if (speed > 0) {
-            for (int i = 0; i < speed; i++) {
-                for (int j = 0; j < this.trainsDriving.size(); j++) {
-                    Train trainToMove = this.trainsDriving.get(j);
-                    try {
-                        movement.move(trainToMove);
-                    } catch (MovementException e) {
-                        events.add(e.getCrash());
-                        movement.handleCrash(events);
-                    }
+            return;
+        }
+        List<Event> crashes = new ArrayList<Event>();
+        this.moveTrains(Math.abs(speed), speed > 0, false, crashes, listener);
+        this.finishStep(crashes, listener);
+    }
+
+    /**
+     * Step until crash command. Moves every train in the railnet forward until
+     * the first crash happens or the maximum number of points is reached.
+     * 
+     * @param max the maximum number of points the trains should be moved.
+     * @return the number of points the trains were moved, followed by the Events
+     *         of the last point, or "OK" if no train is driving.
+     * @throws LogicException if switches are unset.
+     */
+    public String stepUntilCrash(int max) throws LogicException {
+        if (!this.trackNet.switchUnset() && this.trainsDriving.isEmpty()) {
+            return "OK";
+        }
+        List<Event> events = new ArrayList<Event>();
+        int moved = this.stepUntilCrash(max, events::add);
+        Collections.sort(events);
+        StringBuilder output = new StringBuilder();
+        output.append(moved);
+        for (Event event : events) {
+            output.append('\n');
+            event.appendTo(output);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Step until crash command. Moves every train in the railnet forward until
+     * the first crash happens or the maximum number of points is reached, and
+     * passes the Events of the last point on to a listener. The result is the
+     * same as a series of steps by one point which stops at the first crash, but
+     * as long as no train can crash or derail, the trains are moved several
+     * points at once.
+     * 
+     * @param max      the maximum number of points the trains should be moved.
+     * @param listener the listener which receives the Events.
+     * @return the number of points the trains were moved.
+     * @throws LogicException if switches are unset.
+     */
+    public int stepUntilCrash(int max, EventListener listener) throws LogicException {
+        Collections.sort(this.trainsDriving);
+        if (this.trackNet.switchUnset()) {
+            throw new LogicException(ErrorMessages.SWITCH_IS_UNSET.getMessage());
+        } else if (this.trainsDriving.isEmpty()) {
+            return 0;
+        }
+        List<Event> crashes = new ArrayList<Event>();
+        int moved = this.moveTrains(max, true, true, crashes, listener);
+        this.finishStep(crashes, listener);
+        return moved;
+    }
+
+    /**
+     * Ends a step. Passes a Success on for every train which is still driving and
+     * removes the crashed trains from their points and tracks.
+     * 
+     * @param crashes  the crashes of the step.
+     * @param listener the listener which receives the Events.
+     */
+    private void finishStep(List<Event> crashes, EventListener listener) {
+        for (Event success : movement.handleSuccess(this.checkForCrash())) {
+            listener.onEvent(success);
+        }
+        for (Event crash : crashes) {
+            if (crash.getTrains().size() == 1) {
+                crash.getTrains().get(0).removeTracks();
+                crash.getTrains().get(0).removePoints();
+            } else {
+                for (Train train : crash.getTrains()) {
+                    train.removePoints();
+                    train.removeTracks();
                 }
-                events.addAll(movement.handleCrash(this.checkForCrash()));
             }
-            events.addAll(movement.handleSuccess(this.checkForCrash()));
-        } else if (speed < 0) {
-            for (int i = 0; i < Math.abs(speed); i++) {
-                for (int j = 0; j < trainsDriving.size(); j++) {
+        }
+    }
+
+    /**
+     * Moves all trains a given number of points. After each point the trains are
+     * checked for crashes. If no train can crash or derail within the next points,
+     * the trains are moved these points at once.
+     * 
+     * @param speed      the number of points the trains should be moved.
+     * @param forward    true if the trains move forward, false if they move
+     *                   backwards.
+     * @param untilCrash true if the trains stop after the point of the first
+     *                   crash.
+     * @param crashes    the list the crashes are added to.
+     * @param listener   the listener the crashes are passed on to.
+     * @return the number of points the trains were moved.
+     */
+    private int moveTrains(int speed, boolean forward, boolean untilCrash, List<Event> crashes,
+            EventListener listener) {
+        int moved = 0;
+        while (moved < speed && (!untilCrash || crashes.isEmpty())) {
+            int steps = 1;
+            if (moved > 0) {
+                steps = Math.max(this.stepsAtOnce(speed - moved, forward), 1);
+            }
+            if (this.stepPool != null && this.trainsDriving.size() > 1) {
+                this.moveTrainsParallel(steps, moved > 0, forward, crashes, listener);
+            } else {
+                for (int j = 0; j < this.trainsDriving.size(); j++) {
                     Train trainToMove = this.trainsDriving.get(j);
                     try {
-                        movement.moveBackWards(trainToMove);
+                        movement.moveSteps(trainToMove, steps, moved > 0, forward);
                     } catch (MovementException e) {
-                        events.add(e.getCrash());
-                        movement.handleCrash(events);
+                        crashes.add(e.getCrash());
+                        movement.handleCrash(crashes);
+                        listener.onEvent(e.getCrash());
                     }
                 }
-                events.addAll(movement.handleCrash(this.checkForCrash()));
             }
-            events.addAll(movement.handleSuccess(this.checkForCrash()));
-        }
-        String string = "";
-        List<Event> eventsList = events.stream().distinct().collect(Collectors.toList());
-        Collections.sort(eventsList);
-        for (Event event : eventsList) {
-            if (event.getType().equals("crash")) {
-                if (event.getTrains().size() == 1) {
-                    event.getTrains().get(0).removeTracks();
-                    event.getTrains().get(0).removePoints();
-                } else {
-                    for (Train train : event.getTrains()) {
-                        train.removePoints();
-                        train.removeTracks();
-                    }
+            for (Event crash : movement.handleCrash(this.checkForCrash())) {
+                crashes.add(crash);
+                listener.onEvent(crash);
+            }
+            moved = moved + steps;
+        }
+        return moved;
+    }
+
+    /**
+     * Moves all trains the same number of points at the same time. The moves are
+     * merged afterwards in the order of the trains, so the result is the same as
+     * if the trains were moved one after another: a derailed train is removed at
+     * once, and the train behind it in the list was skipped by the sequential
+     * loop, so its move is taken back. A train can only derail if it leaves the
+     * segment of its head or its tail, so only the positions of the trains
+     * behind such trains are saved before the move.
+     * 
+     * @param steps    the number of points every train is moved.
+     * @param sliding  true if the points of the trains were generated in the
+     *                 current step.
+     * @param forward  true if the trains move forward, false if they move
+     *                 backwards.
+     * @param crashes  the list the crashes are added to.
+     * @param listener the listener the crashes are passed on to.
+     */
+    private void moveTrainsParallel(int steps, boolean sliding, boolean forward, List<Event> crashes,
+            EventListener listener) {
+        List<Train> trains = new ArrayList<Train>(this.trainsDriving);
+        Train.Position[] positions = new Train.Position[trains.size()];
+        for (int j = 1; j < trains.size(); j++) {
+            if (movement.movableSteps(trains.get(j - 1), forward) < steps) {
+                positions[j] = trains.get(j).savePosition();
+            }
+        }
+        Event[] derailments = new Event[trains.size()];
+        List<ForkJoinTask<?>> moves = new ArrayList<ForkJoinTask<?>>(trains.size());
+        for (int j = 0; j < trains.size(); j++) {
+            final int index = j;
+            moves.add(this.stepPool.submit(() -> {
+                try {
+                    movement.moveSteps(trains.get(index), steps, sliding, forward);
+                } catch (MovementException e) {
+                    derailments[index] = e.getCrash();
                 }
+            }));
+        }
+        for (ForkJoinTask<?> move : moves) {
+            move.join();
+        }
+        boolean skipped = false;
+        for (int j = 0; j < trains.size(); j++) {
+            if (skipped) {
+                trains.get(j).restorePosition(positions[j]);
+                skipped = false;
+            } else if (derailments[j] != null) {
+                crashes.add(derailments[j]);
+                movement.handleCrash(crashes);
+                listener.onEvent(derailments[j]);
+                skipped = true;
             }
         }
-        for (Event event : eventsList) {
-            string += event.toString() + "\n";
+    }
+
+    /**
+     * Calculates how many points all trains can move at once. Within these points
+     * the tracks of the trains do not change, so no train can crash or derail.
+     * 
+     * @param remaining the number of points that are left to move.
+     * @param forward   true if the trains move forward, false if they move
+     *                  backwards.
+     * @return the number of points all trains can move at once.
+     */
+    private int stepsAtOnce(int remaining, boolean forward) {
+        int steps = remaining;
+        for (Train train : this.trainsDriving) {
+            steps = Math.min(steps, movement.movableSteps(train, forward));
         }
-        return string.trim();
+        return steps;
     }
 
     /**
-     * Method that checks for crash on railnet.
+     * Method that checks for crash on railnet. Every train occupies its tracks,
+     * trains which want to occupy an already held track crash.
      * 
      * @return list of Events.
      */
@@ -396,19 +695,18 @@ public class ModelRailWay {
         List<Crash> crashes = new ArrayList<Crash>();
         List<Train> crashedTrains = new ArrayList<Train>();
         Collections.sort(trainsDriving);
+        this.occupancy.clear();
         for (Train train : this.trainsDriving) {
-            for (int i = 0; i < trainsDriving.size(); i++) {
-                if (!train.equals(trainsDriving.get(i))) {
-                    List<NormalTrack> tracksToCheck = train.getCurrentTracks();
-                    tracksToCheck.retainAll(trainsDriving.get(i).getCurrentTracks());
-                    if (!tracksToCheck.isEmpty()) {
-                        if (!crashedTrains.contains(train)) {
-                            crashedTrains.add(train);
-                            crashedTrains.add(trainsDriving.get(i));
-                        }
-                    }
+            for (NormalTrack track : train.getCurrentTracks()) {
+                Train holder = this.occupancy.occupy(track, train);
+                if (holder != null && !holder.equals(train)) {
+                    crashedTrains.add(holder);
+                    crashedTrains.add(train);
                 }
             }
+            if (!train.holdsTracksOfAllPoints()) {
+                this.occupancy.occupyWithoutTrack(train);
+            }
         }
         if (crashedTrains.isEmpty()) {
             for (Train train : trainsDriving) {
@@ -439,6 +737,9 @@ public class ModelRailWay {
             train.removePoints();
             train.removeTracks();
         }
+        if (!crashedTrains.isEmpty()) {
+            this.occupyTracksOfTrains();
+        }
     }
 
     /**
@@ -450,6 +751,41 @@ public class ModelRailWay {
         return this.rollMaterialComposition;
     }
 
+    /**
+     * Getter for the Trains which are put on the TrackNet.
+     * 
+     * @return the trainsDriving.
+     */
+    List<Train> getTrainsDriving() {
+        return this.trainsDriving;
+    }
+
+    /**
+     * Writes a binary snapshot of the ModelRailWay into a channel. The snapshot
+     * contains the TrackNet, the RollMaterial, the Trains with their positions and
+     * the id allocators of Tracks, Coaches and Trains.
+     * 
+     * @param channel the channel the snapshot is written into.
+     * @throws IOException if the channel can not be written.
+     */
+    public void saveSnapshot(WritableByteChannel channel) throws IOException {
+        ModelRailWaySnapshot.write(this, channel);
+    }
+
+    /**
+     * Restores a ModelRailWay from a snapshot which was written with
+     * {@link #saveSnapshot(WritableByteChannel)}. The restored ModelRailWay hands
+     * out the ids of Tracks, Coaches and Trains like the saved one.
+     * 
+     * @param channel the channel the snapshot is read from.
+     * @return the restored ModelRailWay.
+     * @throws IOException if the channel can not be read or the snapshot is not
+     *                     valid.
+     */
+    public static ModelRailWay restoreSnapshot(ReadableByteChannel channel) throws IOException {
+        return ModelRailWaySnapshot.read(channel);
+    }
+
     /**
      * Deletes a Track out of the TrackNet. Checks if logically everything is
      * alright, then deletes the track.
@@ -461,33 +797,21 @@ public class ModelRailWay {
      */
     public String deleteTrack(int trackId) throws LogicException {
         NormalTrack trackToDelete = this.trackNet.findTrack(trackId);
-        for (TrackPoint tp : trackToDelete.getInheritedPoints()) {
-            if (this.trainStanding(tp)) {
-                throw new LogicException(ErrorMessages.TRAIN_ALREADY_STANDING.getMessage());
-            }
+        if (trackToDelete.getFirstInherited() != null && this.trainStanding(trackToDelete.getFirstInherited())) {
+            throw new LogicException(ErrorMessages.TRAIN_ALREADY_STANDING.getMessage());
         }
         if (this.trainStanding(trackToDelete.getStart()) || this.trainStanding(trackToDelete.getEnd())) {
             throw new LogicException(ErrorMessages.TRAIN_ALREADY_STANDING.getMessage());
         }
-        if (this.trackNet.getTrackList().size() == 1) {
+        if (this.trackNet.getTrackCount() == 1) {
             this.trackNet.remove(trackToDelete);
-            trackToDelete.resetId();
+            this.trackNet.getTrackIds().release(trackToDelete.getTrackID());
             this.trackNet.setFirstTrackTrue();
             return "OK";
-        } else if (this.trackNet.getTrackList().size() <= 2
-                || this.trackNet.numberOfConnectedTracks(trackToDelete) <= 1) {
-            trackNet.remove(trackToDelete);
-            trackToDelete.resetId();
-            return "OK";
-        }
-        for (TrackPoint tp : trackToDelete.getInheritedPoints()) {
-            if (this.trainStanding(tp)) {
-                throw new LogicException(ErrorMessages.TRAIN_ALREADY_STANDING.getMessage());
-            }
         }
-        if (this.trackNet.existingWayWithout(trackToDelete, trackToDelete.getStart(), trackToDelete.getEnd())) {
+        if (this.trackNet.staysConnectedWithout(trackToDelete)) {
             trackNet.remove(trackToDelete);
-            trackToDelete.resetId();
+            this.trackNet.getTrackIds().release(trackToDelete.getTrackID());
             return "OK";
         } else {
             throw new LogicException(ErrorMessages.TRACK_CANNOT_DELETED.getMessage());
@@ -27,13 +27,38 @@ public class ModelRailWayMovement {
         this.railWay = modelRailWay;
     }
 
+    /**
+     * Moves a train by a number of points. One point is moved with move() or
+     * moveBackWards(), more points at once with advance(). Only the train itself
+     * is changed, so different trains can be moved at the same time.
+     * 
+     * @param train   the train to be moved.
+     * @param steps   the number of points, not greater than the movable steps of
+     *                the train if it is greater than one.
+     * @param sliding true if the points of the train were generated in the
+     *                current step and can be moved instead of generated again.
+     * @param forward true if the train moves forward, false if it moves backwards.
+     * @throws MovementException if train derails.
+     */
+    void moveSteps(Train train, int steps, boolean sliding, boolean forward) throws MovementException {
+        if (steps > 1) {
+            this.advance(train, steps, forward);
+        } else if (forward) {
+            this.move(train, sliding);
+        } else {
+            this.moveBackWards(train, sliding);
+        }
+    }
+
     /**
      * Moves a train one point backwards.
      * 
-     * @param train the train to be moved.
+     * @param train   the train to be moved.
+     * @param sliding true if the points of the train were generated in the
+     *                current step and can be moved instead of generated again.
      * @throws MovementException if train derails.
      */
-    void moveBackWards(Train train) throws MovementException {
+    void moveBackWards(Train train, boolean sliding) throws MovementException {
         TrackPoint headPoint = train.getHeadPoint();
         if (train.isDirection() == true) {
 
@@ -52,23 +77,31 @@ public class ModelRailWayMovement {
             }
             train.setHeadPoint(headPoint.getPrevious());
         }
+        boolean slid;
         try {
-            this.generatePointsOfTrain(train);
+            slid = sliding && this.slideBackWards(train);
+            if (!slid) {
+                this.generatePointsOfTrain(train);
+            }
         } catch (LogicException e) {
             List<Train> crashed = new ArrayList<Train>();
             crashed.add(train);
             throw new MovementException(new Crash(crashed, crashed.get(0).getId()));
         }
-        railWay.generateTracksOfTrain(train);
+        if (!slid) {
+            railWay.generateTracksOfTrain(train);
+        }
     }
 
     /**
      * Moves a train one point forward.
      * 
-     * @param train the train to be moved.
+     * @param train   the train to be moved.
+     * @param sliding true if the points of the train were generated in the
+     *                current step and can be moved instead of generated again.
      * @throws MovementException if train derails.
      */
-    void move(Train train) throws MovementException {
+    void move(Train train, boolean sliding) throws MovementException {
         TrackPoint headPoint = train.getHeadPoint();
         if (train.isDirection() == true) {
             if (headPoint.getPrevious() == null) {
@@ -85,6 +118,128 @@ public class ModelRailWayMovement {
             }
             train.setHeadPoint(headPoint.getNext());
         }
+        boolean slid;
+        try {
+            slid = sliding && this.slide(train, headPoint);
+            if (!slid) {
+                this.generatePointsOfTrain(train);
+            }
+        } catch (LogicException e) {
+            List<Train> crashed = new ArrayList<Train>();
+            crashed.add(train);
+            throw new MovementException(new Crash(crashed, crashed.get(0).getId()));
+        }
+        if (!slid) {
+            railWay.generateTracksOfTrain(train);
+        }
+    }
+
+    /**
+     * Moves the points of a train one point forward after its headPoint was moved.
+     * This only works if the point behind the new headPoint is the old headPoint.
+     * The tracks of the train are updated from the new and the dropped point.
+     * 
+     * @param train        the train of which the points should be moved.
+     * @param oldHeadPoint the headPoint before the train was moved.
+     * @return true if the points were moved, false if they have to be generated.
+     */
+    private boolean slide(Train train, TrackPoint oldHeadPoint) {
+        TrackPoint headPoint = train.getHeadPoint();
+        if (!train.hasPoints() || !train.knowsTracksOfPoints() || !headPoint.isActive()) {
+            return false;
+        }
+        TrackPoint behind;
+        if (train.isDirection()) {
+            behind = headPoint.getNext();
+        } else {
+            behind = headPoint.getPrevious();
+        }
+        if (behind == null || !behind.isSamePoint(oldHeadPoint)) {
+            return false;
+        }
+        train.pushHead(headPoint, railWay.getTrackNet().getTrackWithPoint(headPoint));
+        return true;
+    }
+
+    /**
+     * Moves the points of a train one point backwards after its headPoint was
+     * moved onto the second point of the train. The tracks of the train are
+     * updated from the new and the dropped point.
+     * 
+     * @param train the train of which the points should be moved.
+     * @return true if the points were moved, false if they have to be generated.
+     */
+    private boolean slideBackWards(Train train) {
+        if (!train.hasPoints() || !train.knowsTracksOfPoints()) {
+            return false;
+        }
+        TrackPoint tail;
+        if (train.isDirection()) {
+            tail = train.getTailPoint().getNext();
+        } else {
+            tail = train.getTailPoint().getPrevious();
+        }
+        if (tail == null || !tail.isActive()) {
+            return false;
+        }
+        train.pushTail(tail, railWay.getTrackNet().getTrackWithPoint(tail));
+        return true;
+    }
+
+    /**
+     * Calculates how many points a train can move at once. The head and the tail
+     * of the train have to stay on the segments they are standing on, so the
+     * tracks of the train do not change while it moves.
+     * 
+     * @param train   the train to be moved.
+     * @param forward true if the train moves forward, false if it moves backwards.
+     * @return the number of points the train can move at once.
+     */
+    int movableSteps(Train train, boolean forward) {
+        boolean alongNext = train.isDirection() != forward;
+        return Math.min(this.stepsInSegment(train.getHeadPoint(), alongNext),
+                this.stepsInSegment(train.getTailPoint(), alongNext));
+    }
+
+    /**
+     * Calculates how many points can be passed from a point without leaving its
+     * segment.
+     * 
+     * @param point     the point to start at.
+     * @param alongNext true if the next points are passed, false if the previous.
+     * @return the number of points, 0 if the point is not inherited.
+     */
+    private int stepsInSegment(TrackPoint point, boolean alongNext) {
+        if (!(point instanceof VirtualTrackPoint)) {
+            return 0;
+        }
+        VirtualTrackPoint virtualPoint = (VirtualTrackPoint) point;
+        TrackSegment segment = virtualPoint.getSegment();
+        if (!segment.isActive() || !segment.isExclusive()) {
+            return 0;
+        }
+        if (alongNext) {
+            return segment.getSize() - virtualPoint.getOffset();
+        }
+        return virtualPoint.getOffset() - 1;
+    }
+
+    /**
+     * Moves a train several points at once. The number of points must not be
+     * greater than the movable steps of the train.
+     * 
+     * @param train   the train to be moved.
+     * @param steps   the number of points.
+     * @param forward true if the train moves forward, false if it moves backwards.
+     * @throws MovementException if train derails.
+     */
+    void advance(Train train, int steps, boolean forward) throws MovementException {
+        VirtualTrackPoint headPoint = (VirtualTrackPoint) train.getHeadPoint();
+        if (train.isDirection() != forward) {
+            train.setHeadPoint(headPoint.getSegment().getPoint(headPoint.getOffset() + steps));
+        } else {
+            train.setHeadPoint(headPoint.getSegment().getPoint(headPoint.getOffset() - steps));
+        }
         try {
             this.generatePointsOfTrain(train);
         } catch (LogicException e) {
@@ -96,7 +251,8 @@ public class ModelRailWayMovement {
     }
 
     /**
-     * Generates the Points of a Train, depending from the start Point.
+     * Generates the Points of a Train, depending from the start Point. Only the
+     * train itself is changed, a derailed train is removed by the caller.
      * 
      * @param trainToSet the train of which the points should be generated
      * @throws LogicException    if the train cant be set at the current position.
@@ -110,7 +266,6 @@ public class ModelRailWayMovement {
         if (point == null) {
             List<Train> crashed = new ArrayList<Train>();
             crashed.add(trainToSet);
-            railWay.removeTrainsFromTrack(crashed);
             throw new MovementException(new Crash(crashed, crashed.get(0).getId()));
         }
 
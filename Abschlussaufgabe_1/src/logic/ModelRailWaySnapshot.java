@@ -0,0 +1,871 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a ModelRailWay into a binary snapshot and restores it. The snapshot
+ * contains the TrackNetwork with the links of its Points and the states of its
+ * switches, the RollMaterialStock, the Trains with their positions and the id
+ * allocators of Tracks, Coaches and Trains.
+ *
+ * <p>
+ * The objects of the ModelRailWay are written in tables and refer to each other
+ * by their index in the table, so objects which are shared, like the Points two
+ * Tracks are connected at, are shared after the restore as well. An inherited
+ * Point is written as its segment and its offset. The tables are filled with a
+ * work list instead of a recursion, because the Points of a TrackNetwork can
+ * form very long chains.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+final class ModelRailWaySnapshot {
+    /**
+     * The first int of every snapshot.
+     */
+    private static final int MAGIC = 0x4D525753;
+    /**
+     * The version of the format.
+     */
+    private static final int VERSION = 3;
+    /**
+     * Marks a reference to nothing.
+     */
+    private static final int NONE = -1;
+    /**
+     * Marks a reference to a Point of the Point table.
+     */
+    private static final int TRACK_POINT = 0;
+    /**
+     * Marks a reference to an inherited Point of a segment.
+     */
+    private static final int INHERITED_POINT = 1;
+    /**
+     * Marks a Locomotive in the RollMaterial table.
+     */
+    private static final int LOCOMOTIVE = 0;
+    /**
+     * Marks a Coach in the RollMaterial table.
+     */
+    private static final int COACH = 1;
+    /**
+     * Marks a TrainSet in the RollMaterial table.
+     */
+    private static final int TRAIN_SET = 2;
+    /**
+     * Marks a switch which is set to its first end.
+     */
+    private static final int FIRST_END = 1;
+    /**
+     * Marks a switch which is set to its second end.
+     */
+    private static final int SECOND_END = 2;
+
+    /**
+     * The table of the Points which are no inherited Points.
+     */
+    private final List<TrackPoint> points = new ArrayList<TrackPoint>();
+    /**
+     * The index of every Point in the Point table.
+     */
+    private final Map<TrackPoint, Integer> pointIndex = new IdentityHashMap<TrackPoint, Integer>();
+    /**
+     * The table of the segments.
+     */
+    private final List<TrackSegment> segments = new ArrayList<TrackSegment>();
+    /**
+     * The index of every segment in the segment table.
+     */
+    private final Map<TrackSegment, Integer> segmentIndex = new IdentityHashMap<TrackSegment, Integer>();
+    /**
+     * The table of the Tracks, which also contains Tracks that are only referred
+     * to by links of Points.
+     */
+    private final List<NormalTrack> tracks = new ArrayList<NormalTrack>();
+    /**
+     * The index of every Track in the Track table.
+     */
+    private final Map<NormalTrack, Integer> trackIndex = new IdentityHashMap<NormalTrack, Integer>();
+    /**
+     * The table of the RollMaterial.
+     */
+    private final List<RollMaterial> rollMaterial = new ArrayList<RollMaterial>();
+    /**
+     * The index of every RollMaterial in the RollMaterial table.
+     */
+    private final Map<RollMaterial, Integer> rollMaterialIndex = new IdentityHashMap<RollMaterial, Integer>();
+    /**
+     * The table of the Trains.
+     */
+    private final List<Train> trains = new ArrayList<Train>();
+    /**
+     * The index of every Train in the Train table.
+     */
+    private final Map<Train, Integer> trainIndex = new IdentityHashMap<Train, Integer>();
+
+    /**
+     * Private constructor, a snapshot is only used inside of write and read.
+     */
+    private ModelRailWaySnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of a ModelRailWay into a channel.
+     *
+     * @param railWay the ModelRailWay.
+     * @param channel the channel.
+     * @throws IOException if the channel can not be written.
+     */
+    static void write(ModelRailWay railWay, WritableByteChannel channel) throws IOException {
+        ModelRailWaySnapshot snapshot = new ModelRailWaySnapshot();
+        snapshot.collect(railWay);
+        SnapshotOutput out = new SnapshotOutput(channel);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeIdPool(out, railWay.getTrackNet().getTrackIds());
+        writeIdPool(out, railWay.getRollMaterialComposition().getRollMaterialStock().getCoachIds());
+        writeIdPool(out, railWay.getRollMaterialComposition().getTrainIds());
+        snapshot.writeTracks(out);
+        snapshot.writeNetwork(out, railWay.getTrackNet());
+        snapshot.writeRollMaterial(out, railWay.getRollMaterialComposition().getRollMaterialStock());
+        snapshot.writeTrains(out, railWay);
+        out.flush();
+    }
+
+    /**
+     * Restores a ModelRailWay from a snapshot which is read from a channel. The
+     * restored ModelRailWay hands out the ids of Tracks, Coaches and Trains like
+     * the one the snapshot was taken of.
+     *
+     * @param channel the channel.
+     * @return the restored ModelRailWay.
+     * @throws IOException if the channel can not be read or does not contain a
+     *                     valid snapshot.
+     */
+    static ModelRailWay read(ReadableByteChannel channel) throws IOException {
+        ModelRailWaySnapshot snapshot = new ModelRailWaySnapshot();
+        SnapshotInput in = new SnapshotInput(channel);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+        }
+        ModelRailWay railWay = new ModelRailWay();
+        readIdPool(in, railWay.getTrackNet().getTrackIds());
+        readIdPool(in, railWay.getRollMaterialComposition().getRollMaterialStock().getCoachIds());
+        readIdPool(in, railWay.getRollMaterialComposition().getTrainIds());
+        try {
+            snapshot.readTracks(in);
+            snapshot.readNetwork(in, railWay.getTrackNet());
+            snapshot.readRollMaterial(in, railWay.getRollMaterialComposition().getRollMaterialStock());
+            snapshot.readTrains(in, railWay);
+            railWay.occupyTracksOfTrains();
+        } catch (LogicException | IndexOutOfBoundsException | ClassCastException e) {
+            throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage(), e);
+        }
+        return railWay;
+    }
+
+    /**
+     * Fills the tables with all objects of a ModelRailWay.
+     *
+     * @param railWay the ModelRailWay.
+     */
+    private void collect(ModelRailWay railWay) {
+        RollMaterialComposition composition = railWay.getRollMaterialComposition();
+        RollMaterialStock stock = composition.getRollMaterialStock();
+        for (RollMaterial material : stock.getUnusedRollMaterial()) {
+            this.addRollMaterial(material);
+        }
+        for (RollMaterial material : stock.getLocomotives()) {
+            this.addRollMaterial(material);
+        }
+        for (RollMaterial material : stock.getCoaches()) {
+            this.addRollMaterial(material);
+        }
+        for (RollMaterial material : stock.getTrainSets()) {
+            this.addRollMaterial(material);
+        }
+        for (Train train : composition.getTrains()) {
+            this.addTrain(train);
+        }
+        for (Train train : railWay.getTrainsDriving()) {
+            this.addTrain(train);
+        }
+        for (int i = 0; i < this.rollMaterial.size(); i++) {
+            this.addTrain(this.rollMaterial.get(i).getTrain());
+        }
+        for (int i = 0; i < this.trains.size(); i++) {
+            Train train = this.trains.get(i);
+            for (RollMaterial material : train.getTrainParts()) {
+                this.addRollMaterial(material);
+                this.addTrain(material.getTrain());
+            }
+            this.addPoint(train.getHeadPoint());
+            for (TrackPoint point : train.getPointsOfTrain()) {
+                this.addPoint(point);
+            }
+            for (NormalTrack track : train.getCurrentTracks()) {
+                this.addTrack(track);
+            }
+        }
+        TrackNetwork trackNet = railWay.getTrackNet();
+        for (NormalTrack track : trackNet.getTracks()) {
+            this.addTrack(track);
+        }
+        for (TrackPoint point : trackNet.getConnectionPoints()) {
+            this.addPoint(point);
+        }
+        for (TrackPoint point : trackNet.getAllTrackPoints()) {
+            this.addPoint(point);
+        }
+        for (TrackSegment segment : trackNet.getRegisteredSegments()) {
+            this.addSegment(segment);
+        }
+        this.collectLinked();
+    }
+
+    /**
+     * Adds every Point, segment and Track which can be reached over the links of
+     * the objects in the tables.
+     */
+    private void collectLinked() {
+        int nextPoint = 0;
+        int nextSegment = 0;
+        int nextTrack = 0;
+        while (nextPoint < this.points.size() || nextSegment < this.segments.size()
+                || nextTrack < this.tracks.size()) {
+            for (; nextPoint < this.points.size(); nextPoint++) {
+                TrackPoint point = this.points.get(nextPoint);
+                this.addPoint(point.getPrevious());
+                this.addPoint(point.getNext());
+            }
+            for (; nextSegment < this.segments.size(); nextSegment++) {
+                TrackSegment segment = this.segments.get(nextSegment);
+                this.addTrack(segment.getTrack());
+                this.addPoint(segment.getBefore());
+                this.addPoint(segment.getAfter());
+            }
+            for (; nextTrack < this.tracks.size(); nextTrack++) {
+                NormalTrack track = this.tracks.get(nextTrack);
+                this.addPoint(track.getStart());
+                this.addPoint(track.getEnd());
+                if (track instanceof TrackSwitch) {
+                    this.addPoint(((TrackSwitch) track).getEnd2());
+                    for (TrackSegment leg : ((TrackSwitch) track).getLegs()) {
+                        this.addSegment(leg);
+                    }
+                }
+                for (TrackSegment segment : track.getInheritedSegments()) {
+                    this.addSegment(segment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a Point to its table, or the segment of an inherited Point.
+     *
+     * @param point the Point, can be null.
+     */
+    private void addPoint(TrackPoint point) {
+        if (point instanceof VirtualTrackPoint) {
+            this.addSegment(((VirtualTrackPoint) point).getSegment());
+        } else if (point != null && !this.pointIndex.containsKey(point)) {
+            this.pointIndex.put(point, this.points.size());
+            this.points.add(point);
+        }
+    }
+
+    /**
+     * Adds a segment to its table.
+     *
+     * @param segment the segment.
+     */
+    private void addSegment(TrackSegment segment) {
+        if (!this.segmentIndex.containsKey(segment)) {
+            this.segmentIndex.put(segment, this.segments.size());
+            this.segments.add(segment);
+        }
+    }
+
+    /**
+     * Adds a Track to its table.
+     *
+     * @param track the Track.
+     */
+    private void addTrack(NormalTrack track) {
+        if (!this.trackIndex.containsKey(track)) {
+            this.trackIndex.put(track, this.tracks.size());
+            this.tracks.add(track);
+        }
+    }
+
+    /**
+     * Adds a RollMaterial to its table.
+     *
+     * @param material the RollMaterial.
+     */
+    private void addRollMaterial(RollMaterial material) {
+        if (!this.rollMaterialIndex.containsKey(material)) {
+            this.rollMaterialIndex.put(material, this.rollMaterial.size());
+            this.rollMaterial.add(material);
+        }
+    }
+
+    /**
+     * Adds a Train to its table.
+     *
+     * @param train the Train, can be null.
+     */
+    private void addTrain(Train train) {
+        if (train != null && !this.trainIndex.containsKey(train)) {
+            this.trainIndex.put(train, this.trains.size());
+            this.trains.add(train);
+        }
+    }
+
+    /**
+     * Writes the state of an id allocator.
+     *
+     * @param out the output.
+     * @param ids the allocator.
+     * @throws IOException if the channel can not be written.
+     */
+    private static void writeIdPool(SnapshotOutput out, IdAllocator ids) throws IOException {
+        List<Integer> freeIds = ids.getFreeIds();
+        out.writeInt(ids.getCounter());
+        out.writeInt(freeIds.size());
+        for (int id : freeIds) {
+            out.writeInt(id);
+        }
+    }
+
+    /**
+     * Reads the state of an id allocator.
+     *
+     * @param in  the input.
+     * @param ids the allocator the state is restored into.
+     * @throws IOException if the channel can not be read or an id is negative.
+     */
+    private static void readIdPool(SnapshotInput in, IdAllocator ids) throws IOException {
+        int counter = in.readCount();
+        int count = in.readCount();
+        List<Integer> freeIds = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            freeIds.add(in.readCount());
+        }
+        ids.restore(counter, freeIds);
+    }
+
+    /**
+     * Writes the Point, Track and segment tables, followed by the links between
+     * them.
+     *
+     * @param out the output.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeTracks(SnapshotOutput out) throws IOException {
+        out.writeInt(this.points.size());
+        for (TrackPoint point : this.points) {
+            out.writeInt(point.getCoordX());
+            out.writeInt(point.getCoordY());
+            out.writeBoolean(point.isActive());
+        }
+        out.writeInt(this.tracks.size());
+        for (NormalTrack track : this.tracks) {
+            out.writeInt(track.getTrackID());
+            out.writeInt(this.pointIndex.get(track.getStart()));
+            out.writeInt(this.pointIndex.get(track.getEnd()));
+            if (track instanceof TrackSwitch) {
+                TrackSwitch trackSwitch = (TrackSwitch) track;
+                out.writeInt(this.pointIndex.get(trackSwitch.getEnd2()));
+                if (trackSwitch.getActiveSwitchEnd() == null) {
+                    out.writeInt(NONE);
+                } else if (trackSwitch.getActiveSwitchEnd() == trackSwitch.getEnd()) {
+                    out.writeInt(FIRST_END);
+                } else {
+                    out.writeInt(SECOND_END);
+                }
+            } else {
+                out.writeInt(NONE);
+            }
+        }
+        out.writeInt(this.segments.size());
+        for (TrackSegment segment : this.segments) {
+            TrackPoint first = segment.getFirst();
+            out.writeInt(this.trackIndex.get(segment.getTrack()));
+            out.writeInt(segment.getOriginX());
+            out.writeInt(segment.getOriginY());
+            out.writeInt(first.getCoordX() - segment.getOriginX());
+            out.writeInt(first.getCoordY() - segment.getOriginY());
+            out.writeInt(segment.getSize());
+            out.writeBoolean(segment.isActive());
+            out.writeLong(segment.getRegistration());
+            out.writeInt(segment.getOverlaps());
+            out.writeBoolean(segment.isParked());
+        }
+        for (TrackPoint point : this.points) {
+            this.writePoint(out, point.getPrevious());
+            this.writePoint(out, point.getNext());
+        }
+        for (TrackSegment segment : this.segments) {
+            this.writePoint(out, segment.getBefore());
+            this.writePoint(out, segment.getAfter());
+        }
+        for (NormalTrack track : this.tracks) {
+            out.writeInt(track.getInheritedSegments().size());
+            for (TrackSegment segment : track.getInheritedSegments()) {
+                out.writeInt(this.segmentIndex.get(segment));
+            }
+            if (track instanceof TrackSwitch) {
+                TrackSwitch trackSwitch = (TrackSwitch) track;
+                this.writeLeg(out, trackSwitch.getLeg(trackSwitch.getEnd()));
+                this.writeLeg(out, trackSwitch.getLeg(trackSwitch.getEnd2()));
+            }
+        }
+    }
+
+    /**
+     * Reads the Point, Track and segment tables and links them.
+     *
+     * @param in the input.
+     * @throws IOException if the channel can not be read.
+     */
+    private void readTracks(SnapshotInput in) throws IOException {
+        int pointCount = in.readCount();
+        for (int i = 0; i < pointCount; i++) {
+            TrackPoint point = new TrackPoint(in.readInt(), in.readInt());
+            point.setActive(in.readBoolean());
+            this.points.add(point);
+        }
+        int trackCount = in.readCount();
+        for (int i = 0; i < trackCount; i++) {
+            int trackId = in.readInt();
+            TrackPoint start = this.points.get(in.readInt());
+            TrackPoint end = this.points.get(in.readInt());
+            int end2 = in.readInt();
+            if (end2 == NONE) {
+                this.tracks.add(new NormalTrack(trackId, start, end));
+            } else {
+                TrackPoint secondEnd = this.points.get(end2);
+                int state = in.readInt();
+                TrackPoint switchState = state == FIRST_END ? end : state == SECOND_END ? secondEnd : null;
+                this.tracks.add(new TrackSwitch(trackId, start, end, secondEnd, switchState));
+            }
+        }
+        int segmentCount = in.readCount();
+        for (int i = 0; i < segmentCount; i++) {
+            NormalTrack track = this.tracks.get(in.readInt());
+            int originX = in.readInt();
+            int originY = in.readInt();
+            int vectorX = in.readInt();
+            int vectorY = in.readInt();
+            int size = in.readCount();
+            TrackSegment segment = new TrackSegment(track, new TrackPoint(originX, originY),
+                    new TrackPoint(originX + vectorX * (size + 1), originY + vectorY * (size + 1)));
+            segment.setActive(in.readBoolean());
+            segment.setRegistration(in.readLong());
+            segment.setOverlaps(in.readInt());
+            segment.setParked(in.readBoolean());
+            this.segments.add(segment);
+        }
+        for (TrackPoint point : this.points) {
+            point.setPrevious(this.readPoint(in));
+            point.setNext(this.readPoint(in));
+        }
+        for (TrackSegment segment : this.segments) {
+            segment.setBefore(this.readPoint(in));
+            segment.setAfter(this.readPoint(in));
+        }
+        for (NormalTrack track : this.tracks) {
+            int count = in.readCount();
+            for (int i = 0; i < count; i++) {
+                track.restoreInheritedSegment(this.segments.get(in.readInt()));
+            }
+            if (track instanceof TrackSwitch) {
+                TrackSwitch trackSwitch = (TrackSwitch) track;
+                trackSwitch.setLeg(trackSwitch.getEnd(), this.readLeg(in));
+                trackSwitch.setLeg(trackSwitch.getEnd2(), this.readLeg(in));
+            }
+        }
+    }
+
+    /**
+     * Writes a reference to the leg of a switch.
+     *
+     * @param out the output.
+     * @param leg the segment of the leg, can be null.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeLeg(SnapshotOutput out, TrackSegment leg) throws IOException {
+        out.writeInt(leg == null ? NONE : this.segmentIndex.get(leg));
+    }
+
+    /**
+     * Reads a reference to the leg of a switch.
+     *
+     * @param in the input.
+     * @return the segment of the leg or null.
+     * @throws IOException if the channel can not be read.
+     */
+    private TrackSegment readLeg(SnapshotInput in) throws IOException {
+        int leg = in.readInt();
+        return leg == NONE ? null : this.segments.get(leg);
+    }
+
+    /**
+     * Writes a reference to a Point.
+     *
+     * @param out   the output.
+     * @param point the Point, can be null.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writePoint(SnapshotOutput out, TrackPoint point) throws IOException {
+        if (point == null) {
+            out.writeInt(NONE);
+        } else if (point instanceof VirtualTrackPoint) {
+            VirtualTrackPoint inherited = (VirtualTrackPoint) point;
+            out.writeInt(INHERITED_POINT);
+            out.writeInt(this.segmentIndex.get(inherited.getSegment()));
+            out.writeInt(inherited.getOffset());
+        } else {
+            out.writeInt(TRACK_POINT);
+            out.writeInt(this.pointIndex.get(point));
+        }
+    }
+
+    /**
+     * Reads a reference to a Point.
+     *
+     * @param in the input.
+     * @return the Point, or null.
+     * @throws IOException if the channel can not be read.
+     */
+    private TrackPoint readPoint(SnapshotInput in) throws IOException {
+        int kind = in.readInt();
+        if (kind == NONE) {
+            return null;
+        } else if (kind == INHERITED_POINT) {
+            TrackSegment segment = this.segments.get(in.readInt());
+            int offset = in.readInt();
+            if (offset < 1 || offset > segment.getSize()) {
+                throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+            }
+            return segment.getPoint(offset);
+        } else if (kind == TRACK_POINT) {
+            return this.points.get(in.readInt());
+        }
+        throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+    }
+
+    /**
+     * Writes the lists and counters of the TrackNetwork.
+     *
+     * @param out      the output.
+     * @param trackNet the TrackNetwork.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeNetwork(SnapshotOutput out, TrackNetwork trackNet) throws IOException {
+        out.writeBoolean(trackNet.isFirstTrack());
+        Collection<NormalTrack> tracks = trackNet.getTracks();
+        out.writeInt(tracks.size());
+        for (NormalTrack track : tracks) {
+            out.writeInt(this.trackIndex.get(track));
+        }
+        out.writeInt(trackNet.getConnectionPoints().size());
+        for (TrackPoint point : trackNet.getConnectionPoints()) {
+            this.writePoint(out, point);
+        }
+        out.writeInt(trackNet.getAllTrackPoints().size());
+        for (TrackPoint point : trackNet.getAllTrackPoints()) {
+            this.writePoint(out, point);
+            out.writeLong(trackNet.getRegistration(point));
+        }
+        List<TrackSegment> registered = trackNet.getRegisteredSegments();
+        out.writeInt(registered.size());
+        for (TrackSegment segment : registered) {
+            out.writeInt(this.segmentIndex.get(segment));
+        }
+        List<PointRemoval> removals = trackNet.getRemovals();
+        out.writeInt(removals.size());
+        for (PointRemoval removal : removals) {
+            out.writeBoolean(removal.isHorizontal());
+            out.writeInt(removal.getLine());
+            out.writeInt(removal.getLow());
+            out.writeInt(removal.getHigh());
+            out.writeLong(removal.getRegistration());
+        }
+        out.writeInt(trackNet.getInheritedPointCount());
+        out.writeLong(trackNet.getRegistrations());
+    }
+
+    /**
+     * Reads the lists and counters of the TrackNetwork.
+     *
+     * @param in       the input.
+     * @param trackNet the empty TrackNetwork of the restored ModelRailWay.
+     * @throws IOException if the channel can not be read.
+     */
+    private void readNetwork(SnapshotInput in, TrackNetwork trackNet) throws IOException {
+        trackNet.setFirstTrack(in.readBoolean());
+        int trackCount = in.readCount();
+        for (int i = 0; i < trackCount; i++) {
+            NormalTrack track = this.tracks.get(in.readInt());
+            trackNet.addNormalTrackToNetwork(track);
+            if (track instanceof TrackSwitch) {
+                trackNet.addSwitchToNetwork((TrackSwitch) track);
+            }
+        }
+        int connectionCount = in.readCount();
+        for (int i = 0; i < connectionCount; i++) {
+            trackNet.addConnectionPoint(this.readPoint(in));
+        }
+        int pointCount = in.readCount();
+        for (int i = 0; i < pointCount; i++) {
+            trackNet.restoreTrackPoint(this.readPoint(in), in.readLong());
+        }
+        int segmentCount = in.readCount();
+        for (int i = 0; i < segmentCount; i++) {
+            trackNet.restoreRegisteredSegment(this.segments.get(in.readInt()));
+        }
+        int removalCount = in.readCount();
+        for (int i = 0; i < removalCount; i++) {
+            trackNet.restoreRemoval(new PointRemoval(in.readBoolean(), in.readInt(), in.readInt(), in.readInt(),
+                    in.readLong()));
+        }
+        trackNet.restoreRegistrations(in.readInt(), in.readLong());
+    }
+
+    /**
+     * Writes the RollMaterial table and the lists of the RollMaterialStock.
+     *
+     * @param out   the output.
+     * @param stock the RollMaterialStock.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeRollMaterial(SnapshotOutput out, RollMaterialStock stock) throws IOException {
+        out.writeInt(this.rollMaterial.size());
+        for (RollMaterial material : this.rollMaterial) {
+            if (material instanceof Coach) {
+                out.writeInt(COACH);
+                out.writeInt(((Coach) material).getCoachId());
+                out.writeString(typeKeyword(material.getType()));
+            } else {
+                String buildSeries = material.getBuildSeries();
+                if (material instanceof Locomotive) {
+                    out.writeInt(LOCOMOTIVE);
+                    out.writeString(typeKeyword(material.getType()));
+                } else {
+                    out.writeInt(TRAIN_SET);
+                }
+                out.writeString(buildSeries);
+                out.writeString(material.getId().substring(buildSeries.length() + 1));
+            }
+            out.writeInt(material.getLength());
+            out.writeBoolean(material.getCouplingFront());
+            out.writeBoolean(material.getCouplingBack());
+        }
+        this.writeRollMaterialList(out, stock.getUnusedRollMaterial());
+        this.writeRollMaterialList(out, stock.getLocomotives());
+        this.writeRollMaterialList(out, stock.getCoaches());
+        this.writeRollMaterialList(out, stock.getTrainSets());
+    }
+
+    /**
+     * Writes a list of RollMaterial as indices of the RollMaterial table.
+     *
+     * @param out  the output.
+     * @param list the list.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeRollMaterialList(SnapshotOutput out, List<? extends RollMaterial> list) throws IOException {
+        out.writeInt(list.size());
+        for (RollMaterial material : list) {
+            out.writeInt(this.rollMaterialIndex.get(material));
+        }
+    }
+
+    /**
+     * Reads the RollMaterial table and fills the lists of the RollMaterialStock.
+     * The RollMaterial is created with its constructors, so it is checked like
+     * RollMaterial which is created with a command.
+     *
+     * @param in    the input.
+     * @param stock the empty RollMaterialStock of the restored ModelRailWay.
+     * @throws IOException    if the channel can not be read.
+     * @throws LogicException if the RollMaterial is not valid.
+     */
+    private void readRollMaterial(SnapshotInput in, RollMaterialStock stock) throws IOException, LogicException {
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            int kind = in.readInt();
+            if (kind == COACH) {
+                int coachId = in.readInt();
+                String type = in.readString();
+                this.rollMaterial.add(new Coach(coachId, type, in.readInt(), in.readBoolean(), in.readBoolean(),
+                        stock.getCoachIds()));
+            } else if (kind == LOCOMOTIVE) {
+                String type = in.readString();
+                String buildSeries = in.readString();
+                String name = in.readString();
+                this.rollMaterial.add(new Locomotive(type, buildSeries, String.valueOf(in.readInt()), name,
+                        String.valueOf(in.readBoolean()), String.valueOf(in.readBoolean())));
+            } else if (kind == TRAIN_SET) {
+                String buildSeries = in.readString();
+                String name = in.readString();
+                this.rollMaterial.add(new TrainSet(buildSeries, String.valueOf(in.readInt()), name,
+                        String.valueOf(in.readBoolean()), String.valueOf(in.readBoolean())));
+            } else {
+                throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+            }
+        }
+        this.readRollMaterialList(in, stock.getUnusedRollMaterial(), RollMaterial.class);
+        this.readRollMaterialList(in, stock.getLocomotives(), Locomotive.class);
+        this.readRollMaterialList(in, stock.getCoaches(), Coach.class);
+        this.readRollMaterialList(in, stock.getTrainSets(), TrainSet.class);
+    }
+
+    /**
+     * Reads a list of indices of the RollMaterial table.
+     *
+     * @param <T>  the type of the RollMaterial in the list.
+     * @param in   the input.
+     * @param list the list the RollMaterial is added to.
+     * @param type the class of the RollMaterial in the list.
+     * @throws IOException if the channel can not be read.
+     */
+    private <T extends RollMaterial> void readRollMaterialList(SnapshotInput in, List<T> list, Class<T> type)
+            throws IOException {
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            list.add(type.cast(this.rollMaterial.get(in.readInt())));
+        }
+    }
+
+    /**
+     * Returns the word which is used in the create commands for a type of
+     * RollMaterial, for example steam for a steam engine.
+     *
+     * @param type the type.
+     * @return the word.
+     */
+    private static String typeKeyword(RollMaterialType type) {
+        String name = type.getType();
+        return name.substring(0, name.indexOf(' '));
+    }
+
+    /**
+     * Writes the Train table, the Trains the RollMaterial belongs to and the lists
+     * of built and driving Trains.
+     *
+     * @param out     the output.
+     * @param railWay the ModelRailWay.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeTrains(SnapshotOutput out, ModelRailWay railWay) throws IOException {
+        out.writeInt(this.trains.size());
+        for (Train train : this.trains) {
+            out.writeInt(train.getId());
+            this.writeRollMaterialList(out, train.getTrainParts());
+            out.writeBoolean(train.isDirection());
+            if (train.getVector() == null) {
+                out.writeBoolean(false);
+            } else {
+                out.writeBoolean(true);
+                out.writeInt(train.getVector().getVectorX());
+                out.writeInt(train.getVector().getVectorY());
+            }
+            this.writePoint(out, train.getHeadPoint());
+            out.writeInt(train.getPointsOfTrain().size());
+            for (TrackPoint point : train.getPointsOfTrain()) {
+                this.writePoint(out, point);
+            }
+            out.writeInt(train.getCurrentTracks().size());
+            for (NormalTrack track : train.getCurrentTracks()) {
+                out.writeInt(this.trackIndex.get(track));
+            }
+        }
+        for (RollMaterial material : this.rollMaterial) {
+            out.writeInt(material.getTrain() == null ? NONE : this.trainIndex.get(material.getTrain()));
+        }
+        this.writeTrainList(out, railWay.getRollMaterialComposition().getTrains());
+        this.writeTrainList(out, railWay.getTrainsDriving());
+    }
+
+    /**
+     * Writes a list of Trains as indices of the Train table.
+     *
+     * @param out  the output.
+     * @param list the list.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeTrainList(SnapshotOutput out, List<Train> list) throws IOException {
+        out.writeInt(list.size());
+        for (Train train : list) {
+            out.writeInt(this.trainIndex.get(train));
+        }
+    }
+
+    /**
+     * Reads the Train table, the Trains the RollMaterial belongs to and the lists
+     * of built and driving Trains.
+     *
+     * @param in      the input.
+     * @param railWay the restored ModelRailWay.
+     * @throws IOException if the channel can not be read.
+     */
+    private void readTrains(SnapshotInput in, ModelRailWay railWay) throws IOException {
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            int trainId = in.readInt();
+            List<RollMaterial> trainParts = new ArrayList<RollMaterial>();
+            this.readRollMaterialList(in, trainParts, RollMaterial.class);
+            Train train = new Train(trainId, trainParts);
+            train.setDirection(in.readBoolean());
+            if (in.readBoolean()) {
+                train.setVector(new TrackVector(in.readInt(), in.readInt()));
+            }
+            train.setHeadPoint(this.readPoint(in));
+            int pointCount = in.readCount();
+            if (pointCount > 0) {
+                List<TrackPoint> pointsOfTrain = new ArrayList<TrackPoint>();
+                for (int j = 0; j < pointCount; j++) {
+                    pointsOfTrain.add(this.readPoint(in));
+                }
+                train.addPoints(pointsOfTrain);
+            }
+            int trackCount = in.readCount();
+            for (int j = 0; j < trackCount; j++) {
+                train.addTrack(this.tracks.get(in.readInt()));
+            }
+            this.trains.add(train);
+        }
+        for (RollMaterial material : this.rollMaterial) {
+            int train = in.readInt();
+            material.setTrain(train == NONE ? null : this.trains.get(train));
+        }
+        this.readTrainList(in, railWay.getRollMaterialComposition().getTrains());
+        this.readTrainList(in, railWay.getTrainsDriving());
+    }
+
+    /**
+     * Reads a list of indices of the Train table.
+     *
+     * @param in   the input.
+     * @param list the list the Trains are added to.
+     * @throws IOException if the channel can not be read.
+     */
+    private void readTrainList(SnapshotInput in, List<Train> list) throws IOException {
+        int count = in.readCount();
+        for (int i = 0; i < count; i++) {
+            list.add(this.trains.get(in.readInt()));
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package logic;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -15,14 +15,6 @@ import java.util.List;
  */
 class NormalTrack {
 
-    /**
-     * A static counter for the distribution of Ids
-     */
-    private static int counter = 0;
-    /**
-     * List holding Ids for tracks and switches.
-     */
-    private static List<Integer> trackIds = new ArrayList<Integer>();
     /**
      * The id of a track
      */
@@ -48,9 +40,9 @@ class NormalTrack {
      */
     protected boolean isActive;
     /**
-     * The list of inherited Points of the track.
+     * The list of segments which contain the inherited Points of the track.
      */
-    protected List<TrackPoint> inheritedPoints;
+    protected List<TrackSegment> inheritedSegments;
     /**
      * length of a Track
      */
@@ -72,10 +64,11 @@ class NormalTrack {
     /**
      * Constructor for a normal Track
      * 
-     * @param start startPoint of the Track
-     * @param end   endPoint of the Track
+     * @param start    startPoint of the Track
+     * @param end      endPoint of the Track
+     * @param trackIds the allocator for the ids of Tracks and switches.
      */
-    NormalTrack(TrackPoint start, TrackPoint end) {
+    NormalTrack(TrackPoint start, TrackPoint end, IdAllocator trackIds) {
 
         this.isActive = true;
         this.start = start;
@@ -83,8 +76,8 @@ class NormalTrack {
         this.start.setActive(true);
         this.end.setActive(true);
         this.length = this.calcLength();
-        this.trackID = this.returnNextFreeId();
-        this.inheritedPoints = new LinkedList<TrackPoint>();
+        this.trackID = trackIds.next();
+        this.inheritedSegments = new ArrayList<TrackSegment>();
         this.generateInheritedPoints(start, end);
         this.vectorX = this.generateVectorX(start, end);
         this.vectorY = this.generateVectorY(start, end);
@@ -93,6 +86,28 @@ class NormalTrack {
 
     }
 
+    /**
+     * Constructor for a Track which is restored from a snapshot. The Track keeps
+     * the given id instead of taking one from the id pool and gets no inherited
+     * Points, the segments of the snapshot are added afterwards.
+     * 
+     * @param trackID the id of the Track.
+     * @param start   startPoint of the Track
+     * @param end     endPoint of the Track
+     */
+    NormalTrack(int trackID, TrackPoint start, TrackPoint end) {
+        this.isActive = true;
+        this.start = start;
+        this.end = end;
+        this.length = this.calcLength();
+        this.trackID = trackID;
+        this.inheritedSegments = new ArrayList<TrackSegment>();
+        this.vectorX = this.generateVectorX(start, end);
+        this.vectorY = this.generateVectorY(start, end);
+        this.trackVector = new TrackVector(this.vectorX, this.vectorY);
+        this.connectedTracks = new ArrayList<NormalTrack>();
+    }
+
     /**
      * Getter for the x-vector of a Track.
      * 
@@ -145,58 +160,33 @@ class NormalTrack {
     }
 
     /**
-     * Help method for the Generation of Inherited Points of a Track. Sets the point
-     * in a active state. Links the point to the previous and next point.
+     * Help method for the Generation of Inherited Points of a Track. Links the
+     * first point of the new segment to the last point of the track.
      * 
-     * @param newPoint the point to be linked.
+     * @param segment the segment to be linked.
      */
-    private void generateInheritedPointsUtility(TrackPoint newPoint) {
-        if (this.inheritedPoints.size() >= 1) {
-            newPoint.setPrevious(inheritedPoints.get(inheritedPoints.size() - 1));
-            inheritedPoints.get(inheritedPoints.size() - 1).setNext(newPoint);
+    private void generateInheritedPointsUtility(TrackSegment segment) {
+        if (!this.inheritedSegments.isEmpty()) {
+            TrackSegment lastSegment = this.inheritedSegments.get(this.inheritedSegments.size() - 1);
+            segment.setBefore(lastSegment.getLast());
+            lastSegment.setAfter(segment.getFirst());
         }
-        newPoint.setCurrentTrack(this);
-        newPoint.setActive(true);
-
-        this.inheritedPoints.add(newPoint);
-
+        this.inheritedSegments.add(segment);
     }
 
     /**
-     * Generates a List of TrackPoints the Track covers.
+     * Generates the TrackPoints the Track covers between the given points. The
+     * points are not created, the track only keeps a segment which calculates them
+     * when they are needed.
      * 
      * @param start startPoint of the Track
      * @param end   endPoint of the Track
      */
     void generateInheritedPoints(TrackPoint start, TrackPoint end) {
-        TrackPoint newPoint;
         if (this.length != 1) {
-            if (start.getCoordX() < end.getCoordX()) {
-
-                for (int i = start.getCoordX() + 1; i < end.getCoordX(); i++) {
-                    newPoint = new TrackPoint(i, start.getCoordY());
-                    this.generateInheritedPointsUtility(newPoint);
-
-                }
-
-            } else if (start.getCoordX() > end.getCoordX()) {
-                for (int i = start.getCoordX() - 1; i > end.getCoordX(); i--) {
-                    newPoint = new TrackPoint(i, start.getCoordY());
-                    this.generateInheritedPointsUtility(newPoint);
-                }
-
-            } else if (start.getCoordY() < end.getCoordY()) {
-                for (int i = start.getCoordY() + 1; i < end.getCoordY(); i++) {
-                    newPoint = new TrackPoint(start.getCoordX(), i);
-                    this.generateInheritedPointsUtility(newPoint);
-                }
-
-            } else if (start.getCoordY() > end.getCoordY()) {
-                for (int i = start.getCoordY() - 1; i > end.getCoordY(); i--) {
-                    newPoint = new TrackPoint(start.getCoordX(), i);
-                    this.generateInheritedPointsUtility(newPoint);
-
-                }
+            TrackSegment segment = new TrackSegment(this, start, end);
+            if (segment.getSize() > 0) {
+                this.generateInheritedPointsUtility(segment);
             }
         }
     }
@@ -233,25 +223,6 @@ class NormalTrack {
         return end;
     }
 
-    /**
-     * Returns the next free id.
-     * 
-     * @return the next free id.
-     */
-    private int returnNextFreeId() {
-        if (trackIds.isEmpty()) {
-            counter++;
-            trackIds.add(counter);
-            Collections.sort(trackIds);
-
-            return trackIds.remove(0);
-        } else {
-            Collections.sort(trackIds);
-            Collections.reverse(trackIds);
-            return trackIds.remove(trackIds.size() - 1);
-        }
-    }
-
     @Override
     public String toString() {
         return "t " + this.trackID + " " + this.start.toString() + " -> " + this.end.toString() + " " + this.length;
@@ -273,8 +244,9 @@ class NormalTrack {
      * @return the Point that equals to the point to check or null.
      */
     TrackPoint gotPoint(TrackPoint point) {
-        for (TrackPoint tp : this.inheritedPoints) {
-            if (tp.equals(point)) {
+        for (TrackSegment segment : this.inheritedSegments) {
+            TrackPoint tp = segment.gotPoint(point);
+            if (tp != null) {
                 return tp;
             }
         }
@@ -298,7 +270,7 @@ class NormalTrack {
      * Clears the list of inheritedPoints.
      */
     void deleteInheritedPoints() {
-        this.inheritedPoints.clear();
+        this.inheritedSegments.clear();
 
     }
 
@@ -309,8 +281,8 @@ class NormalTrack {
      * @return the first point.
      */
     public TrackPoint getFirstInherited() {
-        if (this.inheritedPoints.size() >= 1) {
-            return this.inheritedPoints.get(0);
+        if (!this.inheritedSegments.isEmpty()) {
+            return this.inheritedSegments.get(0).getFirst();
         }
         return null;
     }
@@ -321,34 +293,51 @@ class NormalTrack {
      * @return the last point.
      */
     public TrackPoint getLastInherited() {
-        if (this.inheritedPoints.size() == 1) {
-            return this.getFirstInherited();
-        } else if (this.inheritedPoints.size() > 1) {
-            return this.inheritedPoints.get(this.inheritedPoints.size() - 1);
+        if (!this.inheritedSegments.isEmpty()) {
+            return this.inheritedSegments.get(this.inheritedSegments.size() - 1).getLast();
         }
         return null;
     }
 
     /**
-     * Getter for the list of inherited Points. Returns a cloned version.
+     * Getter for the list of inherited Points. The points are created out of the
+     * segments of the track when they are accessed.
      * 
-     * @return a cloned list of inherited Points.
-     */
-    public ArrayList<TrackPoint> getInheritedPoints() {
-        return this.cloneInheritedPoints();
+     * @return a read-only view of the inherited Points.
+     */
+    public List<TrackPoint> getInheritedPoints() {
+        return new AbstractList<TrackPoint>() {
+
+            @Override
+            public TrackPoint get(int index) {
+                int offset = index;
+                for (TrackSegment segment : inheritedSegments) {
+                    if (offset >= 0 && offset < segment.getSize()) {
+                        return segment.getPoint(offset + 1);
+                    }
+                    offset = offset - segment.getSize();
+                }
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (TrackSegment segment : inheritedSegments) {
+                    size = size + segment.getSize();
+                }
+                return size;
+            }
+        };
     }
 
     /**
-     * Clones the list of inherited Points.
+     * Getter for the segments which contain the inherited Points of the track.
      * 
-     * @return the cloned List.
+     * @return an unmodifiable view of the segments.
      */
-    private ArrayList<TrackPoint> cloneInheritedPoints() {
-        ArrayList<TrackPoint> cloned = new ArrayList<TrackPoint>();
-        for (TrackPoint tp : this.inheritedPoints) {
-            cloned.add(tp);
-        }
-        return cloned;
+    List<TrackSegment> getInheritedSegments() {
+        return Collections.unmodifiableList(this.inheritedSegments);
     }
 
     /**
@@ -362,10 +351,10 @@ class NormalTrack {
         } else {
             this.deleteInheritedPoints();
             this.generateInheritedPoints(this.getEnd(), this.getStart());
-            this.getStart().setPrevious(this.inheritedPoints.get(this.inheritedPoints.size() - 1));
-            this.getEnd().setNext(this.inheritedPoints.get(0));
-            this.inheritedPoints.get(0).setPrevious(this.getEnd());
-            this.inheritedPoints.get(this.inheritedPoints.size() - 1).setNext(this.getStart());
+            this.getStart().setPrevious(this.getLastInherited());
+            this.getEnd().setNext(this.getFirstInherited());
+            this.getFirstInherited().setPrevious(this.getEnd());
+            this.getLastInherited().setNext(this.getStart());
         }
     }
 
@@ -380,11 +369,11 @@ class NormalTrack {
         } else {
             this.deleteInheritedPoints();
             this.generateInheritedPoints(this.getStart(), this.getEnd());
-            this.getEnd().setPrevious(this.inheritedPoints.get(this.inheritedPoints.size() - 1));
+            this.getEnd().setPrevious(this.getLastInherited());
 
-            this.getStart().setNext(this.inheritedPoints.get(0));
-            this.inheritedPoints.get(0).setPrevious(this.getStart());
-            this.inheritedPoints.get(this.inheritedPoints.size() - 1).setNext(this.getEnd());
+            this.getStart().setNext(this.getFirstInherited());
+            this.getFirstInherited().setPrevious(this.getStart());
+            this.getLastInherited().setNext(this.getEnd());
         }
     }
 
@@ -397,10 +386,12 @@ class NormalTrack {
     }
 
     /**
-     * Removes a id to the list of possible ids for a Track.
+     * Adds a segment of a snapshot to the inherited segments without linking it.
+     * 
+     * @param segment the segment.
      */
-    void resetId() {
-        trackIds.add(this.trackID);
+    void restoreInheritedSegment(TrackSegment segment) {
+        this.inheritedSegments.add(segment);
     }
 
     @Override
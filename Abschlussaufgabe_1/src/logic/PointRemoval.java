@@ -0,0 +1,131 @@
+package logic;
+
+/**
+ * Represents the removal of the inherited Points of a segment from a
+ * TrackNetwork. The Points are removed by their coordinates, so every start,
+ * end or inherited Point of another Track with the same coordinates is removed
+ * as well, if it was registered before the removal. Points which are registered
+ * later are not affected.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+final class PointRemoval {
+    /**
+     * True if the removed Points lie on a horizontal line.
+     */
+    private final boolean horizontal;
+    /**
+     * The y-coordinate of a horizontal line, the x-coordinate of a vertical line.
+     */
+    private final int line;
+    /**
+     * The lowest coordinate along the line of the removed Points.
+     */
+    private final int low;
+    /**
+     * The highest coordinate along the line of the removed Points.
+     */
+    private final int high;
+    /**
+     * The registration the removal happened at.
+     */
+    private final long registration;
+
+    /**
+     * Constructor.
+     *
+     * @param horizontal   true if the Points lie on a horizontal line.
+     * @param line         the y-coordinate of a horizontal line, the x-coordinate
+     *                     of a vertical line.
+     * @param low          the lowest coordinate along the line.
+     * @param high         the highest coordinate along the line.
+     * @param registration the registration the removal happened at.
+     */
+    PointRemoval(boolean horizontal, int line, int low, int high, long registration) {
+        this.horizontal = horizontal;
+        this.line = line;
+        this.low = low;
+        this.high = high;
+        this.registration = registration;
+    }
+
+    /**
+     * Constructor for the removal of the inherited Points of a segment.
+     *
+     * @param segment      the segment.
+     * @param registration the registration the removal happens at.
+     */
+    PointRemoval(TrackSegment segment, long registration) {
+        this(segment.isHorizontal(), segment.isHorizontal() ? segment.getLowY() : segment.getLowX(),
+                segment.isHorizontal() ? segment.getLowX() : segment.getLowY(),
+                segment.isHorizontal() ? segment.getHighX() : segment.getHighY(), registration);
+    }
+
+    /**
+     * Checks if a Point with the given coordinate along the line was removed.
+     *
+     * @param coordinate the coordinate along the line.
+     * @return true if the removal covers the coordinate.
+     */
+    boolean covers(int coordinate) {
+        return this.low <= coordinate && coordinate <= this.high;
+    }
+
+    /**
+     * Checks if this removal covers all Points of another one on the same line.
+     *
+     * @param other the other removal.
+     * @return true if the other removal lies within this one.
+     */
+    boolean covers(PointRemoval other) {
+        return this.low <= other.low && other.high <= this.high;
+    }
+
+    /**
+     * Getter for the direction of the line.
+     *
+     * @return true if the Points lie on a horizontal line.
+     */
+    boolean isHorizontal() {
+        return this.horizontal;
+    }
+
+    /**
+     * Getter for the line.
+     *
+     * @return the y-coordinate of a horizontal line, the x-coordinate of a
+     *         vertical line.
+     */
+    int getLine() {
+        return this.line;
+    }
+
+    /**
+     * Getter for the lowest coordinate along the line.
+     *
+     * @return the lowest coordinate.
+     */
+    int getLow() {
+        return this.low;
+    }
+
+    /**
+     * Getter for the highest coordinate along the line.
+     *
+     * @return the highest coordinate.
+     */
+    int getHigh() {
+        return this.high;
+    }
+
+    /**
+     * Getter for the registration the removal happened at.
+     *
+     * @return the registration.
+     */
+    long getRegistration() {
+        return this.registration;
+    }
+}
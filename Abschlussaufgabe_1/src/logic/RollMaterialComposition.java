@@ -19,6 +19,10 @@ public class RollMaterialComposition {
     private List<Train> trains;
 
     private RollMaterialStock rollMaterialStock;
+    /**
+     * The allocator which hands out the ids of the trains.
+     */
+    private final IdAllocator trainIds;
 
     /**
      * Constructor.
@@ -26,6 +30,7 @@ public class RollMaterialComposition {
     public RollMaterialComposition() {
         trains = new ArrayList<Train>();
         rollMaterialStock = new RollMaterialStock();
+        trainIds = new IdAllocator();
     }
 
     /**
@@ -47,7 +52,7 @@ public class RollMaterialComposition {
         
         if (this.trainWithIdExists(trainId) == null) {
             rollMaterialStock.checkIfRollMaterialisInTrain(stock);
-            Train newTrain = new Train(trainId);            
+            Train newTrain = new Train(trainId, this.trainIds);            
             trains.add(newTrain);
             newTrain.addPart(stock);
             newTrain.generateLength();
@@ -80,7 +85,7 @@ public class RollMaterialComposition {
     }
 
     private void checkIfTrainIsSet(Train train) throws LogicException {
-        if (train.getPointsOfTrain().size() != 0) {
+        if (train.hasPoints()) {
             throw new LogicException(ErrorMessages.TRAIN_ALREADY_STANDING.getMessage());
         }
 
@@ -141,14 +146,15 @@ public class RollMaterialComposition {
      */
     public String returnTrains() {
         Collections.sort(trains);
-        String toReturn = "";
+        StringBuilder output = new StringBuilder();
         if (trains.isEmpty()) {
-            toReturn += "No train exists";
+            output.append("No train exists");
         }
         for (Train train : this.trains) {
-            toReturn += train.toString() + "\n";
+            train.appendTo(output);
+            output.append('\n');
         }
-        return toReturn.trim();
+        return output.toString().trim();
     }
 
     /**
@@ -162,7 +168,7 @@ public class RollMaterialComposition {
     String deleteTrain(String trainId) throws LogicException {
         Train trainToDelete = this.findTrain(trainId);
         trainToDelete.setElementsWithoutTrain();
-        trainToDelete.removeId();
+        this.trainIds.release(trainToDelete.getId());
         trains.remove(trainToDelete);
         return "OK";
 
@@ -195,4 +201,21 @@ public class RollMaterialComposition {
         return this.rollMaterialStock;
     }
 
+    /**
+     * Getter for all build trains.
+     * 
+     * @return the trains.
+     */
+    List<Train> getTrains() {
+        return this.trains;
+    }
+
+    /**
+     * Getter for the allocator of the train ids.
+     * 
+     * @return the allocator.
+     */
+    IdAllocator getTrainIds() {
+        return this.trainIds;
+    }
 }
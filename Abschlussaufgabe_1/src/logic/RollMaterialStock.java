@@ -32,6 +32,10 @@ public class RollMaterialStock {
      * matter if the RollMaterial is used in a Train or not.
      */
     private List<TrainSet> trainSetCollection;
+    /**
+     * The allocator which hands out the ids of the Coaches.
+     */
+    private final IdAllocator coachIds;
 
     /**
      * Constrcutor for a Stock. Initiates all different Lists.
@@ -41,6 +45,7 @@ public class RollMaterialStock {
         locCollection = new ArrayList<Locomotive>();
         coachCollection = new ArrayList<Coach>();
         trainSetCollection = new ArrayList<TrainSet>();
+        coachIds = new IdAllocator();
     }
 
     /**
@@ -127,7 +132,7 @@ public class RollMaterialStock {
     public String addCoachToCollection(String coachType, String length, String couplingFront, String couplingBack)
             throws LogicException {
 
-        RollMaterial newCoach = new Coach(coachType, length, couplingFront, couplingBack);
+        RollMaterial newCoach = new Coach(coachType, length, couplingFront, couplingBack, this.coachIds);
         rollMaterialCollection.add(newCoach);
         coachCollection.add((Coach) newCoach);
         return newCoach.getId();
@@ -190,16 +195,15 @@ public class RollMaterialStock {
      * @return a String containing all Engines.
      */
     public String returnEngines() {
-        String toReturn = "";
         Collections.sort(locCollection);
         if (locCollection.isEmpty()) {
-            toReturn = "No engine exists";
-            return toReturn;
+            return "No engine exists";
         }
+        StringBuilder output = new StringBuilder();
         for (RollMaterial engine : locCollection) {
-            toReturn += engine.toString() + "\n";
+            output.append(engine).append('\n');
         }
-        return toReturn.trim();
+        return output.toString().trim();
     }
 
     /**
@@ -209,15 +213,14 @@ public class RollMaterialStock {
      */
     public String returnCoaches() {
         Collections.sort(coachCollection);
-        String toReturn = "";
         if (coachCollection.isEmpty()) {
-            toReturn = "No coach exists";
-            return toReturn;
+            return "No coach exists";
         }
+        StringBuilder output = new StringBuilder();
         for (RollMaterial coach : coachCollection) {
-            toReturn += coach.toString() + "\n";
+            output.append(coach).append('\n');
         }
-        return toReturn.trim();
+        return output.toString().trim();
     }
 
     /**
@@ -226,16 +229,15 @@ public class RollMaterialStock {
      * @return a String containing all TrainSets.
      */
     public String returnTrainSets() {
-        String toReturn = "";
         Collections.sort(trainSetCollection);
         if (trainSetCollection.isEmpty()) {
-            toReturn = "No train-set exists";
-            return toReturn;
+            return "No train-set exists";
         }
+        StringBuilder output = new StringBuilder();
         for (RollMaterial trainSet : trainSetCollection) {
-            toReturn += trainSet.toString() + "\n";
+            output.append(trainSet).append('\n');
         }
-        return toReturn.trim();
+        return output.toString().trim();
     }
 
     /**
@@ -270,4 +272,49 @@ public class RollMaterialStock {
 
     }
 
+    /**
+     * Getter for the RollMaterial which is not used in a Train.
+     * 
+     * @return the rollMaterialCollection.
+     */
+    List<RollMaterial> getUnusedRollMaterial() {
+        return this.rollMaterialCollection;
+    }
+
+    /**
+     * Getter for all Locomotives of the Stock.
+     * 
+     * @return the locCollection.
+     */
+    List<Locomotive> getLocomotives() {
+        return this.locCollection;
+    }
+
+    /**
+     * Getter for all Coaches of the Stock.
+     * 
+     * @return the coachCollection.
+     */
+    List<Coach> getCoaches() {
+        return this.coachCollection;
+    }
+
+    /**
+     * Getter for all TrainSets of the Stock.
+     * 
+     * @return the trainSetCollection.
+     */
+    List<TrainSet> getTrainSets() {
+        return this.trainSetCollection;
+    }
+
+    /**
+     * Getter for the allocator of the Coach ids.
+     * 
+     * @return the allocator.
+     */
+    IdAllocator getCoachIds() {
+        return this.coachIds;
+    }
+
 }
@@ -0,0 +1,355 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plans the shortest route of a Train to a point of the TrackNetwork, and the
+ * switches which have to be set on the way.
+ *
+ * <p>
+ * The route is searched with Dijkstra on the TrackGraph. A Train can not turn
+ * around, so the search does not visit the nodes of the graph but the edges a
+ * Train arrives on: from an edge it can go on with every edge at the same node
+ * which belongs to another Track. The state of the search is kept in arrays
+ * which are reused by every search. The routes are cached for every edge and
+ * target, until a Track is added or deleted and the TrackNetwork builds a new
+ * graph.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class RoutePlanner {
+    /**
+     * The TrackNetwork the routes are planned in.
+     */
+    private final TrackNetwork trackNet;
+    /**
+     * The routes found so far, indexed by the key of the target and the edge the
+     * route starts at. The route is null if the target can not be reached.
+     */
+    private final Map<Long, Map<Integer, Route>> routes;
+    /**
+     * The graph the cached routes were found in.
+     */
+    private TrackGraph graph;
+    /**
+     * The length of the shortest way found so far to the end of every edge.
+     */
+    private long[] distance;
+    /**
+     * The edge before every edge on the shortest way found so far.
+     */
+    private int[] previous;
+    /**
+     * The search in which the distance of an edge was set.
+     */
+    private int[] reached;
+    /**
+     * The position of every edge in the heap, or -1 if it is not in the heap.
+     */
+    private int[] position;
+    /**
+     * The edges which are not finished, ordered by their distance.
+     */
+    private int[] heap;
+    /**
+     * The number of edges in the heap.
+     */
+    private int heapSize;
+    /**
+     * The number of searches so far.
+     */
+    private int search;
+
+    /**
+     * Constructor for the RoutePlanner of a TrackNetwork.
+     *
+     * @param trackNet the TrackNetwork.
+     */
+    RoutePlanner(TrackNetwork trackNet) {
+        this.trackNet = trackNet;
+        this.routes = new HashMap<Long, Map<Integer, Route>>();
+        this.distance = new long[0];
+        this.previous = new int[0];
+        this.reached = new int[0];
+        this.position = new int[0];
+        this.heap = new int[0];
+    }
+
+    /**
+     * Plans the route of a Train to a point.
+     *
+     * @param train  the Train, which has to be on the TrackNetwork.
+     * @param target the point the head of the Train should reach.
+     * @return the length of the route, followed by the switch settings in the
+     *         order the switches are passed.
+     * @throws LogicException if the point is not on a Track or can not be
+     *                        reached.
+     */
+    String plan(Train train, TrackPoint target) throws LogicException {
+        this.update();
+        TrackPoint head = train.getHeadPoint();
+        if (head.equals(target)) {
+            return "0";
+        }
+        TrackPoint ahead = train.isDirection() ? head.getPrevious() : head.getNext();
+        TrackPoint behind = train.isDirection() ? head.getNext() : head.getPrevious();
+        int headNode = this.graph.findNode(head.getCoordX(), head.getCoordY());
+        int startEdge = -1;
+        long offset = 0;
+        if (headNode >= 0 && behind != null) {
+            startEdge = this.graph.findEdge(behind.getCoordX(), behind.getCoordY(),
+                    head.getCoordX() - behind.getCoordX(), head.getCoordY() - behind.getCoordY());
+        } else if (ahead != null) {
+            startEdge = this.graph.findEdge(head.getCoordX(), head.getCoordY(),
+                    ahead.getCoordX() - head.getCoordX(), ahead.getCoordY() - head.getCoordY());
+            if (startEdge >= 0) {
+                long headOffset = this.graph.getOffset(startEdge, head.getCoordX(), head.getCoordY());
+                long targetOffset = this.graph.getOffset(startEdge, target.getCoordX(), target.getCoordY());
+                if (targetOffset > headOffset && targetOffset < this.graph.getLength(startEdge)) {
+                    return String.valueOf(targetOffset - headOffset);
+                }
+                offset = this.graph.getLength(startEdge) - headOffset;
+            }
+        }
+        if (!this.graph.isOnTrack(target.getCoordX(), target.getCoordY())) {
+            throw new LogicException(ErrorMessages.POINT_NOT_EXISTING.getMessage());
+        }
+        if (startEdge < 0) {
+            throw new LogicException(ErrorMessages.NO_ROUTE.getMessage());
+        }
+        Map<Integer, Route> routesToTarget = this.routes.computeIfAbsent(target.getKey(),
+                key -> new HashMap<Integer, Route>());
+        if (!routesToTarget.containsKey(startEdge)) {
+            routesToTarget.put(startEdge, this.search(startEdge, target.getCoordX(), target.getCoordY()));
+        }
+        Route route = routesToTarget.get(startEdge);
+        if (route == null) {
+            throw new LogicException(ErrorMessages.NO_ROUTE.getMessage());
+        }
+        return (offset + route.length) + route.switchSettings;
+    }
+
+    /**
+     * Forgets the cached routes and resizes the arrays of the search if the
+     * TrackNetwork has a new graph.
+     */
+    private void update() {
+        TrackGraph current = this.trackNet.getGraph();
+        if (current == this.graph) {
+            return;
+        }
+        this.graph = current;
+        this.routes.clear();
+        int edges = current.getEdgeCount();
+        if (this.distance.length < edges) {
+            this.distance = new long[edges];
+            this.previous = new int[edges];
+            this.reached = new int[edges];
+            this.position = new int[edges];
+            this.heap = new int[edges];
+            this.search = 0;
+        }
+    }
+
+    /**
+     * Searches the shortest route from the end of an edge to a point.
+     *
+     * @param startEdge the edge the Train is on.
+     * @param targetX   the x-coordinate of the point.
+     * @param targetY   the y-coordinate of the point.
+     * @return the route, or null if the point can not be reached.
+     */
+    private Route search(int startEdge, int targetX, int targetY) {
+        int targetNode = this.graph.findNode(targetX, targetY);
+        this.search++;
+        if (this.search == Integer.MAX_VALUE) {
+            Arrays.fill(this.reached, 0);
+            this.search = 1;
+        }
+        this.heapSize = 0;
+        this.reach(startEdge, 0, -1);
+        long bestLength = Long.MAX_VALUE;
+        int bestEdge = -1;
+        int bestPrevious = -1;
+        while (this.heapSize > 0) {
+            int edge = this.poll();
+            long length = this.distance[edge];
+            if (length >= bestLength) {
+                break;
+            }
+            int node = this.graph.getTarget(edge);
+            if (node == targetNode) {
+                bestLength = length;
+                bestEdge = edge;
+                bestPrevious = this.previous[edge];
+                break;
+            }
+            for (int next = this.graph.firstEdge(node); next < this.graph.lastEdge(node); next++) {
+                if (this.graph.getTrackId(next) == this.graph.getTrackId(edge)) {
+                    continue;
+                }
+                long targetOffset = this.graph.getOffset(next, targetX, targetY);
+                if (targetNode < 0 && targetOffset > 0 && targetOffset < this.graph.getLength(next)
+                        && length + targetOffset < bestLength) {
+                    bestLength = length + targetOffset;
+                    bestEdge = next;
+                    bestPrevious = edge;
+                }
+                long nextLength = length + this.graph.getLength(next);
+                if (this.reached[next] != this.search || nextLength < this.distance[next]) {
+                    this.reach(next, nextLength, edge);
+                }
+            }
+        }
+        if (bestEdge < 0) {
+            return null;
+        }
+        return new Route(bestLength, this.switchSettings(bestEdge, bestPrevious));
+    }
+
+    /**
+     * Lists the switch settings of a route. The edge the route starts at is not
+     * part of it, the Train is already on it.
+     *
+     * @param lastEdge     the edge the route ends on.
+     * @param previousEdge the edge before the last edge, or -1 if the route ends
+     *                     on the edge it starts at.
+     * @return the settings in the order the switches are passed, every setting
+     *         on its own line.
+     */
+    private String switchSettings(int lastEdge, int previousEdge) {
+        int count = 0;
+        int[] path = new int[0];
+        int edge = lastEdge;
+        int before = previousEdge;
+        while (before != -1) {
+            if (this.graph.getSwitchEnd(edge) >= 0) {
+                if (count == path.length) {
+                    path = Arrays.copyOf(path, Math.max(4, 2 * count));
+                }
+                path[count] = edge;
+                count++;
+            }
+            edge = before;
+            before = this.previous[edge];
+        }
+        StringBuilder settings = new StringBuilder();
+        for (int i = count - 1; i >= 0; i--) {
+            int switchEnd = this.graph.getSwitchEnd(path[i]);
+            settings.append("\nset switch ").append(this.graph.getTrackId(path[i])).append(" position (")
+                    .append(this.graph.getX(switchEnd)).append(",").append(this.graph.getY(switchEnd)).append(")");
+        }
+        return settings.toString();
+    }
+
+    /**
+     * Sets the distance of an edge and puts it into the heap, or moves it up if
+     * it is already in the heap.
+     *
+     * @param edge         the edge.
+     * @param length       the length of the way to the end of the edge.
+     * @param previousEdge the edge before it on the way.
+     */
+    private void reach(int edge, long length, int previousEdge) {
+        if (this.reached[edge] != this.search) {
+            this.reached[edge] = this.search;
+            this.position[edge] = this.heapSize;
+            this.heap[this.heapSize] = edge;
+            this.heapSize++;
+        }
+        this.distance[edge] = length;
+        this.previous[edge] = previousEdge;
+        this.siftUp(this.position[edge]);
+    }
+
+    /**
+     * Removes the edge with the shortest distance from the heap.
+     *
+     * @return the edge.
+     */
+    private int poll() {
+        int first = this.heap[0];
+        this.heapSize--;
+        this.position[first] = -1;
+        if (this.heapSize > 0) {
+            this.heap[0] = this.heap[this.heapSize];
+            this.position[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+        return first;
+    }
+
+    /**
+     * Moves an entry of the heap up until its parent is not longer.
+     *
+     * @param index the index of the entry.
+     */
+    private void siftUp(int index) {
+        int edge = this.heap[index];
+        int current = index;
+        while (current > 0) {
+            int parent = (current - 1) / 2;
+            if (this.distance[this.heap[parent]] <= this.distance[edge]) {
+                break;
+            }
+            this.heap[current] = this.heap[parent];
+            this.position[this.heap[current]] = current;
+            current = parent;
+        }
+        this.heap[current] = edge;
+        this.position[edge] = current;
+    }
+
+    /**
+     * Moves an entry of the heap down until its children are not shorter.
+     *
+     * @param index the index of the entry.
+     */
+    private void siftDown(int index) {
+        int edge = this.heap[index];
+        int current = index;
+        while (2 * current + 1 < this.heapSize) {
+            int child = 2 * current + 1;
+            if (child + 1 < this.heapSize && this.distance[this.heap[child + 1]] < this.distance[this.heap[child]]) {
+                child++;
+            }
+            if (this.distance[edge] <= this.distance[this.heap[child]]) {
+                break;
+            }
+            this.heap[current] = this.heap[child];
+            this.position[this.heap[current]] = current;
+            current = child;
+        }
+        this.heap[current] = edge;
+        this.position[edge] = current;
+    }
+
+    /**
+     * A route which was found by a search.
+     */
+    private static final class Route {
+        /**
+         * The length of the route from the end of the edge it starts at.
+         */
+        private final long length;
+        /**
+         * The switch settings, every setting on its own line.
+         */
+        private final String switchSettings;
+
+        /**
+         * Constructor for a Route.
+         *
+         * @param length         the length of the route.
+         * @param switchSettings the switch settings.
+         */
+        private Route(long length, String switchSettings) {
+            this.length = length;
+            this.switchSettings = switchSettings;
+        }
+    }
+}
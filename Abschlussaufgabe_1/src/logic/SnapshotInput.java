@@ -0,0 +1,154 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the values of a snapshot from a channel. It is the counterpart of the
+ * SnapshotOutput, the values have to be read in the same order they were
+ * written.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class SnapshotInput {
+    /**
+     * The size of the buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The maximal number of bytes of a variable length number.
+     */
+    private static final int MAX_NUMBER_BYTES = 10;
+    /**
+     * The channel the snapshot is read from.
+     */
+    private final ReadableByteChannel channel;
+    /**
+     * The buffer which holds the bytes that were read but not used yet.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor for a SnapshotInput.
+     *
+     * @param channel the channel the snapshot is read from.
+     */
+    SnapshotInput(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    /**
+     * Reads an int.
+     *
+     * @return the int.
+     * @throws IOException if the channel can not be read or the number is too big
+     *                     for an int.
+     */
+    int readInt() throws IOException {
+        long value = this.readLong();
+        if (value != (int) value) {
+            throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @return the long.
+     * @throws IOException if the channel can not be read or the number is too
+     *                     long.
+     */
+    long readLong() throws IOException {
+        long rest = 0;
+        for (int i = 0; i < MAX_NUMBER_BYTES; i++) {
+            int value = this.readByte();
+            rest = rest | ((long) (value & 0x7F) << (7 * i));
+            if ((value & 0x80) == 0) {
+                return (rest >>> 1) ^ -(rest & 1);
+            }
+        }
+        throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @return the boolean.
+     * @throws IOException if the channel can not be read.
+     */
+    boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    /**
+     * Reads a String.
+     *
+     * @return the String.
+     * @throws IOException if the channel can not be read.
+     */
+    String readString() throws IOException {
+        byte[] bytes = new byte[this.readCount()];
+        int read = 0;
+        while (read < bytes.length) {
+            if (!this.buffer.hasRemaining()) {
+                this.fill();
+            }
+            int length = Math.min(this.buffer.remaining(), bytes.length - read);
+            this.buffer.get(bytes, read, length);
+            read = read + length;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the number of elements which follow.
+     *
+     * @return the number of elements.
+     * @throws IOException if the channel can not be read or the number is
+     *                     negative.
+     */
+    int readCount() throws IOException {
+        int count = this.readInt();
+        if (count < 0) {
+            throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte in the lowest eight bits.
+     * @throws IOException if the channel can not be read.
+     */
+    private int readByte() throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            this.fill();
+        }
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads the next bytes from the channel into the empty buffer.
+     *
+     * @throws IOException if the channel can not be read or has no bytes left.
+     */
+    private void fill() throws IOException {
+        this.buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = this.channel.read(this.buffer);
+        }
+        this.buffer.flip();
+        if (read < 0) {
+            throw new IOException(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+        }
+    }
+}
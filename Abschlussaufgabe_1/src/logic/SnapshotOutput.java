@@ -0,0 +1,132 @@
+package logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the values of a snapshot into a channel. The values are collected in a
+ * buffer, which is written into the channel whenever it is full. Numbers are
+ * written with a variable length, so small numbers only need one byte.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class SnapshotOutput {
+    /**
+     * The size of the buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The channel the snapshot is written into.
+     */
+    private final WritableByteChannel channel;
+    /**
+     * The buffer which collects the values.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor for a SnapshotOutput.
+     *
+     * @param channel the channel the snapshot is written into.
+     */
+    SnapshotOutput(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    /**
+     * Writes an int. Negative numbers are written as zigzag encoded numbers, so
+     * they are as short as positive numbers of the same size.
+     *
+     * @param value the int.
+     * @throws IOException if the channel can not be written.
+     */
+    void writeInt(int value) throws IOException {
+        this.writeLong(value);
+    }
+
+    /**
+     * Writes a long. Negative numbers are written as zigzag encoded numbers, so
+     * they are as short as positive numbers of the same size.
+     *
+     * @param value the long.
+     * @throws IOException if the channel can not be written.
+     */
+    void writeLong(long value) throws IOException {
+        long rest = (value << 1) ^ (value >> 63);
+        while ((rest & ~0x7FL) != 0) {
+            this.writeByte((int) ((rest & 0x7F) | 0x80));
+            rest = rest >>> 7;
+        }
+        this.writeByte((int) rest);
+    }
+
+    /**
+     * Writes a boolean.
+     *
+     * @param value the boolean.
+     * @throws IOException if the channel can not be written.
+     */
+    void writeBoolean(boolean value) throws IOException {
+        this.writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a String as its length followed by its UTF-8 bytes.
+     *
+     * @param value the String.
+     * @throws IOException if the channel can not be written.
+     */
+    void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        this.writeInt(bytes.length);
+        int written = 0;
+        while (written < bytes.length) {
+            if (!this.buffer.hasRemaining()) {
+                this.drain();
+            }
+            int length = Math.min(this.buffer.remaining(), bytes.length - written);
+            this.buffer.put(bytes, written, length);
+            written = written + length;
+        }
+    }
+
+    /**
+     * Writes the values which are left in the buffer into the channel.
+     *
+     * @throws IOException if the channel can not be written.
+     */
+    void flush() throws IOException {
+        this.drain();
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value the byte in the lowest eight bits.
+     * @throws IOException if the channel can not be written.
+     */
+    private void writeByte(int value) throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            this.drain();
+        }
+        this.buffer.put((byte) value);
+    }
+
+    /**
+     * Writes the whole buffer into the channel and empties it.
+     *
+     * @throws IOException if the channel can not be written.
+     */
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+}
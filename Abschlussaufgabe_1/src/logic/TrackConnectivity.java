@@ -0,0 +1,683 @@
+package logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Knows which Tracks of a TrackNetwork hold the network together. It answers if
+ * the network would fall apart if a Track was deleted, without walking along
+ * the points of the network.
+ *
+ * <p>
+ * The network is seen as a graph, in which every start and end point and every
+ * Track is a node. The nodes are found by the TrackNodes of the points and by
+ * the ids of the Tracks, the ids the edges of the TrackGraph carry. A Track is
+ * connected with its two points, a switch with its three points. A connection
+ * between a Track and a point is a bridge if the graph falls apart without it.
+ * The bridges are found with union-find structures, which are extended with
+ * every Track that is added.
+ *
+ * <p>
+ * Deleting a Track only searches the bridges of the part it belonged to again,
+ * the part which stayed connected without any single connection. This costs
+ * time in the size of that part, the parts around it are hung onto the new
+ * parts unchanged. Points without Tracks are left behind and get a new node if
+ * a Track is built at them again. Only if a deletion splits the network, or if
+ * more than half of the nodes are left behind, the analysis is built again from
+ * all Tracks the next time it is needed, which costs time in the size of the
+ * whole network.
+ *
+ * <p>
+ * Deleting a Track splits the network into one part for every bridge of the
+ * Track, plus one part for all connections which are not bridges. The network
+ * stays connected if at most one of these parts contains another Track.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class TrackConnectivity {
+    /**
+     * The number of nodes the arrays have space for at the beginning.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+    /**
+     * The Tracks of the network, indexed by their id.
+     */
+    private final Map<Integer, NormalTrack> tracks;
+    /**
+     * The nodes of the points of the network.
+     */
+    private final TrackNodes nodes;
+    /**
+     * The node of every start and end point, indexed by its node in the
+     * TrackNodes, -1 if it has none.
+     */
+    private int[] pointNodes;
+    /**
+     * The node of every Track, indexed by the id of the Track, -1 if it has none.
+     */
+    private int[] trackNodes;
+    /**
+     * The parent of every node in the forest of the connected parts, -1 for a
+     * root.
+     */
+    private int[] parent;
+    /**
+     * The union-find structure of the parts which stay connected without any
+     * single connection.
+     */
+    private int[] twoEdgeSet;
+    /**
+     * The union-find structure of the connected parts.
+     */
+    private int[] componentSet;
+    /**
+     * The number of nodes in every connected part, valid for the representative
+     * of the part.
+     */
+    private int[] componentSize;
+    /**
+     * The last search which visited a node.
+     */
+    private int[] lastVisit;
+    /**
+     * The number of connections of every node, the number of Tracks at a point
+     * node.
+     */
+    private int[] degree;
+    /**
+     * The nodes every node is connected with, the first entries up to the degree
+     * of the node are valid.
+     */
+    private int[][] neighbours;
+    /**
+     * The order in which the search for bridges reached a node.
+     */
+    private int[] order;
+    /**
+     * The lowest order the search for bridges reaches from a node without its
+     * connection to the node it was reached from.
+     */
+    private int[] low;
+    /**
+     * The number of nodes.
+     */
+    private int nodeCount;
+    /**
+     * The number of nodes of deleted Tracks and of points without Tracks.
+     */
+    private int deadNodes;
+    /**
+     * The number of searches for a common ancestor so far.
+     */
+    private int visit;
+    /**
+     * True if a Track was deleted since the analysis was built.
+     */
+    private boolean outdated;
+
+    /**
+     * Constructor for the connectivity of an empty network.
+     *
+     * @param nodes the nodes of the points of the network.
+     */
+    TrackConnectivity(TrackNodes nodes) {
+        this.tracks = new LinkedHashMap<Integer, NormalTrack>();
+        this.nodes = nodes;
+        this.pointNodes = new int[INITIAL_CAPACITY];
+        this.trackNodes = new int[INITIAL_CAPACITY];
+        this.clear();
+    }
+
+    /**
+     * Adds a Track to the network.
+     *
+     * @param track the Track.
+     */
+    void add(NormalTrack track) {
+        this.tracks.put(track.getTrackID(), track);
+        if (!this.outdated) {
+            this.connect(track);
+        }
+    }
+
+    /**
+     * Deletes a Track from the network.
+     *
+     * @param track the Track.
+     */
+    void remove(NormalTrack track) {
+        if (this.tracks.remove(track.getTrackID()) == null || this.outdated) {
+            return;
+        }
+        if (!this.disconnect(track) || this.deadNodes * 2 > this.nodeCount) {
+            this.outdated = true;
+        }
+    }
+
+    /**
+     * Checks if the network stays connected if a Track is deleted.
+     *
+     * @param track the Track of the network.
+     * @return true if all other Tracks are still connected without it.
+     */
+    boolean staysConnectedWithout(NormalTrack track) {
+        if (this.outdated) {
+            this.rebuild();
+        }
+        int trackNode = this.trackNodes[track.getTrackID()];
+        int parts = 0;
+        boolean cyclePart = false;
+        for (TrackPoint point : this.endPoints(track)) {
+            int pointNode = this.pointNodes[this.nodes.node(point)];
+            if (this.degree[pointNode] < 2) {
+                continue;
+            }
+            if (this.findTwoEdge(trackNode) != this.findTwoEdge(pointNode)) {
+                parts++;
+            } else if (!cyclePart) {
+                cyclePart = true;
+                parts++;
+            }
+        }
+        return parts <= 1;
+    }
+
+    /**
+     * Builds the analysis again from all Tracks of the network.
+     */
+    private void rebuild() {
+        this.clear();
+        for (NormalTrack track : this.tracks.values()) {
+            this.connect(track);
+        }
+    }
+
+    /**
+     * Forgets all nodes.
+     */
+    private void clear() {
+        Arrays.fill(this.pointNodes, -1);
+        Arrays.fill(this.trackNodes, -1);
+        this.parent = new int[INITIAL_CAPACITY];
+        this.twoEdgeSet = new int[INITIAL_CAPACITY];
+        this.componentSet = new int[INITIAL_CAPACITY];
+        this.componentSize = new int[INITIAL_CAPACITY];
+        this.lastVisit = new int[INITIAL_CAPACITY];
+        this.degree = new int[INITIAL_CAPACITY];
+        this.neighbours = new int[INITIAL_CAPACITY][];
+        this.order = new int[INITIAL_CAPACITY];
+        this.low = new int[INITIAL_CAPACITY];
+        this.nodeCount = 0;
+        this.deadNodes = 0;
+        this.visit = 0;
+        this.outdated = false;
+    }
+
+    /**
+     * Adds the node of a Track and the connections to its points.
+     *
+     * @param track the Track.
+     */
+    private void connect(NormalTrack track) {
+        int trackNode = this.newNode();
+        this.trackNodes = this.setNode(this.trackNodes, track.getTrackID(), trackNode);
+        for (TrackPoint point : this.endPoints(track)) {
+            int node = this.nodes.node(point);
+            int pointNode = node < this.pointNodes.length ? this.pointNodes[node] : -1;
+            if (pointNode == -1) {
+                pointNode = this.newNode();
+                this.pointNodes = this.setNode(this.pointNodes, node, pointNode);
+            }
+            this.link(trackNode, pointNode);
+            this.addEdge(trackNode, pointNode);
+        }
+    }
+
+    /**
+     * Removes the node of a Track and the connections to its points, and searches
+     * the bridges of the part it belonged to again.
+     *
+     * @param track the Track.
+     * @return false if the deletion splits the network and the analysis has to be
+     *         built again.
+     */
+    private boolean disconnect(NormalTrack track) {
+        int trackNode = this.trackNodes[track.getTrackID()];
+        this.trackNodes[track.getTrackID()] = -1;
+        int part = this.findTwoEdge(trackNode);
+        int label = this.findComponent(part);
+        int above = this.findTwoEdge(this.parent[part]);
+        List<Integer> members = this.collectPart(trackNode, part);
+        int partVisit = this.visit;
+        List<Integer> sides = new ArrayList<Integer>();
+        int removed = 1;
+        for (TrackPoint point : this.endPoints(track)) {
+            int node = this.nodes.node(point);
+            int pointNode = this.pointNodes[node];
+            this.unlink(trackNode, pointNode);
+            this.unlink(pointNode, trackNode);
+            if (this.degree[pointNode] == 0) {
+                this.pointNodes[node] = -1;
+                removed++;
+            } else if (this.lastVisit[pointNode] != partVisit) {
+                sides.add(pointNode);
+            }
+        }
+        this.deadNodes += removed;
+        this.componentSize[label] -= removed;
+        members.remove(Integer.valueOf(trackNode));
+        if (members.isEmpty()) {
+            if (sides.size() > 1) {
+                return false;
+            }
+            int side = sides.isEmpty() ? -1 : this.findTwoEdge(sides.get(0));
+            if (side != -1 && side != above) {
+                this.parent[side] = -1;
+                this.componentSet[side] = side;
+                this.componentSet[label] = side;
+                this.componentSize[side] = this.componentSize[label];
+            }
+            return true;
+        }
+        if (!sides.isEmpty()) {
+            return false;
+        }
+        int start = members.get(0);
+        int outsideParent = -1;
+        List<Integer> children = new ArrayList<Integer>();
+        for (int member : members) {
+            for (int i = 0; i < this.degree[member]; i++) {
+                int next = this.neighbours[member][i];
+                if (this.lastVisit[next] == partVisit) {
+                    continue;
+                }
+                if (this.findTwoEdge(next) == above) {
+                    start = member;
+                    outsideParent = next;
+                } else {
+                    children.add(member);
+                    children.add(next);
+                }
+            }
+        }
+        for (int member : members) {
+            this.twoEdgeSet[member] = member;
+            this.parent[member] = -1;
+        }
+        int newLabel = label;
+        if (outsideParent == -1) {
+            newLabel = start;
+            this.componentSize[start] = this.componentSize[label];
+            this.componentSet[label] = start;
+        }
+        this.twoEdgeSet[trackNode] = trackNode;
+        this.componentSet[trackNode] = newLabel;
+        if (this.splitPart(start, outsideParent, newLabel, members.size()) != members.size()) {
+            return false;
+        }
+        for (int i = 0; i < children.size(); i += 2) {
+            this.parent[this.findTwoEdge(children.get(i + 1))] = children.get(i);
+        }
+        return true;
+    }
+
+    /**
+     * Collects the nodes of the part of a node which stays connected without any
+     * single connection, and marks them with a new visit.
+     *
+     * @param node the node.
+     * @param part the representative of its part.
+     * @return the nodes of the part.
+     */
+    private List<Integer> collectPart(int node, int part) {
+        this.visit++;
+        List<Integer> members = new ArrayList<Integer>();
+        members.add(node);
+        this.lastVisit[node] = this.visit;
+        for (int i = 0; i < members.size(); i++) {
+            int member = members.get(i);
+            for (int j = 0; j < this.degree[member]; j++) {
+                int next = this.neighbours[member][j];
+                if (this.lastVisit[next] != this.visit && this.findTwoEdge(next) == part) {
+                    this.lastVisit[next] = this.visit;
+                    members.add(next);
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Searches the bridges between the nodes of a former part with a depth first
+     * search, and builds the new parts and the tree between them.
+     *
+     * @param start         the node to start at, the node of the part that is
+     *                      connected to the part above.
+     * @param outsideParent the node of the part above, or -1.
+     * @param label         the representative of the connected part.
+     * @param size          the number of nodes of the former part, which are
+     *                      marked with the last visit.
+     * @return the number of nodes the search reached.
+     */
+    private int splitPart(int start, int outsideParent, int label, int size) {
+        int partVisit = this.visit;
+        this.visit++;
+        int[] path = new int[size];
+        int[] cursor = new int[size];
+        int[] pending = new int[size];
+        int depth = 0;
+        int pendingCount = 0;
+        int reached = 0;
+        int next = start;
+        while (next != -1 || depth > 0) {
+            if (next != -1) {
+                this.lastVisit[next] = this.visit;
+                this.order[next] = reached;
+                this.low[next] = reached;
+                reached++;
+                path[depth] = next;
+                cursor[depth] = 0;
+                depth++;
+                pending[pendingCount] = next;
+                pendingCount++;
+                next = -1;
+                continue;
+            }
+            int node = path[depth - 1];
+            if (cursor[depth - 1] < this.degree[node]) {
+                int neighbour = this.neighbours[node][cursor[depth - 1]];
+                cursor[depth - 1]++;
+                if (this.lastVisit[neighbour] == this.visit) {
+                    if (depth < 2 || neighbour != path[depth - 2]) {
+                        this.low[node] = Math.min(this.low[node], this.order[neighbour]);
+                    }
+                } else if (this.lastVisit[neighbour] == partVisit) {
+                    next = neighbour;
+                }
+                continue;
+            }
+            depth--;
+            if (depth > 0) {
+                int above = path[depth - 1];
+                this.low[above] = Math.min(this.low[above], this.low[node]);
+            }
+            if (this.low[node] == this.order[node]) {
+                int member;
+                do {
+                    pendingCount--;
+                    member = pending[pendingCount];
+                    this.twoEdgeSet[member] = node;
+                } while (member != node);
+                this.componentSet[node] = label;
+                this.parent[node] = depth > 0 ? path[depth - 1] : outsideParent;
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Connects two nodes in the lists of their neighbours.
+     *
+     * @param first  the first node.
+     * @param second the second node.
+     */
+    private void link(int first, int second) {
+        this.addNeighbour(first, second);
+        this.addNeighbour(second, first);
+    }
+
+    /**
+     * Adds a node to the neighbours of another node.
+     *
+     * @param node      the node.
+     * @param neighbour the new neighbour.
+     */
+    private void addNeighbour(int node, int neighbour) {
+        int[] list = this.neighbours[node];
+        if (list == null) {
+            list = new int[3];
+            this.neighbours[node] = list;
+        } else if (this.degree[node] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            this.neighbours[node] = list;
+        }
+        list[this.degree[node]] = neighbour;
+        this.degree[node]++;
+    }
+
+    /**
+     * Removes a node from the neighbours of another node.
+     *
+     * @param node      the node.
+     * @param neighbour the neighbour to remove.
+     */
+    private void unlink(int node, int neighbour) {
+        int[] list = this.neighbours[node];
+        for (int i = 0; i < this.degree[node]; i++) {
+            if (list[i] == neighbour) {
+                this.degree[node]--;
+                list[i] = list[this.degree[node]];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Enters a node into an array of nodes, which grows if the index is too high.
+     *
+     * @param nodes the array.
+     * @param index the index.
+     * @param node  the node.
+     * @return the array, or a larger copy of it.
+     */
+    private int[] setNode(int[] nodes, int index, int node) {
+        int[] result = nodes;
+        if (index >= nodes.length) {
+            result = Arrays.copyOf(nodes, Math.max(index + 1, nodes.length * 2));
+            Arrays.fill(result, nodes.length, result.length, -1);
+        }
+        result[index] = node;
+        return result;
+    }
+
+    /**
+     * Returns the start and end points of a Track.
+     *
+     * @param track the Track.
+     * @return the start and end, and the second end of a switch.
+     */
+    private List<TrackPoint> endPoints(NormalTrack track) {
+        List<TrackPoint> points = new ArrayList<TrackPoint>(3);
+        points.add(track.getStart());
+        points.add(track.getEnd());
+        if (track instanceof TrackSwitch) {
+            points.add(((TrackSwitch) track).getEnd2());
+        }
+        return points;
+    }
+
+    /**
+     * Creates a node without connections.
+     *
+     * @return the node.
+     */
+    private int newNode() {
+        if (this.nodeCount == this.parent.length) {
+            int capacity = this.parent.length * 2;
+            this.parent = Arrays.copyOf(this.parent, capacity);
+            this.twoEdgeSet = Arrays.copyOf(this.twoEdgeSet, capacity);
+            this.componentSet = Arrays.copyOf(this.componentSet, capacity);
+            this.componentSize = Arrays.copyOf(this.componentSize, capacity);
+            this.lastVisit = Arrays.copyOf(this.lastVisit, capacity);
+            this.degree = Arrays.copyOf(this.degree, capacity);
+            this.neighbours = Arrays.copyOf(this.neighbours, capacity);
+            this.order = Arrays.copyOf(this.order, capacity);
+            this.low = Arrays.copyOf(this.low, capacity);
+        }
+        int node = this.nodeCount;
+        this.nodeCount++;
+        this.parent[node] = -1;
+        this.twoEdgeSet[node] = node;
+        this.componentSet[node] = node;
+        this.componentSize[node] = 1;
+        this.lastVisit[node] = 0;
+        this.degree[node] = 0;
+        this.neighbours[node] = null;
+        return node;
+    }
+
+    /**
+     * Finds the representative of the part of a node which stays connected
+     * without any single connection.
+     *
+     * @param node the node, or -1.
+     * @return the representative, or -1.
+     */
+    private int findTwoEdge(int node) {
+        if (node == -1) {
+            return -1;
+        }
+        int root = node;
+        while (this.twoEdgeSet[root] != root) {
+            root = this.twoEdgeSet[root];
+        }
+        int current = node;
+        while (this.twoEdgeSet[current] != root) {
+            int next = this.twoEdgeSet[current];
+            this.twoEdgeSet[current] = root;
+            current = next;
+        }
+        return root;
+    }
+
+    /**
+     * Finds the representative of the connected part of a node.
+     *
+     * @param node the node.
+     * @return the representative.
+     */
+    private int findComponent(int node) {
+        int root = this.findTwoEdge(node);
+        List<Integer> path = new ArrayList<Integer>();
+        while (this.componentSet[root] != root) {
+            path.add(root);
+            root = this.findTwoEdge(this.componentSet[root]);
+        }
+        for (int passed : path) {
+            this.componentSet[passed] = root;
+        }
+        return root;
+    }
+
+    /**
+     * Makes a node the root of the tree of its connected part.
+     *
+     * @param node the representative of a part which stays connected without any
+     *             single connection.
+     */
+    private void makeRoot(int node) {
+        int root = node;
+        int child = -1;
+        int current = node;
+        while (current != -1) {
+            int next = this.findTwoEdge(this.parent[current]);
+            this.parent[current] = child;
+            this.componentSet[current] = root;
+            child = current;
+            current = next;
+        }
+        this.componentSize[root] = this.componentSize[child];
+    }
+
+    /**
+     * Merges the parts on the tree path between two nodes, because a new
+     * connection closes a cycle over them.
+     *
+     * @param first  the representative of the part of the first node.
+     * @param second the representative of the part of the second node.
+     */
+    private void mergePath(int first, int second) {
+        this.visit++;
+        List<Integer> firstPath = new ArrayList<Integer>();
+        List<Integer> secondPath = new ArrayList<Integer>();
+        int ancestor = -1;
+        int a = first;
+        int b = second;
+        while (ancestor == -1) {
+            if (a != -1) {
+                a = this.findTwoEdge(a);
+                firstPath.add(a);
+                if (this.lastVisit[a] == this.visit) {
+                    ancestor = a;
+                    break;
+                }
+                this.lastVisit[a] = this.visit;
+                a = this.parent[a];
+            }
+            if (b != -1) {
+                b = this.findTwoEdge(b);
+                secondPath.add(b);
+                if (this.lastVisit[b] == this.visit) {
+                    ancestor = b;
+                    break;
+                }
+                this.lastVisit[b] = this.visit;
+                b = this.parent[b];
+            }
+        }
+        this.joinPath(firstPath, ancestor);
+        this.joinPath(secondPath, ancestor);
+    }
+
+    /**
+     * Joins the parts of a path up to their common ancestor.
+     *
+     * @param path     the representatives of the parts on the path.
+     * @param ancestor the common ancestor.
+     */
+    private void joinPath(List<Integer> path, int ancestor) {
+        for (int node : path) {
+            this.twoEdgeSet[node] = ancestor;
+            if (node == ancestor) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Adds a connection between two nodes.
+     *
+     * @param first  the first node.
+     * @param second the second node.
+     */
+    private void addEdge(int first, int second) {
+        int a = this.findTwoEdge(first);
+        int b = this.findTwoEdge(second);
+        if (a == b) {
+            return;
+        }
+        int componentA = this.findComponent(a);
+        int componentB = this.findComponent(b);
+        if (componentA == componentB) {
+            this.mergePath(a, b);
+            return;
+        }
+        if (this.componentSize[componentA] > this.componentSize[componentB]) {
+            int swap = a;
+            a = b;
+            b = swap;
+            swap = componentA;
+            componentA = componentB;
+            componentB = swap;
+        }
+        this.makeRoot(a);
+        this.parent[a] = b;
+        this.componentSet[a] = b;
+        this.componentSize[componentB] += this.componentSize[a];
+    }
+}
@@ -0,0 +1,451 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * The topology of a TrackNetwork as a compact graph. The start and end points
+ * of the Tracks are the nodes, every Track is an edge between its start and
+ * end, and a switch is one edge for each of its two ends. An edge knows its
+ * length and its direction, so the graph can be searched without visiting the
+ * points inside of the Tracks.
+ *
+ * <p>
+ * The edges are stored in primitive arrays, sorted by the node they leave
+ * from. The edges of a node are the indices from {@link #firstEdge(int)} up to
+ * {@link #lastEdge(int)}, every Track appears once in each direction. A graph
+ * never changes, the TrackNetwork builds a new one when a Track is added or
+ * deleted. The nodes are the TrackNodes of the network, so a point has the same
+ * node in every graph. The edges are also indexed by the row or column they lie
+ * in, so the edge through a point is found without looking at all edges.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class TrackGraph {
+    /**
+     * The nodes of the network.
+     */
+    private final TrackNodes nodes;
+    /**
+     * The number of nodes when the graph was built.
+     */
+    private final int nodeCount;
+    /**
+     * The index of the first edge of every node, and the number of edges at the
+     * last index.
+     */
+    private final int[] edgeStart;
+    /**
+     * The node every edge leaves from.
+     */
+    private final int[] edgeSource;
+    /**
+     * The node every edge leads to.
+     */
+    private final int[] edgeTarget;
+    /**
+     * The id of the Track of every edge.
+     */
+    private final int[] edgeTrack;
+    /**
+     * The node of the end of the switch an edge belongs to, -1 for the edges of
+     * normal Tracks.
+     */
+    private final int[] edgeSwitchEnd;
+    /**
+     * The length of every edge.
+     */
+    private final int[] edgeLength;
+    /**
+     * The x-direction of every edge, seen from the node it leaves from.
+     */
+    private final int[] edgeVectorX;
+    /**
+     * The y-direction of every edge, seen from the node it leaves from.
+     */
+    private final int[] edgeVectorY;
+    /**
+     * The horizontal edges, indexed by their y-coordinate.
+     */
+    private final Lines rows;
+    /**
+     * The vertical edges, indexed by their x-coordinate.
+     */
+    private final Lines columns;
+
+    /**
+     * Constructor. Builds the graph of some Tracks.
+     *
+     * @param tracks the Tracks of the network.
+     * @param nodes  the nodes of the network.
+     */
+    TrackGraph(Collection<NormalTrack> tracks, TrackNodes nodes) {
+        this.nodes = nodes;
+        int legs = 0;
+        for (NormalTrack track : tracks) {
+            legs = legs + (track instanceof TrackSwitch ? 2 : 1);
+        }
+        int[] legFrom = new int[legs];
+        int[] legTo = new int[legs];
+        int[] legTrack = new int[legs];
+        int[] legSwitchEnd = new int[legs];
+        int leg = 0;
+        for (NormalTrack track : tracks) {
+            int start = nodes.node(track.getStart());
+            legFrom[leg] = start;
+            legTo[leg] = nodes.node(track.getEnd());
+            legTrack[leg] = track.getTrackID();
+            legSwitchEnd[leg] = -1;
+            if (track instanceof TrackSwitch) {
+                legSwitchEnd[leg] = legTo[leg];
+                leg++;
+                legFrom[leg] = start;
+                legTo[leg] = nodes.node(((TrackSwitch) track).getEnd2());
+                legTrack[leg] = track.getTrackID();
+                legSwitchEnd[leg] = legTo[leg];
+            }
+            leg++;
+        }
+        int nodeCount = nodes.size();
+        this.nodeCount = nodeCount;
+        this.edgeStart = new int[nodeCount + 1];
+        for (int i = 0; i < legs; i++) {
+            this.edgeStart[legFrom[i] + 1]++;
+            this.edgeStart[legTo[i] + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            this.edgeStart[node + 1] = this.edgeStart[node + 1] + this.edgeStart[node];
+        }
+        this.edgeSource = new int[2 * legs];
+        this.edgeTarget = new int[2 * legs];
+        this.edgeTrack = new int[2 * legs];
+        this.edgeSwitchEnd = new int[2 * legs];
+        this.edgeLength = new int[2 * legs];
+        this.edgeVectorX = new int[2 * legs];
+        this.edgeVectorY = new int[2 * legs];
+        int[] filled = new int[nodeCount];
+        for (int i = 0; i < legs; i++) {
+            this.addEdge(legFrom[i], legTo[i], legTrack[i], legSwitchEnd[i], filled);
+            this.addEdge(legTo[i], legFrom[i], legTrack[i], legSwitchEnd[i], filled);
+        }
+        long[] horizontal = new long[2 * legs];
+        long[] vertical = new long[2 * legs];
+        int horizontalCount = 0;
+        int verticalCount = 0;
+        for (int edge = 0; edge < 2 * legs; edge++) {
+            int source = this.edgeSource[edge];
+            if (this.edgeVectorY[edge] == 0) {
+                horizontal[horizontalCount] = Lines.entry(nodes.getY(source), edge);
+                horizontalCount++;
+            } else {
+                vertical[verticalCount] = Lines.entry(nodes.getX(source), edge);
+                verticalCount++;
+            }
+        }
+        this.rows = new Lines(horizontal, horizontalCount);
+        this.columns = new Lines(vertical, verticalCount);
+    }
+
+    /**
+     * Writes an edge into the arrays.
+     *
+     * @param from      the node the edge leaves from.
+     * @param to        the node the edge leads to.
+     * @param track     the id of the Track.
+     * @param switchEnd the node of the end of the switch, or -1.
+     * @param filled    the number of edges of every node written so far.
+     */
+    private void addEdge(int from, int to, int track, int switchEnd, int[] filled) {
+        int edge = this.edgeStart[from] + filled[from];
+        filled[from]++;
+        this.edgeSource[edge] = from;
+        this.edgeTarget[edge] = to;
+        this.edgeTrack[edge] = track;
+        this.edgeSwitchEnd[edge] = switchEnd;
+        this.edgeVectorX[edge] = Integer.signum(this.getX(to) - this.getX(from));
+        this.edgeVectorY[edge] = Integer.signum(this.getY(to) - this.getY(from));
+        this.edgeLength[edge] = Math.abs(this.getX(to) - this.getX(from))
+                + Math.abs(this.getY(to) - this.getY(from));
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes.
+     */
+    int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Returns the node at some coordinates.
+     *
+     * @param coordX the x-coordinate.
+     * @param coordY the y-coordinate.
+     * @return the node, or -1 if no Track starts or ends there.
+     */
+    int findNode(int coordX, int coordY) {
+        int node = this.nodes.findNode(coordX, coordY);
+        if (node < 0 || node >= this.nodeCount || this.edgeStart[node] == this.edgeStart[node + 1]) {
+            return -1;
+        }
+        return node;
+    }
+
+    /**
+     * Finds the edge a Train at a point would move along in a direction.
+     *
+     * @param coordX  the x-coordinate of the point.
+     * @param coordY  the y-coordinate of the point.
+     * @param vectorX the x-direction.
+     * @param vectorY the y-direction.
+     * @return the edge in this direction which contains the point, but does not
+     *         end at it, or -1 if there is none.
+     */
+    int findEdge(int coordX, int coordY, int vectorX, int vectorY) {
+        Lines lines = vectorY == 0 ? this.rows : this.columns;
+        int line = lines.find(vectorY == 0 ? coordY : coordX);
+        if (line >= 0) {
+            for (int i = lines.start[line]; i < lines.start[line + 1]; i++) {
+                int edge = lines.edges[i];
+                if (this.edgeVectorX[edge] == vectorX && this.edgeVectorY[edge] == vectorY
+                        && this.getOffset(edge, coordX, coordY) >= 0
+                        && this.getOffset(edge, coordX, coordY) < this.edgeLength[edge]) {
+                    return edge;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a point lies on a Track.
+     *
+     * @param coordX the x-coordinate of the point.
+     * @param coordY the y-coordinate of the point.
+     * @return true if a Track starts, ends or runs through the point.
+     */
+    boolean isOnTrack(int coordX, int coordY) {
+        return this.findNode(coordX, coordY) >= 0 || this.findEdge(coordX, coordY, 1, 0) >= 0
+                || this.findEdge(coordX, coordY, 0, 1) >= 0;
+    }
+
+    /**
+     * Returns how far a point lies from the start of an edge, in the direction of
+     * the edge.
+     *
+     * @param edge   the edge.
+     * @param coordX the x-coordinate of the point.
+     * @param coordY the y-coordinate of the point.
+     * @return the distance from the start, or -1 if the point is not on the line
+     *         of the edge or behind its start.
+     */
+    long getOffset(int edge, int coordX, int coordY) {
+        int source = this.edgeSource[edge];
+        int sourceX = this.nodes.getX(source);
+        int sourceY = this.nodes.getY(source);
+        long offsetX = ((long) coordX - sourceX) * this.edgeVectorX[edge];
+        long offsetY = ((long) coordY - sourceY) * this.edgeVectorY[edge];
+        if (this.edgeVectorX[edge] == 0 && coordX != sourceX || this.edgeVectorY[edge] == 0 && coordY != sourceY) {
+            return -1;
+        }
+        return Math.max(-1, offsetX + offsetY);
+    }
+
+    /**
+     * Returns the node an edge leaves from.
+     *
+     * @param edge the edge.
+     * @return the node.
+     */
+    int getSource(int edge) {
+        return this.edgeSource[edge];
+    }
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return the number of edges.
+     */
+    int getEdgeCount() {
+        return this.edgeTarget.length;
+    }
+
+    /**
+     * Returns the x-coordinate of a node.
+     *
+     * @param node the node.
+     * @return the x-coordinate.
+     */
+    int getX(int node) {
+        return this.nodes.getX(node);
+    }
+
+    /**
+     * Returns the y-coordinate of a node.
+     *
+     * @param node the node.
+     * @return the y-coordinate.
+     */
+    int getY(int node) {
+        return this.nodes.getY(node);
+    }
+
+    /**
+     * Returns the index of the first edge of a node.
+     *
+     * @param node the node.
+     * @return the index of the first edge.
+     */
+    int firstEdge(int node) {
+        return this.edgeStart[node];
+    }
+
+    /**
+     * Returns the index after the last edge of a node.
+     *
+     * @param node the node.
+     * @return the index after the last edge.
+     */
+    int lastEdge(int node) {
+        return this.edgeStart[node + 1];
+    }
+
+    /**
+     * Returns the node an edge leads to.
+     *
+     * @param edge the edge.
+     * @return the node.
+     */
+    int getTarget(int edge) {
+        return this.edgeTarget[edge];
+    }
+
+    /**
+     * Returns the id of the Track of an edge.
+     *
+     * @param edge the edge.
+     * @return the id of the Track.
+     */
+    int getTrackId(int edge) {
+        return this.edgeTrack[edge];
+    }
+
+    /**
+     * Returns the end of the switch an edge belongs to.
+     *
+     * @param edge the edge.
+     * @return the node of the end of the switch, or -1 if the edge belongs to a
+     *         normal Track.
+     */
+    int getSwitchEnd(int edge) {
+        return this.edgeSwitchEnd[edge];
+    }
+
+    /**
+     * Returns the length of an edge.
+     *
+     * @param edge the edge.
+     * @return the length.
+     */
+    int getLength(int edge) {
+        return this.edgeLength[edge];
+    }
+
+    /**
+     * Returns the x-direction of an edge.
+     *
+     * @param edge the edge.
+     * @return -1, 0 or 1.
+     */
+    int getVectorX(int edge) {
+        return this.edgeVectorX[edge];
+    }
+
+    /**
+     * Returns the y-direction of an edge.
+     *
+     * @param edge the edge.
+     * @return -1, 0 or 1.
+     */
+    int getVectorY(int edge) {
+        return this.edgeVectorY[edge];
+    }
+
+    /**
+     * The edges of the rows or of the columns. The coordinates of the lines are
+     * sorted, the edges of the line at an index are the entries from its start up
+     * to the start of the next line.
+     */
+    private static final class Lines {
+        /**
+         * The coordinates of the lines which contain edges, in ascending order.
+         */
+        private final int[] keys;
+        /**
+         * The index of the first edge of every line, and the number of edges at
+         * the last index.
+         */
+        private final int[] start;
+        /**
+         * The edges, sorted by their line.
+         */
+        private final int[] edges;
+
+        /**
+         * Constructor. Builds the index from the entries of the edges.
+         *
+         * @param entries the coordinate of the line and the edge, packed by
+         *                {@link #entry(int, int)}.
+         * @param count   the number of entries.
+         */
+        private Lines(long[] entries, int count) {
+            Arrays.sort(entries, 0, count);
+            int lines = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || (int) (entries[i] >> 32) != (int) (entries[i - 1] >> 32)) {
+                    lines++;
+                }
+            }
+            this.keys = new int[lines];
+            this.start = new int[lines + 1];
+            this.edges = new int[count];
+            int line = -1;
+            for (int i = 0; i < count; i++) {
+                int key = (int) (entries[i] >> 32);
+                if (line < 0 || key != this.keys[line]) {
+                    line++;
+                    this.keys[line] = key;
+                    this.start[line] = i;
+                }
+                this.edges[i] = (int) entries[i];
+            }
+            this.start[lines] = count;
+        }
+
+        /**
+         * Packs the coordinate of a line and an edge, so the entries sort by the
+         * line.
+         *
+         * @param key  the coordinate of the line.
+         * @param edge the edge.
+         * @return the entry.
+         */
+        private static long entry(int key, int edge) {
+            return ((long) key << 32) | edge;
+        }
+
+        /**
+         * Finds a line.
+         *
+         * @param key the coordinate of the line.
+         * @return the index of the line, or -1 if it contains no edges.
+         */
+        private int find(int key) {
+            int line = Arrays.binarySearch(this.keys, key);
+            return line < 0 ? -1 : line;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package logic;
 
 import java.util.ArrayList;
-
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 /**
  * This Class represents the TrackNetwork.
@@ -15,19 +20,120 @@ public class TrackNetwork {
 
     private TrackNetworkActions trackNetworkActions;
     private boolean firstTrack = true;
-    private List<NormalTrack> trackList;
-    private List<TrackSwitch> switchList;
-    private List<TrackPoint> trackConnectionPointList;
-    private List<TrackPoint> allTrackPoints;
+    /**
+     * The tracks of the network, indexed by their id, in the order they were
+     * added.
+     */
+    private Map<Integer, NormalTrack> tracksById;
+    /**
+     * The switches of the network, indexed by their id, in the order they were
+     * added.
+     */
+    private Map<Integer, TrackSwitch> switchesById;
+    /**
+     * The number of every track in the order the tracks were added, indexed by
+     * the id of the track.
+     */
+    private Map<Integer, Long> trackAdditions;
+    /**
+     * Counter for the tracks added to the network.
+     */
+    private long additions;
+    /**
+     * The tracks which start or end at a point, indexed by the packed coordinates
+     * of the point.
+     */
+    private Map<Long, List<NormalTrack>> tracksAtPoint;
+    /**
+     * The connection points of the network, indexed by their packed coordinates.
+     */
+    private Map<Long, TrackPoint> trackConnectionPoints;
+    /**
+     * All start and end points of the network, indexed by their packed
+     * coordinates.
+     */
+    private Map<Long, TrackPoint> allTrackPoints;
+    /**
+     * The registration of every start and end point, indexed by their packed
+     * coordinates.
+     */
+    private Map<Long, Long> pointRegistrations;
+    /**
+     * The horizontal segments of inherited points, indexed by their y-coordinate.
+     */
+    private Map<Integer, List<TrackSegment>> horizontalSegments;
+    /**
+     * The vertical segments of inherited points, indexed by their x-coordinate.
+     */
+    private Map<Integer, List<TrackSegment>> verticalSegments;
+    /**
+     * The removals of inherited points on horizontal lines, indexed by their
+     * y-coordinate.
+     */
+    private Map<Integer, List<PointRemoval>> horizontalRemovals;
+    /**
+     * The removals of inherited points on vertical lines, indexed by their
+     * x-coordinate.
+     */
+    private Map<Integer, List<PointRemoval>> verticalRemovals;
+    /**
+     * The x-coordinates of the connection points, indexed by their y-coordinate.
+     */
+    private Map<Integer, TreeSet<Integer>> horizontalConnections;
+    /**
+     * The y-coordinates of the connection points, indexed by their x-coordinate.
+     */
+    private Map<Integer, TreeSet<Integer>> verticalConnections;
+    /**
+     * The number of inherited points in the registered segments.
+     */
+    private int inheritedPointCount;
+    /**
+     * Counter for the registration of segments and of start and end points.
+     */
+    private long registrations;
+    /**
+     * The allocator which hands out the ids of the tracks of the network.
+     */
+    private final IdAllocator trackIds;
+    /**
+     * The nodes of the start and end points of the tracks.
+     */
+    private final TrackNodes nodes;
+    /**
+     * Knows which tracks hold the network together.
+     */
+    private final TrackConnectivity connectivity;
+    /**
+     * The graph of the tracks, or null if it has to be built again.
+     */
+    private TrackGraph graph;
+    /**
+     * Plans the routes of the trains in the network.
+     */
+    private final RoutePlanner routePlanner;
 
     /**
      * Constructor. Initialises all Lists.
      */
     public TrackNetwork() {
-        trackList = new ArrayList<NormalTrack>();
-        trackConnectionPointList = new ArrayList<TrackPoint>();
-        switchList = new ArrayList<TrackSwitch>();
-        allTrackPoints = new ArrayList<TrackPoint>();
+        trackConnectionPoints = new HashMap<Long, TrackPoint>();
+        tracksById = new LinkedHashMap<Integer, NormalTrack>();
+        switchesById = new LinkedHashMap<Integer, TrackSwitch>();
+        trackAdditions = new HashMap<Integer, Long>();
+        tracksAtPoint = new HashMap<Long, List<NormalTrack>>();
+        allTrackPoints = new HashMap<Long, TrackPoint>();
+        pointRegistrations = new HashMap<Long, Long>();
+        horizontalSegments = new HashMap<Integer, List<TrackSegment>>();
+        verticalSegments = new HashMap<Integer, List<TrackSegment>>();
+        horizontalRemovals = new HashMap<Integer, List<PointRemoval>>();
+        verticalRemovals = new HashMap<Integer, List<PointRemoval>>();
+        horizontalConnections = new HashMap<Integer, TreeSet<Integer>>();
+        verticalConnections = new HashMap<Integer, TreeSet<Integer>>();
+        trackIds = new IdAllocator();
+        nodes = new TrackNodes();
+        connectivity = new TrackConnectivity(nodes);
+        routePlanner = new RoutePlanner(this);
         trackNetworkActions = new TrackNetworkActions(this);
     }
 
@@ -40,6 +146,15 @@ public class TrackNetwork {
         return trackNetworkActions;
     }
 
+    /**
+     * Getter for the allocator of the track ids.
+     * 
+     * @return the allocator.
+     */
+    IdAllocator getTrackIds() {
+        return this.trackIds;
+    }
+
     /**
      * Returns the number of connected Tracks from a Point.
      * 
@@ -48,14 +163,45 @@ public class TrackNetwork {
      * @return the number of connected Tracks.
      */
     int numberOfConnectedTracks(TrackPoint trackStartPoint) {
-        int number = 0;
-        for (NormalTrack nt : this.trackList) {
-            if (nt.getStart().equals(trackStartPoint) || nt.getEnd().equals(trackStartPoint)) {
-                number = number + 1;
+        return this.getTracksAtPoint(trackStartPoint).size();
+
+    }
+
+    /**
+     * Returns the tracks which start or end at a point.
+     * 
+     * @param point the point.
+     * @return the list of tracks, which is empty if no track starts or ends at the
+     *         point.
+     */
+    private List<NormalTrack> getTracksAtPoint(TrackPoint point) {
+        return this.tracksAtPoint.getOrDefault(point.getKey(), Collections.<NormalTrack>emptyList());
+    }
+
+    /**
+     * Adds a track to the tracks which start or end at a point.
+     * 
+     * @param point the start or end point of the track.
+     * @param track the track.
+     */
+    private void addTrackAtPoint(TrackPoint point, NormalTrack track) {
+        this.tracksAtPoint.computeIfAbsent(point.getKey(), k -> new ArrayList<NormalTrack>(2)).add(track);
+    }
+
+    /**
+     * Removes a track from the tracks which start or end at a point.
+     * 
+     * @param point the start or end point of the track.
+     * @param track the track.
+     */
+    private void removeTrackAtPoint(TrackPoint point, NormalTrack track) {
+        List<NormalTrack> tracks = this.tracksAtPoint.get(point.getKey());
+        if (tracks != null) {
+            tracks.removeIf(nt -> nt == track);
+            if (tracks.isEmpty()) {
+                this.tracksAtPoint.remove(point.getKey());
             }
         }
-        return number;
-
     }
 
     /**
@@ -86,7 +232,7 @@ public class TrackNetwork {
      * @throws LogicException if the track is existing.
      */
     boolean checkIfTrackExists(TrackPoint start, TrackPoint end) throws LogicException {
-        for (NormalTrack tr : this.trackList) {
+        for (NormalTrack tr : this.getTracksAtPoint(start)) {
             if (tr.getStart().equals(start) && tr.getEnd().equals(end)
                     || tr.getStart().equals(end) && tr.getEnd().equals(start)) {
                 throw new LogicException(ErrorMessages.TRACK_ALREADY_EXISTS.getMessage());
@@ -102,85 +248,103 @@ public class TrackNetwork {
      * @return the fitting switch.
      */
     TrackSwitch findSwitch(String id) {
-        for (TrackSwitch ts : switchList) {
-            if (ts.getTrackID() == Integer.parseInt(id)) {
-                return ts;
-            }
-        }
-        return null;
+        return this.switchesById.get(Integer.parseInt(id));
     }
 
     /**
-     * Returns the Track that inherits the given point.
+     * Returns the Track that inherits the given point. If the segment of the point
+     * is part of the network, not parked and no other track inherits points with
+     * the same coordinates, the current track of the point is returned directly.
      * 
      * @param point the point of which the track should be
      * @return the Track that inherits the given Point.
      */
     NormalTrack getTrackWithPoint(TrackPoint point) {
-        for (NormalTrack nt : this.trackList) {
-            if (nt.getInheritedPoints().contains(point)) {
-                if (!this.trackConnectionPointList.contains(point)) {
-                    return nt;
+        if (point instanceof VirtualTrackPoint && ((VirtualTrackPoint) point).getSegment().isExclusive()) {
+            return point.getCurrentTrack();
+        }
+        if (this.trackConnectionPoints.containsKey(point.getKey())) {
+            return null;
+        }
+        if (point instanceof VirtualTrackPoint) {
+            TrackSegment segment = ((VirtualTrackPoint) point).getSegment();
+            if (segment.getRegistration() != 0 && !segment.isParked() && segment.getOverlaps() == 0) {
+                return point.getCurrentTrack();
+            }
+        }
+        NormalTrack found = this.findFirstTrack(this.horizontalSegments.get(point.getCoordY()), point, null);
+        return this.findFirstTrack(this.verticalSegments.get(point.getCoordX()), point, found);
+    }
+
+    /**
+     * Finds the track of a line which inherits the given point and was added to
+     * the network before the track found so far.
+     * 
+     * @param line  the segments of the line or null.
+     * @param point the point.
+     * @param found the track found so far or null.
+     * @return the track which was added first or null.
+     */
+    private NormalTrack findFirstTrack(List<TrackSegment> line, TrackPoint point, NormalTrack found) {
+        NormalTrack first = found;
+        if (line != null) {
+            for (TrackSegment segment : line) {
+                NormalTrack track = segment.getTrack();
+                if (track != first && segment.offsetOf(point.getCoordX(), point.getCoordY()) != 0
+                        && track.gotPoint(point) != null && (first == null
+                                || this.trackAdditions.get(track.getTrackID()) < this.trackAdditions
+                                        .get(first.getTrackID()))) {
+                    first = track;
                 }
             }
         }
-        return null;
+        return first;
     }
 
     /**
-     * Adds TrackPoints to the trackConnectionPointList.
+     * Adds TrackPoints to the trackConnectionPoints.
      * 
      * @param trackStartPoint the first point to be added.
      * @param trackEnd1Point  the second point to be added.
      * @param trackEnd2Point  the third point to be added.
      */
     void addPoints(TrackPoint trackStartPoint, TrackPoint trackEnd1Point, TrackPoint trackEnd2Point) {
-        if (this.findTrackPointNull(trackStartPoint) == null) {
-            trackConnectionPointList.add(trackStartPoint);
-        }
-        if (this.findTrackPointNull(trackEnd1Point) == null) {
-            trackConnectionPointList.add(trackEnd1Point);
-        }
-        if (this.findTrackPointNull(trackEnd2Point) == null) {
-            trackConnectionPointList.add(trackEnd2Point);
-        }
+        this.addConnectionPoint(trackStartPoint);
+        this.addConnectionPoint(trackEnd1Point);
+        this.addConnectionPoint(trackEnd2Point);
     }
 
     /**
-     * Adds TrackPoints to the trackConnectionPointList.
+     * Adds TrackPoints to the trackConnectionPoints.
      * 
      * @param trackStartPoint the first point to be added.
      * @param trackEndPoint   the second point to be added.
      */
     void addPoints(TrackPoint trackStartPoint, TrackPoint trackEndPoint) {
-        if (this.findTrackPointNull(trackStartPoint) == null) {
-            trackConnectionPointList.add(trackStartPoint);
-        }
-        if (this.findTrackPointNull(trackEndPoint) == null) {
-            trackConnectionPointList.add(trackEndPoint);
-        }
+        this.addConnectionPoint(trackStartPoint);
+        this.addConnectionPoint(trackEndPoint);
     }
 
     /**
-     * Checks if the TrackPointList contains a TrackPoint. If not it returns the
-     * given TrackPoint. This method helps in the add track and add switch method.
+     * Checks if the trackConnectionPoints contain a TrackPoint. If not it returns
+     * the given TrackPoint. This method helps in the add track and add switch
+     * method.
      * 
      * @param trackPoint the trackPoint that should be found.
-     * @return the given TrackPoint, or the aquivalent point in the list.
+     * @return the given TrackPoint, or the aquivalent point in the network.
      */
     public TrackPoint findTrackPoint(TrackPoint trackPoint) {
-        return this.trackConnectionPointList.stream().filter(s -> s.equals(trackPoint)).findFirst().orElse(trackPoint);
+        return this.trackConnectionPoints.getOrDefault(trackPoint.getKey(), trackPoint);
     }
 
     /**
-     * /** Finds a TrackPoint in the trackConnectionPointList.
-     * 
+     * Finds a TrackPoint in the trackConnectionPoints.
      *
      * @param trackPoint the TrackPoint that should be searched.
      * @return the TrackPoint that equals or null.
      */
     TrackPoint findTrackPointNull(TrackPoint trackPoint) {
-        return this.trackConnectionPointList.stream().filter(s -> s.equals(trackPoint)).findFirst().orElse(null);
+        return this.trackConnectionPoints.get(trackPoint.getKey());
     }
 
     /**
@@ -201,11 +365,11 @@ public class TrackNetwork {
      * @return the trackList as String.
      */
     public String trackListToString() {
-        String toReturn = "";
-        for (NormalTrack track : this.trackList) {
-            toReturn += track.toString() + "\n";
+        StringBuilder output = new StringBuilder();
+        for (NormalTrack track : this.tracksById.values()) {
+            output.append(track).append('\n');
         }
-        return toReturn.trim();
+        return output.toString().trim();
     }
 
     /**
@@ -214,7 +378,7 @@ public class TrackNetwork {
      * @return true if trackList is empty, false if else.
      */
     public boolean isEmpty() {
-        if (this.trackList.isEmpty()) {
+        if (this.tracksById.isEmpty()) {
             return true;
         } else {
             return false;
@@ -222,169 +386,341 @@ public class TrackNetwork {
     }
 
     /**
-     * Checks if a point is inherited.
+     * Checks if a point is inherited. If a start or end point and the segments of
+     * other tracks have the coordinates, the one which was registered first is
+     * returned, so the track which was added first wins. Points which were
+     * removed by their coordinates after they were registered are left out.
      * 
      * @param point the point to find.
      * @return the point that equals or null
      */
     TrackPoint checkIfInherited(TrackPoint point) {
-        return this.allTrackPoints.stream().filter(s -> s.equals(point)).findAny().orElse(null);
+        int coordX = point.getCoordX();
+        int coordY = point.getCoordY();
+        TrackSegment segment = this.findFirstSegment(this.horizontalSegments.get(coordY), coordX, coordY, null);
+        segment = this.findFirstSegment(this.verticalSegments.get(coordX), coordX, coordY, segment);
+        Long registration = this.pointRegistrations.get(point.getKey());
+        if (registration != null && this.isRemoved(coordX, coordY, registration)) {
+            registration = null;
+        }
+        if (segment != null && (registration == null || segment.getRegistration() < registration)) {
+            return segment.getPoint(segment.offsetOf(coordX, coordY));
+        }
+        return registration == null ? null : this.allTrackPoints.get(point.getKey());
     }
 
     /**
-     * Adds a List of TrackPoints to the allTrackPointList. Only adds if
-     * allTrackPoints does not contain the points.
+     * Finds the segment of a line which inherits the given coordinates and was
+     * added before the segment found so far.
      * 
-     * @param points the list of points to be added.
+     * @param line   the segments of the line or null.
+     * @param coordX the x-coordinate of the point.
+     * @param coordY the y-coordinate of the point.
+     * @param found  the segment found so far or null.
+     * @return the segment which was added first or null.
      */
-    void addTrackPoints(List<TrackPoint> points) {
-        for (TrackPoint point : points) {
-            if (!allTrackPoints.contains(point)) {
-                allTrackPoints.add(point);
+    private TrackSegment findFirstSegment(List<TrackSegment> line, int coordX, int coordY, TrackSegment found) {
+        TrackSegment first = found;
+        if (line != null) {
+            for (TrackSegment segment : line) {
+                if (!segment.isParked() && segment.offsetOf(coordX, coordY) != 0
+                        && (first == null || segment.getRegistration() < first.getRegistration())
+                        && !this.isRemoved(coordX, coordY, segment.getRegistration())) {
+                    first = segment;
+                }
             }
         }
+        return first;
     }
 
     /**
-     * Checks if unset switches are present in the trackNet.
+     * Adds the segments of inherited points of a track to the network. Segments
+     * which are already added are ignored.
      * 
-     * @return true if unset switches are present, false if not
+     * @param track the track of which the inherited points should be added.
      */
-    boolean switchUnset() {
-        for (TrackSwitch ts : this.switchList) {
-            if (ts.getActiveSwitchEnd() == null) {
-                return true;
+    void addInheritedPoints(NormalTrack track) {
+        for (TrackSegment segment : track.getInheritedSegments()) {
+            this.registerSegment(segment);
+        }
+    }
+
+    /**
+     * Removes the segments of inherited points of a track from the network. The
+     * legs of a switch are removed as well.
+     * 
+     * @param track the track of which the inherited points should be removed.
+     */
+    private void removeInheritedPoints(NormalTrack track) {
+        for (TrackSegment segment : track.getInheritedSegments()) {
+            this.removePoints(segment);
+            this.unregisterSegment(segment);
+        }
+        if (track instanceof TrackSwitch) {
+            for (TrackSegment leg : ((TrackSwitch) track).getLegs()) {
+                this.removePoints(leg);
+                this.unregisterSegment(leg);
             }
         }
-        return false;
     }
 
     /**
-     * Removes all points of a given switch form the allTrackPointsList.
+     * Removes the points with the coordinates of the inherited points of a
+     * segment, the points of other tracks which were registered before included.
+     * Parked segments and segments which are not in the network have no points
+     * to remove.
      * 
-     * @param switchToSet the switch of which the Points should be removed.
+     * @param segment the segment.
      */
-    void removeTrackPoints(TrackSwitch switchToSet) {
-        this.allTrackPoints.removeAll(switchToSet.inheritedPoints);
+    private void removePoints(TrackSegment segment) {
+        if (segment.getRegistration() != 0 && !segment.isParked() && segment.getSize() > 0) {
+            this.registrations = this.registrations + 1;
+            this.addRemoval(new PointRemoval(segment, this.registrations));
+        }
     }
 
     /**
-     * Finds a track with a given id in the railNet.
+     * Adds a removal to its line. Older removals which it covers are dropped, they
+     * do not remove any point the new one does not remove.
      * 
-     * @param trackId the id of the track that should be returned.
-     * @return the track with the given id
-     * @throws LogicException if track with id does not exist.
+     * @param removal the removal.
      */
-    NormalTrack findTrack(int trackId) throws LogicException {
-        for (NormalTrack nt : this.trackList) {
-            if (nt.getTrackID() == trackId) {
-                return nt;
+    private void addRemoval(PointRemoval removal) {
+        Map<Integer, List<PointRemoval>> lines = removal.isHorizontal() ? this.horizontalRemovals
+                : this.verticalRemovals;
+        List<PointRemoval> line = lines.computeIfAbsent(removal.getLine(), k -> new ArrayList<PointRemoval>());
+        line.removeIf(removal::covers);
+        line.add(removal);
+    }
+
+    /**
+     * Checks if the point with the given coordinates was removed after it was
+     * registered.
+     * 
+     * @param coordX       the x-coordinate of the point.
+     * @param coordY       the y-coordinate of the point.
+     * @param registration the registration of the point.
+     * @return true if the point was removed.
+     */
+    private boolean isRemoved(int coordX, int coordY, long registration) {
+        return this.isRemoved(this.horizontalRemovals.get(coordY), coordX, registration)
+                || this.isRemoved(this.verticalRemovals.get(coordX), coordY, registration);
+    }
+
+    /**
+     * Checks if a removal on a line covers a coordinate after the given
+     * registration.
+     * 
+     * @param line         the removals of the line or null.
+     * @param coordinate   the coordinate along the line.
+     * @param registration the registration of the point.
+     * @return true if the point was removed.
+     */
+    private boolean isRemoved(List<PointRemoval> line, int coordinate, long registration) {
+        if (line != null) {
+            for (PointRemoval removal : line) {
+                if (removal.getRegistration() > registration && removal.covers(coordinate)) {
+                    return true;
+                }
             }
         }
-        throw new LogicException(ErrorMessages.TRACK_NOT_EXISTING.getMessage());
+        return false;
     }
 
     /**
-     * Returns the number of connected Tracks from a Track.
+     * Adds a segment to the network, if it is not added yet.
      * 
-     * @param trackToDelete the track the number of connected Tracks should be
-     *                      calculated for.
-     * @return the number of connected Tracks.
+     * @param segment the segment.
      */
-    int numberOfConnectedTracks(NormalTrack trackToDelete) {
-        int number = 0;
-        TrackPoint start = trackToDelete.getStart();
-        for (NormalTrack nt : trackList) {
-            if (!nt.equals(trackToDelete) && nt.getStart().equals(start) || nt.getEnd().equals(start)) {
-                number = number + 1;
-            }
+    private void registerSegment(TrackSegment segment) {
+        if (segment.getRegistration() == 0) {
+            this.registrations = this.registrations + 1;
+            segment.setRegistration(this.registrations);
+            this.countOverlaps(segment, 1);
+            segment.setConnectionPoints(this.countConnectionPoints(segment));
+            this.getLine(segment).add(segment);
+            this.inheritedPointCount = this.inheritedPointCount + segment.getSize();
+        }
+    }
+
+    /**
+     * Removes a segment from the network, if it is added.
+     * 
+     * @param segment the segment.
+     */
+    private void unregisterSegment(TrackSegment segment) {
+        if (segment.getRegistration() != 0 && this.getLine(segment).remove(segment)) {
+            this.countOverlaps(segment, -1);
+            segment.setConnectionPoints(0);
+            segment.setRegistration(0);
+            this.inheritedPointCount = this.inheritedPointCount - segment.getSize();
         }
-        TrackPoint end = trackToDelete.getEnd();
-        for (NormalTrack nt : trackList) {
-            if (!nt.equals(trackToDelete) && (nt.getStart().equals(end) || nt.getEnd().equals(end))) {
-                number = number + 1;
+    }
+
+    /**
+     * Takes a switch off its current leg before it is set again. The segments of
+     * an unset switch are removed from the network, the leg of a set switch stays
+     * in the network and is parked.
+     * 
+     * @param trackSwitch the switch.
+     */
+    void releaseSwitch(TrackSwitch trackSwitch) {
+        if (trackSwitch.getActiveSwitchEnd() == null) {
+            this.removeInheritedPoints(trackSwitch);
+        } else {
+            for (TrackSegment segment : trackSwitch.getInheritedSegments()) {
+                this.removePoints(segment);
+                segment.setParked(true);
             }
         }
-        return number;
     }
 
     /**
-     * Checks if a way exists from the startPoint to the endPoint, without the track
-     * that should be deleted.
+     * Makes the leg between the start and one end of a switch its inherited
+     * points. If the segment of the leg is in the network and runs in the same
+     * direction, it is only taken out of the parked state and gets a new
+     * registration, as if it was added again. Otherwise the segment is built in
+     * the given direction and added to the network.
      * 
-     * @param trackToDelete the track to delete
-     * @param start         the startPoint
-     * @param end           the endPoint
-     * @return true if way exists, false if not.
-     */
-    boolean existingWayWithout(NormalTrack trackToDelete, TrackPoint start, TrackPoint end) {
-        boolean wayWithOut = false;
-        TrackPoint startPoint = start;
-        if (start == null) {
-            return false;
+     * @param trackSwitch the switch.
+     * @param from        the first point, the start or an end.
+     * @param to          the last point, an end or the start.
+     */
+    void useLeg(TrackSwitch trackSwitch, TrackPoint from, TrackPoint to) {
+        TrackPoint end = from.equals(trackSwitch.getStart()) ? to : from;
+        TrackSegment leg = trackSwitch.getLeg(end);
+        if (leg != null && leg.getRegistration() != 0 && leg.startsAt(from)) {
+            leg.setParked(false);
+            this.registrations = this.registrations + 1;
+            leg.setRegistration(this.registrations);
+        } else {
+            if (leg != null) {
+                this.unregisterSegment(leg);
+            }
+            if (leg != null && leg.startsAt(from)) {
+                leg.reset();
+            } else {
+                leg = new TrackSegment(trackSwitch, from, to);
+                trackSwitch.setLeg(end, leg);
+            }
+            this.registerSegment(leg);
         }
-        if (start.equals(end)) {
-            return true;
+        trackSwitch.useLeg(leg);
+    }
+
+    /**
+     * Changes the number of overlaps of a segment and of every segment of another
+     * track in the network which intersects it.
+     * 
+     * @param segment the segment which is added to or removed from the network.
+     * @param change  1 if the segment is added, -1 if it is removed.
+     */
+    private void countOverlaps(TrackSegment segment, int change) {
+        List<TrackSegment> intersecting = new ArrayList<TrackSegment>();
+        Map<Integer, List<TrackSegment>> crossingLines;
+        int low;
+        int high;
+        if (segment.isHorizontal()) {
+            crossingLines = this.verticalSegments;
+            low = segment.getLowX();
+            high = segment.getHighX();
+        } else {
+            crossingLines = this.horizontalSegments;
+            low = segment.getLowY();
+            high = segment.getHighY();
         }
-        List<TrackPoint> pointsWithOutTrack;
-        if (trackToDelete.gotPoint(startPoint.getNext()) != null) {
-            pointsWithOutTrack = this.getAllPreviousPoints(startPoint);
-            for (int i = 0; i < pointsWithOutTrack.size(); i++) {
-                if (startPoint.equals(end)) {
-                    return true;
-                }
-                startPoint = startPoint.getPrevious();
-                wayWithOut = false;
+        intersecting.addAll(this.getLine(segment));
+        if (high - low < crossingLines.size()) {
+            for (int i = low; i <= high; i++) {
+                intersecting.addAll(crossingLines.getOrDefault(i, Collections.<TrackSegment>emptyList()));
             }
-        } else if (trackToDelete.gotPoint(trackToDelete.start.getPrevious()) != null) {
-            pointsWithOutTrack = this.getAllNextPoints(startPoint);
-            for (int i = 0; i < pointsWithOutTrack.size(); i++) {
-                if (startPoint.equals(end)) {
-                    return false;
-                }
-                startPoint = startPoint.getNext();
-                wayWithOut = true;
+        } else {
+            for (List<TrackSegment> line : crossingLines.values()) {
+                intersecting.addAll(line);
+            }
+        }
+        for (TrackSegment other : intersecting) {
+            if (other != segment && other.getTrack() != segment.getTrack() && other.intersects(segment)) {
+                other.setOverlaps(other.getOverlaps() + change);
+                segment.setOverlaps(segment.getOverlaps() + change);
             }
         }
-        return wayWithOut;
     }
 
     /**
-     * Gets all Points from a startPoint in the next-direction.
+     * Returns the list of segments which lie on the same line as the given
+     * segment.
      * 
-     * @param start the startPoint the connected points should be returned from
-     * @return the List of next TrackPoints.
+     * @param segment the segment.
+     * @return the list of segments on the line.
      */
-    private List<TrackPoint> getAllNextPoints(TrackPoint start) {
-        List<TrackPoint> nextPoints = new ArrayList<TrackPoint>();
-        TrackPoint next = start.getNext();
-        for (int i = 0; i < allTrackPoints.size(); i++) {
-            if (next == null) {
-                break;
-            }
-            nextPoints.add(next);
-            next = next.getNext();
+    private List<TrackSegment> getLine(TrackSegment segment) {
+        if (segment.isHorizontal()) {
+            return this.horizontalSegments.computeIfAbsent(segment.getOriginY(),
+                k -> new ArrayList<TrackSegment>());
         }
-        return nextPoints;
+        return this.verticalSegments.computeIfAbsent(segment.getOriginX(), k -> new ArrayList<TrackSegment>());
     }
 
     /**
-     * Gets all Points from a startPoint in the previous-direction.
+     * Checks if unset switches are present in the trackNet.
      * 
-     * @param start the startPoint the connected points should be returned from
-     * @return the List of previous TrackPoints.
+     * @return true if unset switches are present, false if not
      */
-    private List<TrackPoint> getAllPreviousPoints(TrackPoint start) {
-        List<TrackPoint> previousPoints = new ArrayList<TrackPoint>();
-        TrackPoint next = start.getPrevious();
-        for (int i = 0; i < allTrackPoints.size(); i++) {
-            if (next == null) {
-                break;
+    boolean switchUnset() {
+        for (TrackSwitch ts : this.switchesById.values()) {
+            if (ts.getActiveSwitchEnd() == null) {
+                return true;
             }
-            previousPoints.add(next);
-            next = next.getPrevious();
         }
-        return previousPoints;
+        return false;
+    }
+
+    /**
+     * Finds a track with a given id in the railNet.
+     * 
+     * @param trackId the id of the track that should be returned.
+     * @return the track with the given id
+     * @throws LogicException if track with id does not exist.
+     */
+    NormalTrack findTrack(int trackId) throws LogicException {
+        NormalTrack track = this.tracksById.get(trackId);
+        if (track == null) {
+            throw new LogicException(ErrorMessages.TRACK_NOT_EXISTING.getMessage());
+        }
+        return track;
+    }
+
+    /**
+     * Returns the graph of the tracks. It is built again after a track was added
+     * or deleted.
+     * 
+     * @return the graph of the current tracks.
+     */
+    TrackGraph getGraph() {
+        if (this.graph == null) {
+            this.graph = new TrackGraph(this.tracksById.values(), this.nodes);
+        }
+        return this.graph;
+    }
+
+    /**
+     * Getter for the planner of the routes in the network.
+     * 
+     * @return the route planner.
+     */
+    RoutePlanner getRoutePlanner() {
+        return this.routePlanner;
+    }
+
+    /**
+     * Checks if all other tracks are still connected if a track is deleted.
+     * 
+     * @param trackToDelete the track to delete
+     * @return true if the network stays connected, false if not.
+     */
+    boolean staysConnectedWithout(NormalTrack trackToDelete) {
+        return this.connectivity.staysConnectedWithout(trackToDelete);
     }
 
     /**
@@ -393,9 +729,16 @@ public class TrackNetwork {
      * @param trackToDelete the track to be deleted.
      */
     void remove(NormalTrack trackToDelete) {
-        this.trackList.remove(trackToDelete);
-        this.switchList.remove(trackToDelete);
-        this.allTrackPoints.removeAll(trackToDelete.getInheritedPoints());
+        NormalTrack removed = this.tracksById.remove(trackToDelete.getTrackID());
+        if (removed != null) {
+            this.trackAdditions.remove(removed.getTrackID());
+            this.removeTrackAtPoint(removed.getStart(), removed);
+            this.removeTrackAtPoint(removed.getEnd(), removed);
+            this.connectivity.remove(removed);
+            this.graph = null;
+        }
+        this.switchesById.remove(trackToDelete.getTrackID());
+        this.removeInheritedPoints(trackToDelete);
 
     }
 
@@ -405,15 +748,25 @@ public class TrackNetwork {
      * @return the cloned tracklist
      */
     public List<NormalTrack> getTrackList() {
-        return this.clonedTrackList();
+        return new ArrayList<NormalTrack>(this.tracksById.values());
     }
 
-    private List<NormalTrack> clonedTrackList() {
-        List<NormalTrack> clonedVersion = new ArrayList<NormalTrack>();
-        for (NormalTrack nt : this.trackList) {
-            clonedVersion.add(nt);
-        }
-        return clonedVersion;
+    /**
+     * Getter for the Tracks of the network in the order they were added.
+     * 
+     * @return a read-only view of the Tracks.
+     */
+    Collection<NormalTrack> getTracks() {
+        return Collections.unmodifiableCollection(this.tracksById.values());
+    }
+
+    /**
+     * Getter for the number of Tracks in the network.
+     * 
+     * @return the number of Tracks.
+     */
+    int getTrackCount() {
+        return this.tracksById.size();
     }
 
     /**
@@ -430,7 +783,7 @@ public class TrackNetwork {
      */
     public int getTotalLength() {
         int totalLength = 0;
-        for (NormalTrack nt : this.trackList) {
+        for (NormalTrack nt : this.tracksById.values()) {
             totalLength += nt.getLength();
         }
         return totalLength;
@@ -455,13 +808,17 @@ public class TrackNetwork {
     }
 
     /**
-     * Adds a TrackPoint to the allTrackPointList.
+     * Adds a TrackPoint to the allTrackPoints.
      * 
      * @param trackPoint the point to be added.
      */
     public void add(TrackPoint trackPoint) {
-        this.allTrackPoints.add(trackPoint);
-
+        Long registration = this.pointRegistrations.get(trackPoint.getKey());
+        if (registration == null || this.isRemoved(trackPoint.getCoordX(), trackPoint.getCoordY(), registration)) {
+            this.allTrackPoints.put(trackPoint.getKey(), trackPoint);
+            this.registrations = this.registrations + 1;
+            this.pointRegistrations.put(trackPoint.getKey(), this.registrations);
+        }
     }
 
     /**
@@ -470,7 +827,13 @@ public class TrackNetwork {
      * @param nt the track to be added.
      */
     public void addNormalTrackToNetwork(NormalTrack nt) {
-        this.trackList.add(nt);
+        this.tracksById.put(nt.getTrackID(), nt);
+        this.additions = this.additions + 1;
+        this.trackAdditions.put(nt.getTrackID(), this.additions);
+        this.addTrackAtPoint(nt.getStart(), nt);
+        this.addTrackAtPoint(nt.getEnd(), nt);
+        this.connectivity.add(nt);
+        this.graph = null;
 
     }
 
@@ -480,7 +843,183 @@ public class TrackNetwork {
      * @param trackSwitch the switch to be added.
      */
     public void addSwitchToNetwork(TrackSwitch trackSwitch) {
-        this.switchList.add(trackSwitch);
+        this.switchesById.put(trackSwitch.getTrackID(), trackSwitch);
+
+    }
+
+    /**
+     * Getter for the Points Tracks start or end at. Points stay in the network
+     * even if their Tracks are deleted.
+     * 
+     * @return the connection Points.
+     */
+    Collection<TrackPoint> getConnectionPoints() {
+        return Collections.unmodifiableCollection(this.trackConnectionPoints.values());
+    }
+
+    /**
+     * Adds a Point Tracks start or end at, if there is no Point with the same
+     * coordinates yet.
+     * 
+     * @param trackPoint the Point.
+     */
+    void addConnectionPoint(TrackPoint trackPoint) {
+        if (this.trackConnectionPoints.putIfAbsent(trackPoint.getKey(), trackPoint) != null) {
+            return;
+        }
+        int coordX = trackPoint.getCoordX();
+        int coordY = trackPoint.getCoordY();
+        this.horizontalConnections.computeIfAbsent(coordY, k -> new TreeSet<Integer>()).add(coordX);
+        this.verticalConnections.computeIfAbsent(coordX, k -> new TreeSet<Integer>()).add(coordY);
+        this.countConnectionPoint(this.horizontalSegments.get(coordY), coordX, coordY);
+        this.countConnectionPoint(this.verticalSegments.get(coordX), coordX, coordY);
+    }
+
+    /**
+     * Increases the number of connection points of every segment of a line which
+     * inherits the coordinates of a new connection point.
+     * 
+     * @param line   the segments of the line or null.
+     * @param coordX the x-coordinate of the connection point.
+     * @param coordY the y-coordinate of the connection point.
+     */
+    private void countConnectionPoint(List<TrackSegment> line, int coordX, int coordY) {
+        if (line != null) {
+            for (TrackSegment segment : line) {
+                if (segment.offsetOf(coordX, coordY) != 0) {
+                    segment.setConnectionPoints(segment.getConnectionPoints() + 1);
+                }
+            }
+        }
+    }
 
+    /**
+     * Counts the connection points which lie on a segment.
+     * 
+     * @param segment the segment.
+     * @return the number of connection points on the segment.
+     */
+    private int countConnectionPoints(TrackSegment segment) {
+        TreeSet<Integer> line;
+        if (segment.isHorizontal()) {
+            line = this.horizontalConnections.get(segment.getOriginY());
+            return line == null ? 0 : line.subSet(segment.getLowX(), true, segment.getHighX(), true).size();
+        }
+        line = this.verticalConnections.get(segment.getOriginX());
+        return line == null ? 0 : line.subSet(segment.getLowY(), true, segment.getHighY(), true).size();
+    }
+
+    /**
+     * Getter for the Points which were added with {@link #add(TrackPoint)}.
+     * 
+     * @return the Points.
+     */
+    Collection<TrackPoint> getAllTrackPoints() {
+        return Collections.unmodifiableCollection(this.allTrackPoints.values());
+    }
+
+    /**
+     * Returns all registered segments. The segments of every line are in the order
+     * they were registered in the line.
+     * 
+     * @return the registered segments.
+     */
+    List<TrackSegment> getRegisteredSegments() {
+        List<TrackSegment> segments = new ArrayList<TrackSegment>();
+        for (List<TrackSegment> line : this.horizontalSegments.values()) {
+            segments.addAll(line);
+        }
+        for (List<TrackSegment> line : this.verticalSegments.values()) {
+            segments.addAll(line);
+        }
+        return segments;
+    }
+
+    /**
+     * Adds a segment of a snapshot to its line. The registration and the overlaps
+     * of the segment are kept as they are, the connection points on it are counted
+     * again.
+     * 
+     * @param segment the segment.
+     */
+    void restoreRegisteredSegment(TrackSegment segment) {
+        segment.setConnectionPoints(this.countConnectionPoints(segment));
+        this.getLine(segment).add(segment);
+    }
+
+    /**
+     * Getter for the registration of a start or end point.
+     * 
+     * @param trackPoint a Point which was added with {@link #add(TrackPoint)}.
+     * @return the registration.
+     */
+    long getRegistration(TrackPoint trackPoint) {
+        return this.pointRegistrations.get(trackPoint.getKey());
+    }
+
+    /**
+     * Getter for the removals of inherited points.
+     * 
+     * @return the removals of all lines.
+     */
+    List<PointRemoval> getRemovals() {
+        List<PointRemoval> removals = new ArrayList<PointRemoval>();
+        for (List<PointRemoval> line : this.horizontalRemovals.values()) {
+            removals.addAll(line);
+        }
+        for (List<PointRemoval> line : this.verticalRemovals.values()) {
+            removals.addAll(line);
+        }
+        return removals;
+    }
+
+    /**
+     * Adds a removal of inherited points of a snapshot to its line.
+     * 
+     * @param removal the removal.
+     */
+    void restoreRemoval(PointRemoval removal) {
+        this.addRemoval(removal);
+    }
+
+    /**
+     * Adds a start or end point of a snapshot. The registration of the Point is
+     * kept as it is.
+     * 
+     * @param trackPoint   the Point.
+     * @param registration the registration of the Point.
+     */
+    void restoreTrackPoint(TrackPoint trackPoint, long registration) {
+        this.allTrackPoints.put(trackPoint.getKey(), trackPoint);
+        this.pointRegistrations.put(trackPoint.getKey(), registration);
+    }
+
+    /**
+     * Getter for the number of Points in the registered segments.
+     * 
+     * @return the number of inherited Points.
+     */
+    int getInheritedPointCount() {
+        return this.inheritedPointCount;
+    }
+
+    /**
+     * Getter for the number of registrations of segments so far.
+     * 
+     * @return the last registration.
+     */
+    long getRegistrations() {
+        return this.registrations;
+    }
+
+    /**
+     * Sets the counters of the registered segments to the ones of a snapshot.
+     * 
+     * @param inheritedPointCount the number of Points in the registered segments.
+     * @param registrations       the last registration.
+     */
+    void restoreRegistrations(int inheritedPointCount, long registrations) {
+        this.inheritedPointCount = inheritedPointCount;
+        this.registrations = registrations;
     }
 }
\ No newline at end of file
@@ -40,11 +40,11 @@ public class TrackNetworkActions {
         TrackSwitch trackSwitch = null;
         if (netWork.isFirstTrack()) {
             netWork.setFirstTrack(false);
-            trackSwitch = new TrackSwitch(trackStartPoint, trackEnd1Point, trackEnd2Point);
+            trackSwitch = new TrackSwitch(trackStartPoint, trackEnd1Point, trackEnd2Point, netWork.getTrackIds());
             trackSwitch.setActive();
             trackSwitch.linkNormalDirection();
             netWork.addPoints(trackStartPoint, trackEnd1Point, trackEnd2Point);
-            netWork.addTrackPoints(trackSwitch.getInheritedPoints());
+            netWork.addInheritedPoints(trackSwitch);
             trackSwitch.setPointsInActive();
             netWork.add(trackStartPoint);
             netWork.add(trackEnd1Point);
@@ -66,7 +66,7 @@ public class TrackNetworkActions {
             TrackPoint newTrackStart = netWork.findTrackPoint(trackStartPoint);
             TrackPoint newTrackEnd1 = netWork.findTrackPoint(trackEnd1Point);
             TrackPoint newTrackEnd2 = netWork.findTrackPoint(trackEnd2Point);
-            trackSwitch = new TrackSwitch(newTrackStart, newTrackEnd1, newTrackEnd2);
+            trackSwitch = new TrackSwitch(newTrackStart, newTrackEnd1, newTrackEnd2, netWork.getTrackIds());
             trackSwitch.setActive();
             netWork.addPoints(newTrackStart, newTrackEnd1, newTrackEnd2);
             netWork.addNormalTrackToNetwork(trackSwitch);
@@ -92,7 +92,7 @@ public class TrackNetworkActions {
             if (netWork.checkIfInherited(newTrackEnd2) == null) {
                 netWork.add(newTrackEnd2);
             }
-            netWork.addTrackPoints(trackSwitch.getInheritedPoints());
+            netWork.addInheritedPoints(trackSwitch);
             trackSwitch.setPointsInActive();
             return "" + trackSwitch.getTrackID();
         }
@@ -125,12 +125,12 @@ public class TrackNetworkActions {
             }
             netWork.setFirstTrack(false);
             netWork.addPoints(trackStartPoint, trackEndPoint);
-            newTrack = new NormalTrack(trackStartPoint, trackEndPoint);
+            newTrack = new NormalTrack(trackStartPoint, trackEndPoint, netWork.getTrackIds());
             newTrack.setActive();
             newTrack.linkNormalDirection();
             netWork.addNormalTrackToNetwork(newTrack);
             netWork.add(trackStartPoint);
-            netWork.addTrackPoints(newTrack.getInheritedPoints());
+            netWork.addInheritedPoints(newTrack);
             netWork.add(trackEndPoint);
             return "" + newTrack.getTrackID();
         } else {
@@ -145,7 +145,7 @@ public class TrackNetworkActions {
                     || netWork.numberOfConnectedTracks(newTrackEnd) == 2) {
                 throw new LogicException(ErrorMessages.POINT_HAS_TWO_CONNECTED.getMessage());
             }
-            newTrack = new NormalTrack(newTrackStart, newTrackEnd);
+            newTrack = new NormalTrack(newTrackStart, newTrackEnd, netWork.getTrackIds());
             newTrack.setActive();
             if (netWork.findTrackPointNull(trackEndPoint) == null) {
                 if (newTrackStart.getNext() != null) {
@@ -169,7 +169,7 @@ public class TrackNetworkActions {
             if (netWork.findTrackPointNull(trackStartPoint) == null) {
                 netWork.add(newTrackStart);
             }
-            netWork.addTrackPoints(newTrack.getInheritedPoints());
+            netWork.addInheritedPoints(newTrack);
             if (netWork.findTrackPointNull(trackEndPoint) == null) {
                 netWork.add(newTrackEnd);
             }
@@ -0,0 +1,102 @@
+package logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Numbers the start and end points of the Tracks of a TrackNetwork. A point
+ * gets its node the first time it is asked for and keeps it as long as the
+ * network exists, also if its Tracks are deleted. The graphs of the network and
+ * the analysis of its connectivity share these nodes, so both can index their
+ * arrays by them.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class TrackNodes {
+    /**
+     * The nodes, indexed by the key of their point.
+     */
+    private final Map<Long, Integer> nodes;
+    /**
+     * The x-coordinate of every node.
+     */
+    private int[] nodeX;
+    /**
+     * The y-coordinate of every node.
+     */
+    private int[] nodeY;
+
+    /**
+     * Constructor for a network without points.
+     */
+    TrackNodes() {
+        this.nodes = new HashMap<Long, Integer>();
+        this.nodeX = new int[16];
+        this.nodeY = new int[16];
+    }
+
+    /**
+     * Returns the node of a point, and creates it if it does not exist yet.
+     *
+     * @param point the point.
+     * @return the node.
+     */
+    int node(TrackPoint point) {
+        Integer node = this.nodes.get(point.getKey());
+        if (node == null) {
+            node = this.nodes.size();
+            if (node == this.nodeX.length) {
+                this.nodeX = Arrays.copyOf(this.nodeX, node * 2);
+                this.nodeY = Arrays.copyOf(this.nodeY, node * 2);
+            }
+            this.nodes.put(point.getKey(), node);
+            this.nodeX[node] = point.getCoordX();
+            this.nodeY[node] = point.getCoordY();
+        }
+        return node;
+    }
+
+    /**
+     * Returns the node at some coordinates.
+     *
+     * @param coordX the x-coordinate.
+     * @param coordY the y-coordinate.
+     * @return the node, or -1 if there is none.
+     */
+    int findNode(int coordX, int coordY) {
+        Integer node = this.nodes.get(TrackPoint.packCoordinates(coordX, coordY));
+        return node == null ? -1 : node;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return the number of nodes.
+     */
+    int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Returns the x-coordinate of a node.
+     *
+     * @param node the node.
+     * @return the x-coordinate.
+     */
+    int getX(int node) {
+        return this.nodeX[node];
+    }
+
+    /**
+     * Returns the y-coordinate of a node.
+     *
+     * @param node the node.
+     * @return the y-coordinate.
+     */
+    int getY(int node) {
+        return this.nodeY[node];
+    }
+}
@@ -0,0 +1,130 @@
+package logic;
+
+import java.util.Arrays;
+
+/**
+ * Records which Train holds which Track. Every Track has a slot which is
+ * indexed by the id of the Track, so a Train can occupy a Track and the holder
+ * of a Track can be found in constant time. If several Trains occupy the same
+ * Track, the first one is the holder and the Track is marked as shared. Trains
+ * which stand on points without a Track occupy the slot of {@link #NO_TRACK}.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class TrackOccupancy {
+    /**
+     * The slot of the Trains which stand on points without a Track. No Track has
+     * this id.
+     */
+    static final int NO_TRACK = 0;
+    /**
+     * The Train which holds the Track with the id of the index.
+     */
+    private Train[] holders;
+    /**
+     * The round in which the slot with the same index was occupied.
+     */
+    private int[] rounds;
+    /**
+     * The round in which a second Train occupied the slot with the same index.
+     */
+    private int[] sharedRounds;
+    /**
+     * The current round. Slots which were occupied in an earlier round are free.
+     */
+    private int round;
+
+    /**
+     * Constructor for a TrackOccupancy. All Tracks are free.
+     */
+    TrackOccupancy() {
+        this.holders = new Train[16];
+        this.rounds = new int[16];
+        this.sharedRounds = new int[16];
+        this.round = 1;
+    }
+
+    /**
+     * Starts a new round. Afterwards every Track is free again.
+     */
+    void clear() {
+        if (this.round == Integer.MAX_VALUE) {
+            Arrays.fill(this.rounds, 0);
+            Arrays.fill(this.sharedRounds, 0);
+            Arrays.fill(this.holders, null);
+            this.round = 0;
+        }
+        this.round = this.round + 1;
+    }
+
+    /**
+     * Lets a Train occupy a Track. If the Track is already held by a Train, the
+     * holder does not change.
+     *
+     * @param track the Track to be occupied.
+     * @param train the Train which occupies the Track.
+     * @return the Train which held the Track before, or null if it was free.
+     */
+    Train occupy(NormalTrack track, Train train) {
+        return this.occupy(track.getTrackID(), train);
+    }
+
+    /**
+     * Lets a Train occupy the slot of the Trains on points without a Track.
+     *
+     * @param train the Train which stands on points without a Track.
+     */
+    void occupyWithoutTrack(Train train) {
+        this.occupy(NO_TRACK, train);
+    }
+
+    /**
+     * Lets a Train occupy a slot.
+     *
+     * @param trackId the id of the Track of the slot.
+     * @param train   the Train which occupies the slot.
+     * @return the Train which held the slot before, or null if it was free.
+     */
+    private Train occupy(int trackId, Train train) {
+        if (trackId >= this.holders.length) {
+            int size = Math.max(trackId + 1, this.holders.length * 2);
+            this.holders = Arrays.copyOf(this.holders, size);
+            this.rounds = Arrays.copyOf(this.rounds, size);
+            this.sharedRounds = Arrays.copyOf(this.sharedRounds, size);
+        }
+        if (this.rounds[trackId] == this.round) {
+            if (this.holders[trackId] != train) {
+                this.sharedRounds[trackId] = this.round;
+            }
+            return this.holders[trackId];
+        }
+        this.rounds[trackId] = this.round;
+        this.holders[trackId] = train;
+        return null;
+    }
+
+    /**
+     * Returns the Train which holds a Track in the current round.
+     *
+     * @param trackId the id of the Track.
+     * @return the holder, or null if the Track is free.
+     */
+    Train getHolder(int trackId) {
+        if (trackId < this.rounds.length && this.rounds[trackId] == this.round) {
+            return this.holders[trackId];
+        }
+        return null;
+    }
+
+    /**
+     * Checks if more than one Train occupied a Track in the current round.
+     *
+     * @param trackId the id of the Track.
+     * @return true if the Track is shared.
+     */
+    boolean isShared(int trackId) {
+        return trackId < this.sharedRounds.length && this.sharedRounds[trackId] == this.round;
+    }
+}
@@ -167,6 +167,28 @@ class TrackPoint {
         return coordX;
     }
 
+    /**
+     * Packs two coordinates into one long. The x-coordinate is stored in the upper
+     * 32 bits, the y-coordinate in the lower 32 bits.
+     * 
+     * @param coordX the x-coordinate.
+     * @param coordY the y-coordinate.
+     * @return the packed coordinates.
+     */
+    static long packCoordinates(int coordX, int coordY) {
+        return ((long) coordX << 32) | (coordY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Getter for the packed coordinates of the TrackPoint, which are used as key
+     * in the point indexes of the TrackNetwork.
+     * 
+     * @return the packed coordinates.
+     */
+    long getKey() {
+        return packCoordinates(this.coordX, this.coordY);
+    }
+
     @Override
     public String toString() {
         return "(" + this.coordX + "," + this.coordY + ")";
@@ -184,6 +206,17 @@ class TrackPoint {
         return false;
     }
 
+    /**
+     * Checks if a given TrackPoint is the same Point of the TrackNetwork as this
+     * one. In contrast to equals the links of the Points have to be the same, not
+     * only the coordinates.
+     * 
+     * @param point the point to compare with.
+     * @return true if both are the same Point.
+     */
+    boolean isSamePoint(TrackPoint point) {
+        return this == point;
+    }
 
     @Override
     public boolean equals(Object obj) {
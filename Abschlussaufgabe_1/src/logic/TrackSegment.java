@@ -0,0 +1,453 @@
+package logic;
+
+/**
+ * Represents the inherited Points between two TrackPoints of a Track. The
+ * Points of a TrackSegment are not stored, they are calculated out of the
+ * starting Point, the direction and an offset whenever they are needed. This
+ * way the memory a Track needs does not depend on its length. Only the Points
+ * which were used last are kept, so Trains passing the same offsets again do
+ * not create new Points.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ * 
+ */
+class TrackSegment {
+    /**
+     * The highest number of Points a segment keeps.
+     */
+    private static final int CACHED_POINTS = 64;
+    /**
+     * The Track which inherits the Points of the segment.
+     */
+    private final NormalTrack track;
+    /**
+     * The x-coordinate of the Point the segment starts at. This Point is not part
+     * of the segment.
+     */
+    private final int originX;
+    /**
+     * The y-coordinate of the Point the segment starts at. This Point is not part
+     * of the segment.
+     */
+    private final int originY;
+    /**
+     * The direction of the segment. Each dimension can be either 0,1,-1.
+     */
+    private final TrackVector vector;
+    /**
+     * The number of Points the segment inherits.
+     */
+    private final int size;
+    /**
+     * The previous TrackPoint of the first Point of the segment.
+     */
+    private TrackPoint before;
+    /**
+     * The next TrackPoint of the last Point of the segment.
+     */
+    private TrackPoint after;
+    /**
+     * boolean which determines if the Points of the segment are active.
+     */
+    private boolean active;
+    /**
+     * The position in which the segment was added to the TrackNetwork. Is needed
+     * to find the segment that was added first, if two segments inherit the same
+     * coordinates.
+     */
+    private long registration;
+    /**
+     * The number of segments of other Tracks in the TrackNetwork which inherit
+     * Points with the same coordinates as this segment.
+     */
+    private int overlaps;
+    /**
+     * The number of connection Points of the TrackNetwork which lie on the
+     * segment.
+     */
+    private int connectionPoints;
+    /**
+     * true if the segment is the leg of a switch which is set to its other end.
+     * A parked segment stays in the TrackNetwork, but its Points are not found
+     * there.
+     */
+    private boolean parked;
+    /**
+     * The Points which were used last, indexed by their offset modulo the length
+     * of the array. Trains which are moved at the same time read and replace the
+     * Points without synchronisation. This is safe because all fields of a
+     * VirtualTrackPoint which are read are final, so a Point another thread put
+     * into the array is always seen completely, and the offset of a kept Point is
+     * checked before it is returned. At worst a Point is created twice.
+     */
+    private final VirtualTrackPoint[] points;
+
+    /**
+     * Constructor for a TrackSegment. The segment inherits all Points between the
+     * start and the end Point.
+     * 
+     * @param track the Track which inherits the segment.
+     * @param start the Point the segment starts at.
+     * @param end   the Point the segment ends at.
+     */
+    TrackSegment(NormalTrack track, TrackPoint start, TrackPoint end) {
+        this.track = track;
+        this.originX = start.getCoordX();
+        this.originY = start.getCoordY();
+        this.vector = new TrackVector(Integer.signum(end.getCoordX() - start.getCoordX()),
+                Integer.signum(end.getCoordY() - start.getCoordY()));
+        this.size = Math.abs(end.getCoordX() - start.getCoordX()) + Math.abs(end.getCoordY() - start.getCoordY()) - 1;
+        this.active = true;
+        this.points = new VirtualTrackPoint[Math.max(1, Math.min(this.size, CACHED_POINTS))];
+    }
+
+    /**
+     * Getter for the Track which inherits the segment.
+     * 
+     * @return the Track.
+     */
+    NormalTrack getTrack() {
+        return this.track;
+    }
+
+    /**
+     * Getter for the number of Points in the segment.
+     * 
+     * @return the size of the segment.
+     */
+    int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the Point at the given offset. The first Point of the segment has the
+     * offset 1, the last one the offset size. A Point which is still kept is
+     * returned again instead of a new one.
+     * 
+     * @param offset the offset of the Point.
+     * @return the Point at the offset.
+     */
+    TrackPoint getPoint(int offset) {
+        int index = Math.floorMod(offset, this.points.length);
+        VirtualTrackPoint point = this.points[index];
+        if (point == null || point.getOffset() != offset) {
+            point = new VirtualTrackPoint(this, offset, this.originX + this.vector.getVectorX() * offset,
+                    this.originY + this.vector.getVectorY() * offset);
+            this.points[index] = point;
+        }
+        return point;
+    }
+
+    /**
+     * Getter for the first Point of the segment.
+     * 
+     * @return the first Point.
+     */
+    TrackPoint getFirst() {
+        return this.getPoint(1);
+    }
+
+    /**
+     * Getter for the last Point of the segment.
+     * 
+     * @return the last Point.
+     */
+    TrackPoint getLast() {
+        return this.getPoint(this.size);
+    }
+
+    /**
+     * Calculates the offset of the given coordinates in the segment.
+     * 
+     * @param coordX the x-coordinate.
+     * @param coordY the y-coordinate.
+     * @return the offset, or 0 if the segment does not inherit the coordinates.
+     */
+    int offsetOf(int coordX, int coordY) {
+        int offset;
+        if (this.vector.getVectorX() != 0) {
+            if (coordY != this.originY) {
+                return 0;
+            }
+            offset = (coordX - this.originX) * this.vector.getVectorX();
+        } else {
+            if (coordX != this.originX) {
+                return 0;
+            }
+            offset = (coordY - this.originY) * this.vector.getVectorY();
+        }
+        if (offset < 1 || offset > this.size) {
+            return 0;
+        }
+        return offset;
+    }
+
+    /**
+     * Checks if the segment inherits a given point.
+     * 
+     * @param point the Point to check
+     * @return the Point of the segment that equals to the point to check or null.
+     */
+    TrackPoint gotPoint(TrackPoint point) {
+        if (point == null) {
+            return null;
+        }
+        int offset = this.offsetOf(point.getCoordX(), point.getCoordY());
+        if (offset == 0) {
+            return null;
+        }
+        return this.getPoint(offset);
+    }
+
+    /**
+     * Checks if the segment and another segment have at least one Point with the
+     * same coordinates.
+     * 
+     * @param other the other segment.
+     * @return true if the segments intersect.
+     */
+    boolean intersects(TrackSegment other) {
+        return this.getLowX() <= other.getHighX() && other.getLowX() <= this.getHighX()
+                && this.getLowY() <= other.getHighY() && other.getLowY() <= this.getHighY();
+    }
+
+    /**
+     * Checks if the segment inherits the coordinates of every Point of another
+     * segment.
+     * 
+     * @param other the other segment.
+     * @return true if the segment covers the other segment.
+     */
+    boolean covers(TrackSegment other) {
+        return this.getLowX() <= other.getLowX() && other.getHighX() <= this.getHighX()
+                && this.getLowY() <= other.getLowY() && other.getHighY() <= this.getHighY();
+    }
+
+    /**
+     * Returns the lowest x-coordinate of the Points in the segment.
+     * 
+     * @return the lowest x-coordinate.
+     */
+    int getLowX() {
+        return Math.min(this.originX + this.vector.getVectorX(), this.originX + this.vector.getVectorX() * this.size);
+    }
+
+    /**
+     * Returns the highest x-coordinate of the Points in the segment.
+     * 
+     * @return the highest x-coordinate.
+     */
+    int getHighX() {
+        return Math.max(this.originX + this.vector.getVectorX(), this.originX + this.vector.getVectorX() * this.size);
+    }
+
+    /**
+     * Returns the lowest y-coordinate of the Points in the segment.
+     * 
+     * @return the lowest y-coordinate.
+     */
+    int getLowY() {
+        return Math.min(this.originY + this.vector.getVectorY(), this.originY + this.vector.getVectorY() * this.size);
+    }
+
+    /**
+     * Returns the highest y-coordinate of the Points in the segment.
+     * 
+     * @return the highest y-coordinate.
+     */
+    int getHighY() {
+        return Math.max(this.originY + this.vector.getVectorY(), this.originY + this.vector.getVectorY() * this.size);
+    }
+
+    /**
+     * Checks if the segment runs horizontal.
+     * 
+     * @return true if horizontal, false if vertical.
+     */
+    boolean isHorizontal() {
+        return this.vector.getVectorY() == 0;
+    }
+
+    /**
+     * Getter for the x-coordinate of the Point the segment starts at.
+     * 
+     * @return the x-coordinate.
+     */
+    int getOriginX() {
+        return this.originX;
+    }
+
+    /**
+     * Getter for the y-coordinate of the Point the segment starts at.
+     * 
+     * @return the y-coordinate.
+     */
+    int getOriginY() {
+        return this.originY;
+    }
+
+    /**
+     * Getter for the previous TrackPoint of the first Point.
+     * 
+     * @return the previous TrackPoint.
+     */
+    TrackPoint getBefore() {
+        return this.before;
+    }
+
+    /**
+     * Setter for the previous TrackPoint of the first Point.
+     * 
+     * @param before the new previous TrackPoint.
+     */
+    void setBefore(TrackPoint before) {
+        this.before = before;
+    }
+
+    /**
+     * Getter for the next TrackPoint of the last Point.
+     * 
+     * @return the next TrackPoint.
+     */
+    TrackPoint getAfter() {
+        return this.after;
+    }
+
+    /**
+     * Setter for the next TrackPoint of the last Point.
+     * 
+     * @param after the new next TrackPoint.
+     */
+    void setAfter(TrackPoint after) {
+        this.after = after;
+    }
+
+    /**
+     * Getter for the active boolean.
+     * 
+     * @return active
+     */
+    boolean isActive() {
+        return this.active;
+    }
+
+    /**
+     * Setter for the active boolean.
+     * 
+     * @param active new active boolean.
+     */
+    void setActive(boolean active) {
+        this.active = active;
+    }
+
+    /**
+     * Getter for the registration of the segment in the TrackNetwork.
+     * 
+     * @return the registration.
+     */
+    long getRegistration() {
+        return this.registration;
+    }
+
+    /**
+     * Setter for the registration of the segment in the TrackNetwork.
+     * 
+     * @param registration the new registration.
+     */
+    void setRegistration(long registration) {
+        this.registration = registration;
+    }
+
+    /**
+     * Getter for the number of overlapping segments of other Tracks.
+     * 
+     * @return the number of overlapping segments.
+     */
+    int getOverlaps() {
+        return this.overlaps;
+    }
+
+    /**
+     * Setter for the number of overlapping segments of other Tracks.
+     * 
+     * @param overlaps the new number of overlapping segments.
+     */
+    void setOverlaps(int overlaps) {
+        this.overlaps = overlaps;
+    }
+
+    /**
+     * Getter for the number of connection Points which lie on the segment.
+     * 
+     * @return the number of connection Points.
+     */
+    int getConnectionPoints() {
+        return this.connectionPoints;
+    }
+
+    /**
+     * Setter for the number of connection Points which lie on the segment.
+     * 
+     * @param connectionPoints the new number of connection Points.
+     */
+    void setConnectionPoints(int connectionPoints) {
+        this.connectionPoints = connectionPoints;
+    }
+
+    /**
+     * Getter for the parked boolean.
+     * 
+     * @return parked
+     */
+    boolean isParked() {
+        return this.parked;
+    }
+
+    /**
+     * Setter for the parked boolean.
+     * 
+     * @param parked new parked boolean.
+     */
+    void setParked(boolean parked) {
+        this.parked = parked;
+    }
+
+    /**
+     * Checks if every Point of the segment belongs to its Track. This is the case
+     * if the segment is part of the TrackNetwork and not parked, no connection
+     * Point lies on it and no other Track inherits Points with the same
+     * coordinates.
+     * 
+     * @return true if all Points of the segment belong to its Track.
+     */
+    boolean isExclusive() {
+        return this.registration != 0 && !this.parked && this.overlaps == 0 && this.connectionPoints == 0;
+    }
+
+    /**
+     * Checks if the segment starts at the given Point, so its Points run from
+     * this Point away.
+     * 
+     * @param point the Point.
+     * @return true if the segment starts at the Point.
+     */
+    boolean startsAt(TrackPoint point) {
+        return this.originX == point.getCoordX() && this.originY == point.getCoordY();
+    }
+
+    /**
+     * Makes the segment a new one again, which is not linked, active and not part
+     * of the network. Segments which are kept for later use are reset before they
+     * are used again.
+     */
+    void reset() {
+        this.before = null;
+        this.after = null;
+        this.active = true;
+        this.registration = 0;
+        this.overlaps = 0;
+        this.connectionPoints = 0;
+        this.parked = false;
+    }
+}
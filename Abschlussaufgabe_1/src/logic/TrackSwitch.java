@@ -1,5 +1,8 @@
 package logic;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a this. Extends a NormalTrack, and has additional to the
  * NormalTrack, another End, and a switchState.
@@ -17,6 +20,13 @@ class TrackSwitch extends NormalTrack {
      * Determines which TrackPoint is the one, the switch is connected to.
      */
     private TrackPoint switchState;
+    /**
+     * The segments between the start and the two ends of the switch. A leg is
+     * created the first time the switch is set to its end and stays in the
+     * TrackNetwork afterwards, the leg of the end the switch is not set to is
+     * parked.
+     */
+    private final TrackSegment[] legs = new TrackSegment[2];
 
     /**
      * Constructor for a TrackSwitch.
@@ -24,10 +34,11 @@ class TrackSwitch extends NormalTrack {
      * @param start the StartPoint of the TrackSwitch
      * @param end1  the first EndPoint of the TrackSwitch
      * @param end2  the second EndPoint of the TrackSwitch
+     * @param trackIds the allocator which hands out the id of the TrackSwitch.
      */
-    TrackSwitch(TrackPoint start, TrackPoint end1, TrackPoint end2) {
+    TrackSwitch(TrackPoint start, TrackPoint end1, TrackPoint end2, IdAllocator trackIds) {
 
-        super(start, end1);
+        super(start, end1, trackIds);
 
         this.isActive = false;
         this.length = this.calcLength();
@@ -36,12 +47,34 @@ class TrackSwitch extends NormalTrack {
 
     }
 
+    /**
+     * Constructor for a TrackSwitch which is restored from a snapshot. The switch
+     * keeps the given id and state, its segments are added afterwards.
+     * 
+     * @param trackID     the id of the TrackSwitch.
+     * @param start       the StartPoint of the TrackSwitch
+     * @param end1        the first EndPoint of the TrackSwitch
+     * @param end2        the second EndPoint of the TrackSwitch
+     * @param switchState the EndPoint the switch is set to, or null if it is
+     *                    unset.
+     */
+    TrackSwitch(int trackID, TrackPoint start, TrackPoint end1, TrackPoint end2, TrackPoint switchState) {
+        super(trackID, start, end1);
+        this.end2 = end2;
+        this.switchState = switchState;
+        this.isActive = switchState != null;
+        if (switchState != null) {
+            this.trackVector = new TrackVector(this.generateVectorX(), this.generateVectorY());
+        }
+        this.length = this.calcLength();
+    }
+
     /**
      * Sets all TrackPoints of the switch active.
      */
     void setPointsInActive() {
-        for (TrackPoint tp : this.inheritedPoints) {
-            tp.setActive(false);
+        for (TrackSegment segment : this.inheritedSegments) {
+            segment.setActive(false);
         }
     }
 
@@ -51,9 +84,7 @@ class TrackSwitch extends NormalTrack {
     private void generateAllInheritedPoints() {
         this.generateInheritedPoints(start, end);
         this.generateInheritedPoints(start, end2);
-        for (TrackPoint point : this.inheritedPoints) {
-            point.setActive(false);
-        }
+        this.setPointsInActive();
     }
 
     @Override
@@ -88,7 +119,7 @@ class TrackSwitch extends NormalTrack {
         this.switchState = tp;
         this.trackVector = new TrackVector(this.generateVectorX(), this.generateVectorY());
 
-        this.inheritedPoints.clear();
+        this.inheritedSegments.clear();
 
         this.length = this.calcLength();
 
@@ -175,11 +206,11 @@ class TrackSwitch extends NormalTrack {
             this.end.setNext(this.start);
         } else {
             this.generateInheritedPoints(this.getEnd(), this.getStart());
-            this.getStart().setPrevious(this.inheritedPoints.get(this.inheritedPoints.size() - 1));
-            this.getEnd().setNext(this.inheritedPoints.get(0));
-            this.getEnd2().setNext(this.inheritedPoints.get(0));
-            this.inheritedPoints.get(0).setPrevious(this.getEnd());
-            this.inheritedPoints.get(this.inheritedPoints.size() - 1).setNext(this.getStart());
+            this.getStart().setPrevious(this.getLastInherited());
+            this.getEnd().setNext(this.getFirstInherited());
+            this.getEnd2().setNext(this.getFirstInherited());
+            this.getFirstInherited().setPrevious(this.getEnd());
+            this.getLastInherited().setNext(this.getStart());
         }
     }
 
@@ -204,12 +235,57 @@ class TrackSwitch extends NormalTrack {
             this.end.setPrevious(this.start);
         } else {
             this.generateInheritedPoints(this.start, this.getEnd());
-            this.start.setNext(this.inheritedPoints.get(0));
-            this.getEnd().setPrevious(this.inheritedPoints.get(this.inheritedPoints.size() - 1));
-            this.getEnd2().setPrevious(this.inheritedPoints.get(this.inheritedPoints.size() - 1));
-            this.inheritedPoints.get(0).setPrevious(this.start);
-            this.inheritedPoints.get(this.inheritedPoints.size() - 1).setNext(this.getEnd());
+            this.start.setNext(this.getFirstInherited());
+            this.getEnd().setPrevious(this.getLastInherited());
+            this.getEnd2().setPrevious(this.getLastInherited());
+            this.getFirstInherited().setPrevious(this.start);
+            this.getLastInherited().setNext(this.getEnd());
+        }
+    }
+
+    /**
+     * Getter for the leg of an end.
+     * 
+     * @param end the end.
+     * @return the segment between the start and the end or null.
+     */
+    TrackSegment getLeg(TrackPoint end) {
+        return this.legs[end.equals(this.end) ? 0 : 1];
+    }
+
+    /**
+     * Setter for the leg of an end.
+     * 
+     * @param end the end.
+     * @param leg the new segment between the start and the end.
+     */
+    void setLeg(TrackPoint end, TrackSegment leg) {
+        this.legs[end.equals(this.end) ? 0 : 1] = leg;
+    }
+
+    /**
+     * Getter for the legs which were created so far.
+     * 
+     * @return the segments of the legs.
+     */
+    List<TrackSegment> getLegs() {
+        List<TrackSegment> created = new ArrayList<TrackSegment>(2);
+        for (TrackSegment leg : this.legs) {
+            if (leg != null) {
+                created.add(leg);
+            }
         }
+        return created;
+    }
+
+    /**
+     * Makes the points of a leg the inherited points of the switch.
+     * 
+     * @param leg the segment of the leg.
+     */
+    void useLeg(TrackSegment leg) {
+        this.inheritedSegments.clear();
+        this.inheritedSegments.add(leg);
     }
 
     /**
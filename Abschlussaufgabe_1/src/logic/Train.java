@@ -1,6 +1,8 @@
 package logic;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -14,14 +16,6 @@ import java.util.List;
  *
  */
 public class Train implements Comparable<Train> {
-    /**
-     * A static counter.
-     */
-    private static int counter = 0;
-    /**
-     * A list containing all ids.
-     */
-    private static List<Integer> iDs = new ArrayList<Integer>();
     /**
      * true = direction getNext() false = direction getPrevious()
      */
@@ -47,29 +41,64 @@ public class Train implements Comparable<Train> {
      */
     private final List<RollMaterial> trainParts;
     /**
-     * The points the train inherits.
+     * The points the train inherits. The array is used as a ring buffer which is
+     * exactly as long as the train, the headPoint is stored at bodyStart.
      */
-    private final List<TrackPoint> pointsOfTrain;
+    private TrackPoint[] pointsOfTrain;
+    /**
+     * The index of the first point of the train in pointsOfTrain.
+     */
+    private int bodyStart;
+    /**
+     * The number of points the train inherits.
+     */
+    private int bodySize;
+    /**
+     * Read-only view of the points the train inherits.
+     */
+    private final List<TrackPoint> pointsView;
+    /**
+     * The Track of every point in pointsOfTrain at the same index, or null for a
+     * point which does not belong to a Track.
+     */
+    private NormalTrack[] tracksOfPoints;
+    /**
+     * true if tracksOfPoints belong to the current points of the train.
+     */
+    private boolean tracksOfPointsKnown;
+    /**
+     * The number of points in tracksOfPoints which do not belong to a Track.
+     */
+    private int pointsWithoutTrack;
     /**
      * The tracks the train inherits.
      */
     private final List<NormalTrack> currentTracks;
+    /**
+     * The number of points of the train on each of the currentTracks, at the same
+     * index.
+     */
+    private int[] trackCounts;
 
     /**
      * Constructor.
      * 
-     * @param trainId the trainId the train should have.
+     * @param trainId  the trainId the train should have.
+     * @param trainIds the allocator which hands out the ids of the trains.
      * @throws LogicException is thrown if the id does not match the next free id.
      */
-    Train(int trainId) throws LogicException {
-        this.pointsOfTrain = new ArrayList<TrackPoint>();
+    Train(int trainId, IdAllocator trainIds) throws LogicException {
+        this.pointsOfTrain = new TrackPoint[0];
+        this.tracksOfPoints = new NormalTrack[0];
+        this.pointsView = new PointsOfTrainView();
         trainParts = new ArrayList<RollMaterial>();
         currentTracks = new ArrayList<NormalTrack>();
+        trackCounts = new int[0];
 
         this.generateLength();
-        if (trainId == this.returnNextFreeId()) {
+        if (trainId == trainIds.peek()) {
             this.id = trainId;
-            iDs.remove(0);
+            trainIds.next();
 
         } else {
 
@@ -78,6 +107,24 @@ public class Train implements Comparable<Train> {
 
     }
 
+    /**
+     * Constructor for a Train which is restored from a snapshot. The Train keeps
+     * the given id instead of taking it from the allocator.
+     * 
+     * @param trainId    the id of the Train.
+     * @param trainParts the RollMaterial of the Train in its order.
+     */
+    Train(int trainId, List<RollMaterial> trainParts) {
+        this.pointsOfTrain = new TrackPoint[0];
+        this.tracksOfPoints = new NormalTrack[0];
+        this.pointsView = new PointsOfTrainView();
+        this.trainParts = new ArrayList<RollMaterial>(trainParts);
+        this.currentTracks = new ArrayList<NormalTrack>();
+        this.trackCounts = new int[0];
+        this.id = trainId;
+        this.generateLength();
+    }
+
     /**
      * Adds the length of all parts together and sets the length of the train to the
      * new Length.
@@ -126,6 +173,18 @@ public class Train implements Comparable<Train> {
         this.headPoint = headPoint;
     }
 
+    /**
+     * Getter for the last Point the Train is standing on.
+     * 
+     * @return the last Point of the train or null if the train is not on the track.
+     */
+    TrackPoint getTailPoint() {
+        if (this.bodySize == 0) {
+            return null;
+        }
+        return this.pointsOfTrain[(this.bodyStart + this.bodySize - 1) % this.pointsOfTrain.length];
+    }
+
     /**
      * Getter for the id of a Train.
      * 
@@ -148,26 +207,6 @@ public class Train implements Comparable<Train> {
         }
     }
 
-    /**
-     * Method which returns the next free id. If a train is deleted the id is added
-     * to the iDs-List and then returned.
-     * 
-     * @return the next free id.
-     */
-    private int returnNextFreeId() {
-        if (iDs.isEmpty()) {
-            counter++;
-
-            iDs.add(counter);
-
-            return iDs.get(0);
-
-        } else {
-            Collections.sort(iDs);
-            return iDs.get(0);
-        }
-    }
-
     /**
      * Adds a Part to the Train.
      * 
@@ -196,15 +235,26 @@ public class Train implements Comparable<Train> {
 
     @Override
     public String toString() {
-        String toReturn = this.getId() + " ";
+        StringBuilder output = new StringBuilder();
+        this.appendTo(output);
+        return output.toString();
+    }
+
+    /**
+     * Writes the String representation of the Train into a StringBuilder. The
+     * representation is the id of the Train, followed by the ids of its members.
+     * 
+     * @param output the StringBuilder the Train is written into.
+     */
+    void appendTo(StringBuilder output) {
+        output.append(this.getId());
         for (int i = 0; i < this.trainParts.size(); i++) {
-            if (trainParts.get(i).getId().contains("-")) {
-                toReturn += trainParts.get(i).getId() + " ";
-            } else {
-                toReturn += "W" + trainParts.get(i).getId() + " ";
+            output.append(' ');
+            if (!trainParts.get(i).getId().contains("-")) {
+                output.append('W');
             }
+            output.append(trainParts.get(i).getId());
         }
-        return toReturn.trim();
     }
 
     /**
@@ -325,6 +375,7 @@ public class Train implements Comparable<Train> {
         if (!this.currentTracks.contains(trackWithPoint)) {
             this.currentTracks.add(trackWithPoint);
         }
+        this.tracksOfPointsKnown = false;
     }
 
     /**
@@ -332,14 +383,109 @@ public class Train implements Comparable<Train> {
      */
     void deleteCurrentTracks() {
         this.currentTracks.clear();
+        Arrays.fill(this.tracksOfPoints, null);
+        this.tracksOfPointsKnown = false;
+
+    }
+
+    /**
+     * Sets the Tracks of the points of the train. The currentTracks are the
+     * Tracks of the points afterwards.
+     * 
+     * @param tracks the Track of every point, starting at the headPoint, null for
+     *               points which do not belong to a Track.
+     */
+    void setTracksOfPoints(NormalTrack[] tracks) {
+        this.deleteCurrentTracks();
+        this.pointsWithoutTrack = 0;
+        for (int i = 0; i < this.bodySize; i++) {
+            this.tracksOfPoints[(this.bodyStart + i) % this.tracksOfPoints.length] = tracks[i];
+            this.countTrack(tracks[i], 1);
+            if (tracks[i] == null) {
+                this.pointsWithoutTrack++;
+            }
+        }
+        this.tracksOfPointsKnown = true;
+    }
+
+    /**
+     * Checks if the Tracks of the points of the train are known, so the train can
+     * be moved point by point without generating its Tracks again.
+     * 
+     * @return true if the Tracks of the points are known.
+     */
+    boolean knowsTracksOfPoints() {
+        return this.tracksOfPointsKnown;
+    }
+
+    /**
+     * Checks if every point of the train belongs to one of its currentTracks.
+     * 
+     * @return true if the Tracks of the points are known and none is missing.
+     */
+    boolean holdsTracksOfAllPoints() {
+        return this.tracksOfPointsKnown && this.pointsWithoutTrack == 0;
+    }
+
+    /**
+     * Changes the number of points of the train on a Track. A Track is added to
+     * the currentTracks when its first point is counted and removed when its last
+     * point is dropped.
+     * 
+     * @param track  the Track or null.
+     * @param change 1 if a point is added, -1 if a point is dropped.
+     */
+    private void countTrack(NormalTrack track, int change) {
+        if (track == null) {
+            return;
+        }
+        int index = this.currentTracks.indexOf(track);
+        if (index < 0) {
+            if (this.trackCounts.length == this.currentTracks.size()) {
+                this.trackCounts = Arrays.copyOf(this.trackCounts, this.trackCounts.length * 2 + 1);
+            }
+            this.trackCounts[this.currentTracks.size()] = change;
+            this.currentTracks.add(track);
+            return;
+        }
+        this.trackCounts[index] = this.trackCounts[index] + change;
+        if (this.trackCounts[index] == 0) {
+            this.currentTracks.remove(index);
+            System.arraycopy(this.trackCounts, index + 1, this.trackCounts, index,
+                    this.currentTracks.size() - index);
+        }
+    }
 
+    /**
+     * Replaces the Track of a dropped point by the Track of a new point. The
+     * currentTracks only change if the Tracks differ, which is the case when the
+     * head or the tail of the train crosses into another Track.
+     * 
+     * @param dropped the Track of the dropped point.
+     * @param added   the Track of the new point.
+     */
+    private void replaceTrack(NormalTrack dropped, NormalTrack added) {
+        if (dropped == null) {
+            this.pointsWithoutTrack--;
+        }
+        if (added == null) {
+            this.pointsWithoutTrack++;
+        }
+        if (dropped != added) {
+            this.countTrack(added, 1);
+            this.countTrack(dropped, -1);
+        }
     }
 
     /**
      * Clears the list of currentPoints.
      */
     void removePoints() {
-        this.pointsOfTrain.clear();
+        Arrays.fill(this.pointsOfTrain, null);
+        Arrays.fill(this.tracksOfPoints, null);
+        this.bodyStart = 0;
+        this.bodySize = 0;
+        this.tracksOfPointsKnown = false;
 
     }
 
@@ -350,8 +496,52 @@ public class Train implements Comparable<Train> {
      */
     void addPoints(List<TrackPoint> points) {
         this.removePoints();
-        this.pointsOfTrain.addAll(points);
+        if (this.pointsOfTrain.length != points.size()) {
+            this.pointsOfTrain = new TrackPoint[points.size()];
+            this.tracksOfPoints = new NormalTrack[points.size()];
+        }
+        this.pointsOfTrain = points.toArray(this.pointsOfTrain);
+        this.bodySize = points.size();
+
+    }
+
+    /**
+     * Moves the points of the train one point to the front. The given point is
+     * the new first point, the last point is dropped. The Tracks of the points
+     * have to be known.
+     * 
+     * @param head  the new first point.
+     * @param track the Track of the new first point or null.
+     */
+    void pushHead(TrackPoint head, NormalTrack track) {
+        this.bodyStart = (this.bodyStart + this.pointsOfTrain.length - 1) % this.pointsOfTrain.length;
+        this.pointsOfTrain[this.bodyStart] = head;
+        this.replaceTrack(this.tracksOfPoints[this.bodyStart], track);
+        this.tracksOfPoints[this.bodyStart] = track;
+    }
 
+    /**
+     * Moves the points of the train one point to the back. The given point is the
+     * new last point, the first point is dropped. The Tracks of the points have to
+     * be known.
+     * 
+     * @param tail  the new last point.
+     * @param track the Track of the new last point or null.
+     */
+    void pushTail(TrackPoint tail, NormalTrack track) {
+        this.pointsOfTrain[this.bodyStart] = tail;
+        this.replaceTrack(this.tracksOfPoints[this.bodyStart], track);
+        this.tracksOfPoints[this.bodyStart] = track;
+        this.bodyStart = (this.bodyStart + 1) % this.pointsOfTrain.length;
+    }
+
+    /**
+     * Checks if the train inherits any points.
+     * 
+     * @return true if the train inherits points.
+     */
+    boolean hasPoints() {
+        return this.bodySize != 0;
     }
 
     /**
@@ -375,55 +565,45 @@ public class Train implements Comparable<Train> {
     }
 
     /**
-     * Adds the id of a train to the list of iDs.
-     */
-    void removeId() {
-        iDs.add(this.getId());
-
-    }
-
-    /**
-     * Clones the list pointsOfTrain
+     * Getter for the RollMaterial of the Train.
      * 
-     * @return the cloned list
+     * @return the RollMaterial in its order.
      */
-    private List<TrackPoint> cloneTrackPoints() {
-        ArrayList<TrackPoint> clonedPointsOfTrain = new ArrayList<TrackPoint>();
-        for (TrackPoint tp : this.pointsOfTrain) {
-            clonedPointsOfTrain.add(tp);
-        }
-        return clonedPointsOfTrain;
+    List<RollMaterial> getTrainParts() {
+        return Collections.unmodifiableList(this.trainParts);
     }
 
     /**
-     * Clones the list currentTracks
+     * Getter for the trackPoints the Train is standing on.
      * 
-     * @return the cloned list
+     * @return a read-only view of pointsOfTrain, starting at the headPoint.
      */
-    private List<NormalTrack> cloneCurrentTracks() {
-        ArrayList<NormalTrack> clonedCurrentTracks = new ArrayList<NormalTrack>();
-        for (NormalTrack nt : this.currentTracks) {
-            clonedCurrentTracks.add(nt);
-        }
-        return clonedCurrentTracks;
+    public List<TrackPoint> getPointsOfTrain() {
+        return this.pointsView;
     }
 
     /**
-     * Getter for the trackPoints the Train is standing on.
+     * Getter for the list of currentTracks.
      * 
-     * @return a cloned version of pointsOfTrain
+     * @return a read-only view of currentTracks.
      */
-    public List<TrackPoint> getPointsOfTrain() {
-        return this.cloneTrackPoints();
+    public List<NormalTrack> getCurrentTracks() {
+        return Collections.unmodifiableList(this.currentTracks);
     }
 
     /**
-     * Getter for the list of currentTracks.
+     * Checks if a Train stands on a given Track.
      * 
-     * @return a cloned version of currentTracks.
+     * @param track the track to check.
+     * @return true if the track is one of the currentTracks.
      */
-    public List<NormalTrack> getCurrentTracks() {
-        return this.cloneCurrentTracks();
+    boolean holdsTrack(NormalTrack track) {
+        for (NormalTrack nt : this.currentTracks) {
+            if (nt.equals(track)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -431,6 +611,8 @@ public class Train implements Comparable<Train> {
      */
     void removeTracks() {
         this.currentTracks.clear();
+        Arrays.fill(this.tracksOfPoints, null);
+        this.tracksOfPointsKnown = false;
 
     }
 
@@ -465,6 +647,95 @@ public class Train implements Comparable<Train> {
      * @return null if not the point if true.
      */
     TrackPoint checkIfTrainIsOnPoint(TrackPoint point) {
-        return this.pointsOfTrain.stream().filter(s -> s.equals(point)).findAny().orElse(null);
+        for (int i = 0; i < this.bodySize; i++) {
+            TrackPoint tp = this.pointsOfTrain[(this.bodyStart + i) % this.pointsOfTrain.length];
+            if (tp.equals(point)) {
+                return tp;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saves the position of the train, so a move can be taken back.
+     * 
+     * @return the position.
+     */
+    Position savePosition() {
+        return new Position(this);
+    }
+
+    /**
+     * Puts the train back to a position which was saved before.
+     * 
+     * @param position the position.
+     */
+    void restorePosition(Position position) {
+        this.headPoint = position.headPoint;
+        this.direction = position.direction;
+        this.pointsOfTrain = position.points;
+        this.bodyStart = position.bodyStart;
+        this.bodySize = position.bodySize;
+        this.tracksOfPoints = position.tracksOfPoints;
+        this.tracksOfPointsKnown = position.tracksOfPointsKnown;
+        this.pointsWithoutTrack = position.pointsWithoutTrack;
+        this.currentTracks.clear();
+        this.currentTracks.addAll(position.tracks);
+        this.trackCounts = position.trackCounts;
+    }
+
+    /**
+     * The position of a train at one moment: its headPoint, its direction, its
+     * points and its tracks.
+     */
+    static final class Position {
+        private final TrackPoint headPoint;
+        private final boolean direction;
+        private final TrackPoint[] points;
+        private final int bodyStart;
+        private final int bodySize;
+        private final NormalTrack[] tracksOfPoints;
+        private final boolean tracksOfPointsKnown;
+        private final int pointsWithoutTrack;
+        private final List<NormalTrack> tracks;
+        private final int[] trackCounts;
+
+        /**
+         * Constructor, which copies the position of a train.
+         * 
+         * @param train the train.
+         */
+        private Position(Train train) {
+            this.headPoint = train.headPoint;
+            this.direction = train.direction;
+            this.points = train.pointsOfTrain.clone();
+            this.bodyStart = train.bodyStart;
+            this.bodySize = train.bodySize;
+            this.tracksOfPoints = train.tracksOfPoints.clone();
+            this.tracksOfPointsKnown = train.tracksOfPointsKnown;
+            this.pointsWithoutTrack = train.pointsWithoutTrack;
+            this.tracks = new ArrayList<NormalTrack>(train.currentTracks);
+            this.trackCounts = train.trackCounts.clone();
+        }
+    }
+
+    /**
+     * Read-only view of the ring buffer pointsOfTrain. The first element is the
+     * headPoint of the train.
+     */
+    private class PointsOfTrainView extends AbstractList<TrackPoint> {
+
+        @Override
+        public TrackPoint get(int index) {
+            if (index < 0 || index >= bodySize) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bodySize);
+            }
+            return pointsOfTrain[(bodyStart + index) % pointsOfTrain.length];
+        }
+
+        @Override
+        public int size() {
+            return bodySize;
+        }
     }
 }
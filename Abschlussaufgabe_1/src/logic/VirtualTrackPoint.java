@@ -0,0 +1,121 @@
+package logic;
+
+/**
+ * Represents an inherited TrackPoint of a Track. A VirtualTrackPoint is not
+ * stored in the Track. It is created by its TrackSegment whenever it is needed
+ * and calculates the next and the previous TrackPoint out of its offset in the
+ * segment. Its own state is final, everything that can change is kept in the
+ * segment, so a VirtualTrackPoint can be shared between threads.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class VirtualTrackPoint extends TrackPoint {
+    /**
+     * The segment the Point belongs to.
+     */
+    private final TrackSegment segment;
+    /**
+     * The offset of the Point in the segment.
+     */
+    private final int offset;
+
+    /**
+     * Constructor for a VirtualTrackPoint.
+     * 
+     * @param segment the segment the Point belongs to.
+     * @param offset  the offset of the Point in the segment.
+     * @param coordX  the x-Coordinate of the TrackPoint
+     * @param coordY  the y-Coordinate of the TrackPoint
+     */
+    VirtualTrackPoint(TrackSegment segment, int offset, int coordX, int coordY) {
+        super(coordX, coordY);
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    /**
+     * Getter for the segment the Point belongs to.
+     * 
+     * @return the segment.
+     */
+    TrackSegment getSegment() {
+        return this.segment;
+    }
+
+    /**
+     * Getter for the offset of the Point in its segment.
+     * 
+     * @return the offset.
+     */
+    int getOffset() {
+        return this.offset;
+    }
+
+    @Override
+    public NormalTrack getCurrentTrack() {
+        return this.segment.getTrack();
+    }
+
+    @Override
+    public TrackPoint getPrevious() {
+        if (this.offset > 1) {
+            return this.segment.getPoint(this.offset - 1);
+        }
+        return this.segment.getBefore();
+    }
+
+    /**
+     * Setter for the previous TrackPoint. Only the first Point of a segment can be
+     * linked to another TrackPoint.
+     * 
+     * @param previous the new previous TrackPoint.
+     */
+    @Override
+    public void setPrevious(TrackPoint previous) {
+        if (this.offset == 1) {
+            this.segment.setBefore(previous);
+        }
+    }
+
+    @Override
+    public TrackPoint getNext() {
+        if (this.offset < this.segment.getSize()) {
+            return this.segment.getPoint(this.offset + 1);
+        }
+        return this.segment.getAfter();
+    }
+
+    /**
+     * Setter for the next TrackPoint. Only the last Point of a segment can be
+     * linked to another TrackPoint.
+     * 
+     * @param next the new next TrackPoint.
+     */
+    @Override
+    public void setNext(TrackPoint next) {
+        if (this.offset == this.segment.getSize()) {
+            this.segment.setAfter(next);
+        }
+    }
+
+    @Override
+    boolean isSamePoint(TrackPoint point) {
+        if (!(point instanceof VirtualTrackPoint)) {
+            return false;
+        }
+        VirtualTrackPoint virtualPoint = (VirtualTrackPoint) point;
+        return this.segment == virtualPoint.segment && this.offset == virtualPoint.offset;
+    }
+
+    @Override
+    public boolean isActive() {
+        return this.segment.isActive();
+    }
+
+    @Override
+    public void setActive(boolean active) {
+        this.segment.setActive(active);
+    }
+}
@@ -3,22 +3,72 @@ package main;
 import userinterface.Session;
 
 /**
- * Main-Class. Just initiates a Session and executes the run() method.
+ * Main-Class. Just initiates a Session and executes the run() method, or the
+ * runBatch() method for a script.
  * 
  * @author Christopher Roth
  * @version 1.0
  */
 class Main {
     /**
-     * The main method.
+     * The main method. The options --snapshot and --journal are followed by a
+     * file or directory and can be given before the other arguments. With
+     * --snapshot the Session starts with the ModelRailWay of the snapshot file, if
+     * it exists, and writes the ModelRailWay back into the file when it ends. With
+     * --journal the Session recovers its state from the journal in the directory
+     * and writes every Command which changes the ModelRailWay into it. The option
+     * --parallel moves the trains of a step at the same time, with --interlocking
+     * a switch can not be set while a train is on it. Both modes are set before
+     * the snapshot is loaded and the journal is recovered. With the argument
+     * --batch a script is executed in batch mode, the script is read from the file
+     * given as next argument or from the standard input.
      * 
-     * @param args arguments which this Java-Program does not handle any further.
+     * @param args the arguments, the optional options followed by either nothing
+     *             or --batch and an optional script file.
      */
     public static void main(String[] args) {
 
         Session session = new Session();
 
-        session.run();
+        int next = 0;
+        String snapshot = null;
+        String journal = null;
+        while (args.length > next) {
+            if (args[next].equals("--parallel")) {
+                session.setParallelStep(true);
+                next = next + 1;
+            } else if (args[next].equals("--interlocking")) {
+                session.setInterlocking(true);
+                next = next + 1;
+            } else if (args.length > next + 1 && args[next].equals("--snapshot")) {
+                snapshot = args[next + 1];
+                next = next + 2;
+            } else if (args.length > next + 1 && args[next].equals("--journal")) {
+                journal = args[next + 1];
+                next = next + 2;
+            } else {
+                break;
+            }
+        }
+        if (snapshot != null) {
+            session.loadSnapshot(snapshot);
+        }
+        if (journal != null) {
+            session.openJournal(journal);
+        }
+
+        if (args.length > next && args[next].equals("--batch")) {
+            session.runBatch(args.length > next + 1 ? args[next + 1] : null);
+        } else {
+            session.run();
+        }
+
+        if (journal != null) {
+            session.closeJournal();
+        }
+        if (snapshot != null) {
+            session.saveSnapshot(snapshot);
+        }
 
     }
 }
@@ -0,0 +1,45 @@
+package userinterface;
+
+/**
+ * The input and output of a Session. The Commands of a Session read and print
+ * only through its Console, so Sessions with different Consoles do not share
+ * any input or output.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+public interface Console {
+
+    /**
+     * Reads a line of input.
+     * 
+     * @return the line without the line terminator, or null if the input has
+     *         ended.
+     */
+    String readLine();
+
+    /**
+     * Prints the String representation of an Object and terminates the line.
+     * 
+     * @param object the Object to be printed.
+     */
+    void printLine(Object object);
+
+    /**
+     * Prints an error message with the prefix "Error, ".
+     * 
+     * @param message the error message.
+     */
+    default void printError(String message) {
+        this.printLine("Error, " + message);
+    }
+
+    /**
+     * Starts or ends the batch mode. In batch mode the output may be collected
+     * and written in blocks, ending the batch mode writes all of it.
+     * 
+     * @param batch true to start the batch mode, false to end it.
+     */
+    void setBatchMode(boolean batch);
+}
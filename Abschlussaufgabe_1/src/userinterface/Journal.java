@@ -0,0 +1,298 @@
+package userinterface;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import logic.ModelRailWay;
+
+/**
+ * An append-only journal of the Commands which change the ModelRailWay of a
+ * Session. Together with the snapshots of the ModelRailWay it allows to
+ * recover the state of a Session after a crash.
+ *
+ * <p>
+ * The journal lives in a directory and is divided into generations. Every
+ * generation consists of a snapshot and the journal of the Commands which were
+ * executed after the snapshot. A checkpoint writes the snapshot of the next
+ * generation and starts its empty journal, afterwards the files of the older
+ * generations are deleted. Because the snapshot is moved into place in one
+ * step, a crash during a checkpoint always leaves one complete generation.
+ *
+ * <p>
+ * Every Command is written into the file before it is executed. The file is
+ * forced onto the disk after a batch of Commands and at every checkpoint, so
+ * not every Command has to wait for the disk.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class Journal {
+    /**
+     * The number of Commands which are written before the file is forced onto
+     * the disk.
+     */
+    private static final int SYNC_BATCH = 64;
+    /**
+     * The number of Commands in a journal after which a checkpoint is due.
+     */
+    private static final int CHECKPOINT_INTERVAL = 10000;
+    /**
+     * The beginning of the name of a snapshot file.
+     */
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    /**
+     * The beginning of the name of a journal file.
+     */
+    private static final String JOURNAL_PREFIX = "journal-";
+    /**
+     * The ending of the name of a snapshot file.
+     */
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    /**
+     * The ending of the name of a journal file.
+     */
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    /**
+     * The directory of the journal.
+     */
+    private final Path directory;
+    /**
+     * The current generation. Generation 0 has no snapshot.
+     */
+    private long generation;
+    /**
+     * The journal file of the current generation, or null if it is not open.
+     */
+    private FileChannel channel;
+    /**
+     * The number of Commands in the journal file of the current generation.
+     */
+    private int entries;
+    /**
+     * The number of Commands which were written since the file was forced onto
+     * the disk.
+     */
+    private int unsynced;
+
+    /**
+     * Constructor for a Journal. Creates the directory if it does not exist and
+     * finds the latest generation in it.
+     *
+     * @param directory the directory of the journal.
+     * @throws IOException if the directory can not be created or read.
+     */
+    Journal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.generation = this.latestGeneration();
+    }
+
+    /**
+     * Reads the snapshot of the latest generation.
+     *
+     * @return the ModelRailWay of the snapshot, or null if there is no snapshot.
+     * @throws IOException if the snapshot can not be read or is not valid.
+     */
+    ModelRailWay readSnapshot() throws IOException {
+        if (this.generation == 0) {
+            return null;
+        }
+        try (FileChannel snapshot = FileChannel.open(this.snapshotFile(this.generation),
+                StandardOpenOption.READ)) {
+            return ModelRailWay.restoreSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Reads the Commands of the journal of the latest generation. A last line
+     * which was not written completely is left out, its Command was never
+     * executed.
+     *
+     * @return the Commands in the order they were executed.
+     * @throws IOException if the journal can not be read.
+     */
+    List<String> readCommands() throws IOException {
+        List<String> commands = new ArrayList<String>();
+        Path file = this.journalFile(this.generation);
+        if (!Files.exists(file)) {
+            return commands;
+        }
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        int start = 0;
+        int end = content.indexOf('\n');
+        while (end >= 0) {
+            commands.add(content.substring(start, end));
+            start = end + 1;
+            end = content.indexOf('\n', start);
+        }
+        return commands;
+    }
+
+    /**
+     * Writes a Command at the end of the journal. The journal has to be opened
+     * with a checkpoint first.
+     *
+     * @param command the Command as it was typed in the Terminal.
+     * @throws IOException if the journal can not be written.
+     */
+    void append(String command) throws IOException {
+        ByteBuffer line = StandardCharsets.UTF_8.encode(command + "\n");
+        while (line.hasRemaining()) {
+            this.channel.write(line);
+        }
+        this.entries = this.entries + 1;
+        this.unsynced = this.unsynced + 1;
+        if (this.unsynced >= SYNC_BATCH) {
+            this.sync();
+        }
+    }
+
+    /**
+     * Checks if the journal is long enough for a checkpoint.
+     *
+     * @return true if a checkpoint is due.
+     */
+    boolean isCheckpointDue() {
+        return this.entries >= CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Starts the next generation with a snapshot of a ModelRailWay and an empty
+     * journal, and deletes the files of the older generations.
+     *
+     * @param railWay the ModelRailWay with all Commands of the journal executed.
+     * @throws IOException if the snapshot or the journal can not be written.
+     */
+    void checkpoint(ModelRailWay railWay) throws IOException {
+        long next = this.generation + 1;
+        Path temporary = this.directory.resolve(SNAPSHOT_PREFIX + next + SNAPSHOT_SUFFIX + ".tmp");
+        try (FileChannel snapshot = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            railWay.saveSnapshot(snapshot);
+            snapshot.force(true);
+        }
+        Files.move(temporary, this.snapshotFile(next), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        this.close();
+        this.channel = FileChannel.open(this.journalFile(next), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.generation = next;
+        this.entries = 0;
+        this.deleteOlderGenerations();
+    }
+
+    /**
+     * Forces the written Commands onto the disk and closes the journal file.
+     *
+     * @throws IOException if the journal can not be written.
+     */
+    void close() throws IOException {
+        if (this.channel != null) {
+            this.sync();
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    /**
+     * Forces the written Commands onto the disk.
+     *
+     * @throws IOException if the journal can not be written.
+     */
+    private void sync() throws IOException {
+        this.channel.force(false);
+        this.unsynced = 0;
+    }
+
+    /**
+     * Finds the latest generation which has a complete snapshot.
+     *
+     * @return the generation, or 0 if there is no snapshot.
+     * @throws IOException if the directory can not be read.
+     */
+    private long latestGeneration() throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory,
+                SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : files) {
+                latest = Math.max(latest, this.generationOf(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Deletes the snapshots and journals of the generations before the current
+     * one, and snapshots which were not completed.
+     *
+     * @throws IOException if the directory can not be read or a file can not be
+     *                     deleted.
+     */
+    private void deleteOlderGenerations() throws IOException {
+        List<Path> old = new ArrayList<Path>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                long fileGeneration = Math.max(this.generationOf(file, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX),
+                        this.generationOf(file, JOURNAL_PREFIX, JOURNAL_SUFFIX));
+                if (fileGeneration >= 0 && fileGeneration < this.generation
+                        || file.getFileName().toString().endsWith(SNAPSHOT_SUFFIX + ".tmp")) {
+                    old.add(file);
+                }
+            }
+        }
+        for (Path file : old) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Reads the generation out of the name of a file.
+     *
+     * @param file   the file.
+     * @param prefix the beginning of the name.
+     * @param suffix the ending of the name.
+     * @return the generation, or -1 if the name does not fit.
+     */
+    private long generationOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(prefix) || !name.endsWith(suffix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the snapshot file of a generation.
+     *
+     * @param fileGeneration the generation.
+     * @return the snapshot file.
+     */
+    private Path snapshotFile(long fileGeneration) {
+        return this.directory.resolve(SNAPSHOT_PREFIX + fileGeneration + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Returns the journal file of a generation.
+     *
+     * @param fileGeneration the generation.
+     * @return the journal file.
+     */
+    private Path journalFile(long fileGeneration) {
+        return this.directory.resolve(JOURNAL_PREFIX + fileGeneration + JOURNAL_SUFFIX);
+    }
+}
@@ -0,0 +1,75 @@
+package userinterface;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many independent Sessions in one program at the same time. Every
+ * Session has its own ModelRailWay, its own id allocators and its own
+ * Console, which reads the Commands from an input stream and prints to an
+ * output stream. The Sessions only share immutable data, like the String
+ * representations of the RollMaterialTypes, so they need no synchronisation.
+ *
+ * <p>
+ * Every Session gets its own thread for as long as it runs. A Session may wait
+ * for input for any time, so a bounded number of threads would keep the
+ * started Sessions waiting until others have ended. Threads of ended Sessions
+ * are reused for new ones.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+public class RailWayHost implements AutoCloseable {
+    /**
+     * The threads which execute the Sessions.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructor for a RailWayHost.
+     */
+    public RailWayHost() {
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Starts a new Session which executes the Commands of an input stream in
+     * batch mode, until the input ends or the exit Command is executed. The
+     * streams are not closed when the Session ends.
+     * 
+     * @param input  the stream the Commands are read from.
+     * @param output the stream the output of the Session is printed to.
+     * @return the Future which is done when the Session has ended.
+     */
+    public Future<?> submit(final InputStream input, final OutputStream output) {
+        return this.executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                new Session(new StreamConsole(input, output)).runBatch(null);
+            }
+        });
+    }
+
+    /**
+     * Waits until all started Sessions have ended and stops the threads. No
+     * Session can be started afterwards. If the waiting thread is interrupted,
+     * it stops waiting and keeps its interrupt status, the Sessions still run to
+     * their end.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+        try {
+            while (!this.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                continue;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package userinterface;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
 import edu.kit.informatik.Terminal;
+import logic.ErrorMessages;
 import logic.ModelRailWay;
 import userinterface.commands.Command;
 import userinterface.commands.CommandCenter;
 
 /**
  * Class for a Session. A Session combines the UserInterface with the
- * ModelRailWay. Handles the Terminal input and executes the fitting Command,
- * which is returned by the CommandCenter.
+ * ModelRailWay. Handles the input of its Console and executes the fitting
+ * Command, which is returned by the CommandCenter.
  * 
  * @author Christopher Roth
  * @version 1.0
@@ -24,12 +34,40 @@ public class Session {
      * A ModelRailWay.
      */
     private ModelRailWay modelRailWay;
+    /**
+     * The journal of the Commands which change the ModelRailWay, or null if the
+     * Session has no journal.
+     */
+    private Journal journal;
+    /**
+     * The Console the Session reads its input from and prints its output to.
+     */
+    private Console console;
+    /**
+     * True if the trains of a step are moved at the same time.
+     */
+    private boolean parallelStep;
+    /**
+     * True if a switch can not be set while a train is on it.
+     */
+    private boolean interlocking;
 
     /**
-     * Constructor, which initiates a ModelRailWay.
+     * Constructor, which initiates a ModelRailWay. The Session reads from and
+     * prints to the Terminal.
      */
     public Session() {
+        this(new TerminalConsole());
+    }
+
+    /**
+     * Constructor, which initiates a ModelRailWay with its own Console.
+     * 
+     * @param console the Console of the Session.
+     */
+    public Session(Console console) {
         modelRailWay = new ModelRailWay();
+        this.console = console;
     }
 
     /**
@@ -41,15 +79,168 @@ public class Session {
         CommandCenter center = new CommandCenter(this);
 
         while (!finished) {
+            execute(center, console.readLine());
+        }
+    }
+
+    /**
+     * Runs a script in batch mode. The output is buffered and written in blocks
+     * instead of line by line. The script ends with its last line or the exit
+     * Command.
+     * 
+     * @param path the path of the script file, or null if the script is read from
+     *             the Console.
+     */
+    public void runBatch(String path) {
+        CommandCenter center = new CommandCenter(this);
+        console.setBatchMode(true);
+        try {
+            if (path != null) {
+                String[] script = Terminal.readFile(path);
+                for (int i = 0; i < script.length && !finished; i++) {
+                    execute(center, script[i]);
+                }
+            } else {
+                String line = console.readLine();
+                while (line != null && !finished) {
+                    execute(center, line);
+                    if (!finished) {
+                        line = console.readLine();
+                    }
+                }
+            }
+        } finally {
+            console.setBatchMode(false);
+        }
+    }
+
+    /**
+     * Executes the Command which fits an input line, or prints the error message
+     * if no Command fits.
+     * 
+     * @param center the CommandCenter which returns the Command.
+     * @param input  the input line.
+     */
+    private void execute(CommandCenter center, String input) {
+        try {
+            Command command = center.getCommand(input);
+            if (journal != null && command.changesState()) {
+                writeJournal(input);
+            }
+            command.execute();
+        } catch (InputException i) {
+            console.printLine(i.getMessage());
+        }
+        if (journal != null && journal.isCheckpointDue()) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Opens the journal in a directory and recovers the ModelRailWay from it. The
+     * ModelRailWay of the latest snapshot is restored and the Commands of the
+     * journal after the snapshot are executed again, without any output.
+     * Afterwards a checkpoint starts a new, empty journal.
+     * 
+     * @param directory the directory of the journal, which is created if it does
+     *                  not exist.
+     */
+    public void openJournal(String directory) {
+        try {
+            Journal opened = new Journal(Paths.get(directory));
+            ModelRailWay restored = opened.readSnapshot();
+            if (restored != null) {
+                setModelRailWay(restored);
+            }
+            replay(opened.readCommands());
+            opened.checkpoint(modelRailWay);
+            journal = opened;
+        } catch (IOException e) {
+            console.printLine(ErrorMessages.JOURNAL_NOT_RECOVERED.getMessage());
+        }
+    }
+
+    /**
+     * Writes a checkpoint of the journal and closes it. Does nothing if the
+     * Session has no journal.
+     */
+    public void closeJournal() {
+        if (journal != null) {
+            checkpoint();
+        }
+        if (journal != null) {
             try {
-                Command command = center.getCommand(Terminal.readLine());
-                command.execute();
-            } catch (InputException i) {
-                Terminal.printLine(i.getMessage());
+                journal.close();
+            } catch (IOException e) {
+                console.printLine(ErrorMessages.JOURNAL_NOT_WRITTEN.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Executes the Commands of a journal again. Nothing is printed, and Commands
+     * which failed when they were typed fail again the same way.
+     * 
+     * @param commands the Commands of the journal.
+     */
+    private void replay(List<String> commands) {
+        CommandCenter center = new CommandCenter(this);
+        Console output = console;
+        console = new SilentConsole();
+        try {
+            for (String input : commands) {
+                try {
+                    center.getCommand(input).execute();
+                } catch (InputException | RuntimeException e) {
+                    continue;
+                }
             }
+        } finally {
+            console = output;
         }
     }
 
+    /**
+     * Writes a Command into the journal. If the journal can not be written, the
+     * Session continues without a journal.
+     * 
+     * @param input the Command as it was typed in the Terminal.
+     */
+    private void writeJournal(String input) {
+        try {
+            journal.append(input);
+        } catch (IOException e) {
+            console.printLine(ErrorMessages.JOURNAL_NOT_WRITTEN.getMessage());
+            abandonJournal();
+        }
+    }
+
+    /**
+     * Writes a checkpoint of the journal. If the checkpoint fails, the Session
+     * continues without a journal.
+     */
+    private void checkpoint() {
+        try {
+            journal.checkpoint(modelRailWay);
+        } catch (IOException e) {
+            console.printLine(ErrorMessages.JOURNAL_NOT_WRITTEN.getMessage());
+            abandonJournal();
+        }
+    }
+
+    /**
+     * Closes the journal after an error and stops writing into it.
+     */
+    private void abandonJournal() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            // the journal is abandoned anyway.
+        }
+        journal = null;
+    }
+
     /**
      * The method which sets finished to true, which leads to a termination of the
      * program.
@@ -58,6 +249,84 @@ public class Session {
         finished = true;
     }
 
+    /**
+     * Replaces the ModelRailWay with the one of a snapshot file. If the file does
+     * not exist, the ModelRailWay stays as it is.
+     * 
+     * @param path the path of the snapshot file.
+     */
+    public void loadSnapshot(String path) {
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            setModelRailWay(ModelRailWay.restoreSnapshot(channel));
+        } catch (IOException e) {
+            console.printLine(ErrorMessages.SNAPSHOT_NOT_VALID.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the ModelRailWay into a file. The snapshot is written
+     * into a temporary file first, which replaces the old snapshot once it is
+     * complete, so a crash while writing does not destroy the old snapshot.
+     * 
+     * @param path the path of the snapshot file.
+     */
+    public void saveSnapshot(String path) {
+        Path file = Paths.get(path);
+        Path temporary = Paths.get(path + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                modelRailWay.saveSnapshot(channel);
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            console.printLine(ErrorMessages.SNAPSHOT_NOT_WRITTEN.getMessage());
+        }
+    }
+
+    /**
+     * Sets whether the trains of a step are moved at the same time on several
+     * threads, in the ModelRailWay of the Session and in every ModelRailWay it is
+     * replaced with.
+     * 
+     * @param parallel true to move the trains at the same time.
+     */
+    public void setParallelStep(boolean parallel) {
+        parallelStep = parallel;
+        modelRailWay.setParallelStep(parallel);
+    }
+
+    /**
+     * Sets whether a switch which a train is on can be set, in the ModelRailWay of
+     * the Session and in every ModelRailWay it is replaced with. Has to be set
+     * before a snapshot is loaded or a journal is opened, so the Commands of the
+     * journal are executed again in the same mode.
+     * 
+     * @param interlocking true to refuse setting occupied switches.
+     */
+    public void setInterlocking(boolean interlocking) {
+        this.interlocking = interlocking;
+        modelRailWay.setInterlocking(interlocking);
+    }
+
+    /**
+     * Replaces the ModelRailWay of the Session and gives it the modes of the
+     * Session. The threads of the replaced ModelRailWay are stopped.
+     * 
+     * @param restored the new ModelRailWay.
+     */
+    private void setModelRailWay(ModelRailWay restored) {
+        modelRailWay.setParallelStep(false);
+        restored.setParallelStep(parallelStep);
+        restored.setInterlocking(interlocking);
+        modelRailWay = restored;
+    }
+
     /**
      * Getter for the ModelRailWay.
      * 
@@ -66,4 +335,35 @@ public class Session {
     public ModelRailWay getModelRailWay() {
         return this.modelRailWay;
     }
+
+    /**
+     * Getter for the Console.
+     * 
+     * @return the Console of the Session.
+     */
+    public Console getConsole() {
+        return this.console;
+    }
+
+    /**
+     * The Console of a Session while the Commands of its journal are executed
+     * again. It reads nothing and prints nothing.
+     */
+    private static class SilentConsole implements Console {
+
+        @Override
+        public String readLine() {
+            return null;
+        }
+
+        @Override
+        public void printLine(Object object) {
+            // the output was already printed when the Command was typed.
+        }
+
+        @Override
+        public void setBatchMode(boolean batch) {
+            // there is no output to collect.
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package userinterface;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * The Console of a Session which reads from and prints to its own streams. The
+ * output is buffered, it is written whenever the buffer is full, after every
+ * line outside the batch mode and when the batch mode ends.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class StreamConsole implements Console {
+    /**
+     * The size of the output buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * The reader of the input stream.
+     */
+    private final BufferedReader in;
+    /**
+     * The stream the output is printed to.
+     */
+    private final PrintStream out;
+    /**
+     * True if the Console is in batch mode.
+     */
+    private boolean batch;
+
+    /**
+     * Constructor for a StreamConsole. The streams are not closed by the Console.
+     * 
+     * @param input  the stream the input is read from.
+     * @param output the stream the output is printed to.
+     */
+    StreamConsole(InputStream input, OutputStream output) {
+        this.in = new BufferedReader(new InputStreamReader(input));
+        this.out = new PrintStream(new BufferedOutputStream(output, BUFFER_SIZE), false);
+        this.batch = false;
+    }
+
+    @Override
+    public String readLine() {
+        try {
+            return this.in.readLine();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void printLine(Object object) {
+        this.out.println(object);
+        if (!this.batch) {
+            this.out.flush();
+        }
+    }
+
+    @Override
+    public void setBatchMode(boolean batch) {
+        this.batch = batch;
+        if (!batch) {
+            this.out.flush();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package userinterface;
+
+import java.io.BufferedOutputStream;
+import java.io.PrintStream;
+
+import edu.kit.informatik.Terminal;
+
+/**
+ * The Console of a Session which reads from and prints to the Terminal. It is
+ * used by the Session of the main method. Outside the batch mode every line is
+ * printed by the Terminal. In batch mode the lines are collected in a large
+ * buffer and written to the standard output in blocks, like the Terminal
+ * would print them, they are also kept as the last output of the Terminal.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class TerminalConsole implements Console {
+    /**
+     * The size of the output buffer in batch mode in bytes.
+     */
+    private static final int BATCH_BUFFER_SIZE = 1 << 16;
+    /**
+     * The stream the output is written to in batch mode, null outside the batch
+     * mode. It is only flushed when its buffer is full or the batch mode ends.
+     */
+    private PrintStream batchOut;
+
+    @Override
+    public String readLine() {
+        return Terminal.readLine();
+    }
+
+    @Override
+    public void printLine(Object object) {
+        if (this.batchOut == null) {
+            Terminal.printLine(object);
+            return;
+        }
+        if (!Terminal.test) {
+            this.batchOut.println(object);
+        }
+        Terminal.buffer = object.toString();
+    }
+
+    @Override
+    public void setBatchMode(boolean batch) {
+        if (batch && this.batchOut == null) {
+            this.batchOut = new PrintStream(new BufferedOutputStream(System.out, BATCH_BUFFER_SIZE), false);
+        } else if (!batch && this.batchOut != null) {
+            this.batchOut.flush();
+            this.batchOut = null;
+        }
+    }
+}
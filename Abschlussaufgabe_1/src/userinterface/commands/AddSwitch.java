@@ -2,16 +2,10 @@ package userinterface.commands;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
 
-import userinterface.InputException;
-import userinterface.Strings;
-
 /**
  * Represents the add switch command.
  * 
@@ -21,11 +15,9 @@ import userinterface.Strings;
 class AddSwitch extends Command {
 
     /**
-     * Regex Pattern for the addSwitch Command.
+     * The keyword the Command starts with.
      */
-    private final Pattern addSwitchPattern = Pattern.compile("^add switch (" + Strings.TRACKPOINT.getMessage() + ")"
-            + Strings.ARROW.getMessage() + "(" + Strings.TRACKPOINT.getMessage() + ")" + Strings.COMMA.getMessage()
-            + "(" + Strings.TRACKPOINT.getMessage() + ")$");
+    private static final String KEYWORD = "add switch ";
     /**
      * The Map which contains the arguments for the addSwitch command. Which are
      * three TrackPoints.
@@ -33,12 +25,18 @@ class AddSwitch extends Command {
     private Map<Integer, String> trackPoints = new HashMap<Integer, String>();
 
     /**
-     * Getter for the addSwitch Pattern.
+     * Getter for the keyword of the Command.
      * 
-     * @return the Pattern of the command.
+     * @return the keyword.
      */
-    public Pattern getPattern() {
-        return this.addSwitchPattern;
+    @Override
+    String getKeyword() {
+        return KEYWORD;
+    }
+
+    @Override
+    public boolean changesState() {
+        return true;
     }
 
     private void tryParse() throws LogicException {
@@ -57,24 +55,34 @@ class AddSwitch extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.getTrackNet().getTrackNetworkActions().addSwitch(trackPoints.get(0),
+            console.printLine(modelRailWay.getTrackNet().getTrackNetworkActions().addSwitch(trackPoints.get(0),
                     trackPoints.get(1), trackPoints.get(2)));
 
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
 
         }
 
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = addSwitchPattern.matcher(argument);
-        if (matcher.matches()) {
-            trackPoints.put(0, matcher.group(1));
-            trackPoints.put(1, matcher.group(2));
-            trackPoints.put(2, matcher.group(3));
+    boolean setArguments(CommandScanner scanner) {
+        String start = scanner.trackPoint();
+        if (start == null || !scanner.expect(" -> ")) {
+            return false;
+        }
+        String end1 = scanner.trackPoint();
+        if (end1 == null || !scanner.expect(",")) {
+            return false;
+        }
+        String end2 = scanner.trackPoint();
+        if (end2 == null) {
+            return false;
         }
+        trackPoints.put(0, start);
+        trackPoints.put(1, end1);
+        trackPoints.put(2, end2);
+        return true;
     }
 
 }
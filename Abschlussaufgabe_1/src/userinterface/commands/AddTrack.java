@@ -2,13 +2,7 @@ package userinterface.commands;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
-import userinterface.InputException;
-
-import userinterface.Strings;
 import logic.ErrorMessages;
 import logic.LogicException;
 
@@ -21,10 +15,9 @@ import logic.LogicException;
 class AddTrack extends Command {
 
     /**
-     * The regex Pattern of the addTrack Command.
+     * The keyword the Command starts with.
      */
-    private final Pattern addTrackPattern = Pattern.compile("^add track (" + Strings.TRACKPOINT.getMessage() + ")"
-            + Strings.ARROW.getMessage() + "(" + Strings.TRACKPOINT.getMessage() + ")$");
+    private static final String KEYWORD = "add track ";
     /**
      * The Map which contains the arguments for the addTrack command. Which are two
      * trackPoints.
@@ -32,12 +25,18 @@ class AddTrack extends Command {
     private Map<Integer, String> trackPoints = new HashMap<Integer, String>();
 
     /**
-     * Getter for the addTrack Pattern
+     * Getter for the keyword of the Command.
      * 
-     * @return the addTrack Pattern
+     * @return the keyword.
      */
-    public Pattern getPattern() {
-        return this.addTrackPattern;
+    @Override
+    String getKeyword() {
+        return KEYWORD;
+    }
+
+    @Override
+    public boolean changesState() {
+        return true;
     }
 
     private void tryParse() throws LogicException {
@@ -55,22 +54,27 @@ class AddTrack extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.getTrackNet().getTrackNetworkActions().addNormalTrack(trackPoints.get(0),
+            console.printLine(modelRailWay.getTrackNet().getTrackNetworkActions().addNormalTrack(trackPoints.get(0),
                     trackPoints.get(1)));
 
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage());
+            console.printLine(l.getMessage());
         }
     }
 
     @Override
-    public void setArguments(String argument) throws InputException {
-        Matcher matcher = addTrackPattern.matcher(argument);
-        if (matcher.matches()) {
-            trackPoints.put(0, matcher.group(1));
-            trackPoints.put(1, matcher.group(2));
+    boolean setArguments(CommandScanner scanner) {
+        String start = scanner.trackPoint();
+        if (start == null || !scanner.expect(" -> ")) {
+            return false;
         }
-
+        String end = scanner.trackPoint();
+        if (end == null) {
+            return false;
+        }
+        trackPoints.put(0, start);
+        trackPoints.put(1, end);
+        return true;
     }
 
 }
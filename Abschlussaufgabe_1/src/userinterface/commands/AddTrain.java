@@ -1,16 +1,10 @@
 package userinterface.commands;
 
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
 
-import userinterface.InputException;
-import userinterface.Strings;
-
 /**
  * Represents the AddTrain Command.
  * 
@@ -19,11 +13,9 @@ import userinterface.Strings;
  */
 class AddTrain extends Command {
     /**
-     * Regex Pattern for the addTrain Command.
+     * The keyword the Command starts with.
      */
-    private final Pattern addTrainPattern = Pattern
-            .compile("^add train " + "(" + Strings.DIGIT_POSITIVE.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_OR_LETTER_SEPERATED.getMessage().toString() + ")");
+    private static final String KEYWORD = "add train ";
     /**
      * The Map that contains the arguments for the command. It contains the Train-Id
      * and the id of the RollMaterial that should be added.
@@ -35,12 +27,12 @@ class AddTrain extends Command {
 
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.getRollMaterialComposition().addTrain(Integer.parseInt(arguments.get(0)),
+            console.printLine(modelRailWay.getRollMaterialComposition().addTrain(Integer.parseInt(arguments.get(0)),
                     arguments.get(1)));
 
         } catch (LogicException e) {
 
-            Terminal.printLine(e.getMessage().toString());
+            console.printLine(e.getMessage().toString());
         }
 
     }
@@ -55,23 +47,29 @@ class AddTrain extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = addTrainPattern.matcher(argument);
-        if (matcher.matches()) {
-            arguments.put(0, matcher.group(1));
-            arguments.put(1, matcher.group(2));
+    boolean setArguments(CommandScanner scanner) {
+        String trainId = scanner.number(false);
+        if (trainId == null || !scanner.expect(" ")) {
+            return false;
         }
-
+        arguments.put(0, trainId);
+        arguments.put(1, scanner.rollingStockId());
+        return true;
     }
 
     /**
-     * Getter for the addTrain-Pattern
+     * Getter for the keyword of the Command.
      * 
-     * @return the addTrain Pattern
+     * @return the keyword.
      */
     @Override
-    public Pattern getPattern() {
-        return this.addTrainPattern;
+    String getKeyword() {
+        return KEYWORD;
+    }
+
+    @Override
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,9 +1,7 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
 import logic.ModelRailWay;
-import userinterface.InputException;
+import userinterface.Console;
 import userinterface.Session;
 
 /**
@@ -17,6 +15,10 @@ public abstract class Command {
      * The ModelRailWay Object all Commands are executed on.
      */
     protected ModelRailWay modelRailWay;
+    /**
+     * The Console all Commands print their output to.
+     */
+    protected Console console;
 
     /**
      * Executes the fitting command, depending on the fitting regex Pattern. Takes
@@ -25,15 +27,28 @@ public abstract class Command {
     public abstract void execute();
 
     /**
-     * The method which sets the arguments, depending on the fitting regex Pattern.
-     * If no arguments need to be set, the method is empty. If more than one
+     * The method which sets the arguments. The scanner is positioned behind the
+     * keyword of the Command and reads the arguments one after another. If no
+     * arguments need to be set, the method is not overridden. If more than one
      * argument needs to be set the arguments are either saved in a String or a Map.
      * 
-     * @param argument the Terminal-Input
-     * @throws InputException if the Terminal-Input does not fit a regex-Pattern of
-     *                        one of the Commands.
+     * @param scanner the scanner which reads the Terminal-Input.
+     * @return false if the Terminal-Input does not fit the arguments of the
+     *         Command.
+     */
+    boolean setArguments(CommandScanner scanner) {
+        return true;
+    }
+
+    /**
+     * Checks if the Command can change the ModelRailWay or the id pools. These
+     * Commands are written into the journal of a Session, even if they fail,
+     * because a failing Command can still take an id.
+     * 
+     * @return true if the Command can change the state, false by default.
      */
-    void setArguments(String argument) throws InputException {
+    public boolean changesState() {
+        return false;
     }
 
     /**
@@ -44,12 +59,15 @@ public abstract class Command {
      */
     void setSession(Session session) {
         this.modelRailWay = session.getModelRailWay();
+        this.console = session.getConsole();
     }
 
     /**
-     * Getter for the Pattern of the commands.
+     * Getter for the keyword of the commands. The keyword is the fixed beginning of
+     * a command, for example "add track ". It ends with a space if the command
+     * has arguments.
      * 
-     * @return the regex-Pattern
+     * @return the keyword.
      */
-    abstract Pattern getPattern();
+    abstract String getKeyword();
 }
@@ -1,22 +1,30 @@
 package userinterface.commands;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import logic.ErrorMessages;
 import userinterface.InputException;
 import userinterface.Session;
 
 /**
  * Works as the Invoker Class of the Java Command Pattern. The CommandCenter
- * handles all Commands. Matches input Strings to the fitting Patterns. Then
- * creates a new Instance of the fitting Command class and executes it.
+ * handles all Commands. Looks up the fitting Command by the first one or two
+ * words of the input String, then lets the Command read its arguments.
  * 
  * @author Christopher Roth
  * @version 1.0
  */
 public class CommandCenter {
 
-    private final List<Command> commandPackage = new ArrayList<Command>();
+    /**
+     * All Commands, stored by the first one or two words of their keyword.
+     */
+    private final Map<String, Command> commandPackage = new HashMap<String, Command>();
+
+    /**
+     * The scanner which reads the arguments of the Commands.
+     */
+    private final CommandScanner scanner = new CommandScanner();
 
     private final Session session;
 
@@ -26,25 +34,27 @@ public class CommandCenter {
      * @param session the Session to be initiated.
      */
     public CommandCenter(final Session session) {
-        commandPackage.add(new AddSwitch());
-        commandPackage.add(new AddTrack());
-        commandPackage.add(new AddTrain());
-        commandPackage.add(new CreateCoach());
-        commandPackage.add(new CreateEngine());
-        commandPackage.add(new CreateTrainSet());
-        commandPackage.add(new DeleteRollingStock());
-        commandPackage.add(new DeleteTrack());
-        commandPackage.add(new DeleteTrain());
-        commandPackage.add(new Exit());
-        commandPackage.add(new ListCoaches());
-        commandPackage.add(new ListEngines());
-        commandPackage.add(new ListTrack());
-        commandPackage.add(new ListTrains());
-        commandPackage.add(new ListTrainSets());
-        commandPackage.add(new PutTrain());
-        commandPackage.add(new SetSwitch());
-        commandPackage.add(new ShowTrain());
-        commandPackage.add(new Step());
+        add(new AddSwitch());
+        add(new AddTrack());
+        add(new AddTrain());
+        add(new CreateCoach());
+        add(new CreateEngine());
+        add(new CreateTrainSet());
+        add(new DeleteRollingStock());
+        add(new DeleteTrack());
+        add(new DeleteTrain());
+        add(new Exit());
+        add(new ListCoaches());
+        add(new ListEngines());
+        add(new ListTrack());
+        add(new ListTrains());
+        add(new ListTrainSets());
+        add(new PutTrain());
+        add(new Route());
+        add(new SetSwitch());
+        add(new ShowTrain());
+        add(new Step());
+        add(new StepUntilCrash());
 
         this.session = session;
     }
@@ -52,21 +62,49 @@ public class CommandCenter {
     /**
      * Method that prepares the command to be executed.
      * 
-     * @param input the String input to be matched against a Pattern.
+     * @param input the String input to be matched against the Commands.
      * @return the fitting Command Class.
      * @throws InputException if the String does not match.
      */
     public Command getCommand(final String input) throws InputException {
 
-        Command matchingCommand = commandPackage.stream().filter(s -> s.getPattern().matcher(input).matches())
-                .findFirst().orElse(null);
+        Command matchingCommand = commandPackage.get(firstWords(input));
         if (matchingCommand == null) {
+            int space = input.indexOf(' ');
+            matchingCommand = commandPackage.get(space < 0 ? input : input.substring(0, space));
+        }
+        scanner.reset(input);
+        if (matchingCommand == null || !scanner.expect(matchingCommand.getKeyword())
+                || !matchingCommand.setArguments(scanner) || !scanner.atEnd()) {
             throw new InputException(ErrorMessages.NOT_MATCHING.getMessage().toString());
         }
 
-        matchingCommand.setArguments(input);
         matchingCommand.setSession(session);
 
         return matchingCommand;
     }
+
+    /**
+     * Adds a Command to the commandPackage.
+     * 
+     * @param command the Command to be added.
+     */
+    private void add(Command command) {
+        commandPackage.put(firstWords(command.getKeyword().trim()), command);
+    }
+
+    /**
+     * Returns the first two words of a String, or the whole String if it has no
+     * more than two words.
+     * 
+     * @param input the String.
+     * @return the first two words.
+     */
+    private static String firstWords(String input) {
+        int space = input.indexOf(' ');
+        if (space >= 0) {
+            space = input.indexOf(' ', space + 1);
+        }
+        return space < 0 ? input : input.substring(0, space);
+    }
 }
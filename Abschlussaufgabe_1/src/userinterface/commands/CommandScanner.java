@@ -0,0 +1,227 @@
+package userinterface.commands;
+
+/**
+ * Reads the arguments of a command from the Terminal-Input. The scanner walks
+ * through the input once from the left to the right. Every read method either
+ * consumes the part of the input it reads and returns it, or returns null and
+ * leaves the position unchanged if the input does not fit.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ */
+class CommandScanner {
+    /**
+     * The Terminal-Input.
+     */
+    private String input;
+    /**
+     * The index of the next character to be read.
+     */
+    private int position;
+
+    /**
+     * Sets a new input and moves the scanner to its first character.
+     *
+     * @param input the Terminal-Input.
+     */
+    void reset(String input) {
+        this.input = input;
+        this.position = 0;
+    }
+
+    /**
+     * Checks if the whole input was read.
+     *
+     * @return true if there are no characters left.
+     */
+    boolean atEnd() {
+        return this.position == this.input.length();
+    }
+
+    /**
+     * Reads a fixed String.
+     *
+     * @param literal the String which is expected at the current position.
+     * @return true if the input continues with the literal.
+     */
+    boolean expect(String literal) {
+        if (!this.input.startsWith(literal, this.position)) {
+            return false;
+        }
+        this.position = this.position + literal.length();
+        return true;
+    }
+
+    /**
+     * Reads one of the given words. A word has to be followed by a space or the end
+     * of the input.
+     *
+     * @param words the words which are allowed.
+     * @return the word which was read, or null.
+     */
+    String oneOf(String... words) {
+        for (String word : words) {
+            int end = this.position + word.length();
+            if (this.input.startsWith(word, this.position)
+                    && (end == this.input.length() || this.input.charAt(end) == ' ')) {
+                this.position = end;
+                return word;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a number, which consists of an optional sign and at least one digit.
+     * The sign of a positive number can be either + or /, the sign of a number
+     * which can also be negative either + or -.
+     *
+     * @param negative true if the number can be negative.
+     * @return the number which was read, or null.
+     */
+    String number(boolean negative) {
+        int start = this.position;
+        int end = this.skipNumber(start, negative);
+        if (end == start) {
+            return null;
+        }
+        this.position = end;
+        return this.input.substring(start, end);
+    }
+
+    /**
+     * Reads a Point of the form (x,y). Both coordinates can be negative.
+     *
+     * @return the Point which was read, or null.
+     */
+    String trackPoint() {
+        int start = this.position;
+        if (!this.isAt(start, '(')) {
+            return null;
+        }
+        int coordX = this.skipMinus(start + 1);
+        int index = this.skipDigits(coordX);
+        if (index == coordX || !this.isAt(index, ',')) {
+            return null;
+        }
+        int coordY = this.skipMinus(index + 1);
+        index = this.skipDigits(coordY);
+        if (index == coordY || !this.isAt(index, ')')) {
+            return null;
+        }
+        this.position = index + 1;
+        return this.input.substring(start, this.position);
+    }
+
+    /**
+     * Reads a name, which consists of letters and digits. The name can be empty.
+     *
+     * @return the name which was read.
+     */
+    String name() {
+        int start = this.position;
+        this.position = this.skipName(start);
+        return this.input.substring(start, this.position);
+    }
+
+    /**
+     * Reads the id of a rolling stock, which consists of two names separated by a
+     * minus or of only one name.
+     *
+     * @return the id which was read.
+     */
+    String rollingStockId() {
+        int start = this.position;
+        int end = this.skipName(start);
+        if (this.isAt(end, '-')) {
+            end = this.skipName(end + 1);
+        }
+        this.position = end;
+        return this.input.substring(start, end);
+    }
+
+    /**
+     * Skips an optional sign and the following digits.
+     *
+     * @param start    the index to start at.
+     * @param negative true if the sign can be a minus, false if it can be a slash.
+     * @return the index behind the number, or start if there is no digit.
+     */
+    private int skipNumber(int start, boolean negative) {
+        int index = start;
+        if (index < this.input.length()) {
+            char sign = this.input.charAt(index);
+            if (sign == '+' || sign == (negative ? '-' : '/')) {
+                index++;
+            }
+        }
+        int end = this.skipDigits(index);
+        return end == index ? start : end;
+    }
+
+    /**
+     * Skips an optional minus.
+     *
+     * @param start the index to start at.
+     * @return the index behind the minus.
+     */
+    private int skipMinus(int start) {
+        if (this.isAt(start, '-')) {
+            return start + 1;
+        }
+        return start;
+    }
+
+    /**
+     * Skips the digits 0 to 9.
+     *
+     * @param start the index to start at.
+     * @return the index of the first character which is no digit.
+     */
+    private int skipDigits(int start) {
+        int index = start;
+        while (index < this.input.length() && isDigit(this.input.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skips letters and the digits 0 to 9.
+     *
+     * @param start the index to start at.
+     * @return the index of the first character which is neither letter nor digit.
+     */
+    private int skipName(int start) {
+        int index = start;
+        while (index < this.input.length()) {
+            int codePoint = this.input.codePointAt(index);
+            if (!Character.isLetter(codePoint) && !isDigit(codePoint)) {
+                break;
+            }
+            index = index + Character.charCount(codePoint);
+        }
+        return index;
+    }
+
+    /**
+     * Checks if the input has the given character at an index.
+     *
+     * @param index     the index.
+     * @param character the character.
+     * @return true if the character is at the index.
+     */
+    private boolean isAt(int index, char character) {
+        return index < this.input.length() && this.input.charAt(index) == character;
+    }
+
+    /**
+     * Checks if a character is one of the digits 0 to 9.
+     *
+     * @param character the character.
+     * @return true if it is a digit.
+     */
+    private static boolean isDigit(int character) {
+        return character >= '0' && character <= '9';
+    }
+}
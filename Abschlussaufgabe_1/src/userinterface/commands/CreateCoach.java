@@ -1,14 +1,9 @@
 package userinterface.commands;
 
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the CreateCoach Command.
@@ -18,13 +13,9 @@ import userinterface.Strings;
  */
 class CreateCoach extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern createCoachPattern = Pattern
-            .compile("^create coach " + "(" + Strings.COACH_TYPE.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_POSITIVE.getMessage().toString() + ")" + " " + "("
-                    + Strings.TRUE_FALSE.getMessage().toString() + ")" + " " + "("
-                    + Strings.TRUE_FALSE.getMessage().toString() + ")");
+    private static final String KEYWORD = "create coach ";
     /**
      * Contains all arguments needed.
      */
@@ -34,10 +25,10 @@ class CreateCoach extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock()
+            console.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock()
                     .addCoachToCollection(arguments.get(0), arguments.get(1), arguments.get(2), arguments.get(3)));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
     }
 
@@ -51,19 +42,38 @@ class CreateCoach extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = createCoachPattern.matcher(argument);
-        if (matcher.matches()) {
-            arguments.put(0, matcher.group(1));
-            arguments.put(1, matcher.group(2));
-            arguments.put(2, matcher.group(3));
-            arguments.put(3, matcher.group(4));
+    boolean setArguments(CommandScanner scanner) {
+        String type = scanner.oneOf("passenger", "freight", "special");
+        if (type == null || !scanner.expect(" ")) {
+            return false;
         }
+        String length = scanner.number(false);
+        if (length == null || !scanner.expect(" ")) {
+            return false;
+        }
+        String couplingFront = scanner.oneOf("true", "false");
+        if (couplingFront == null || !scanner.expect(" ")) {
+            return false;
+        }
+        String couplingBack = scanner.oneOf("true", "false");
+        if (couplingBack == null) {
+            return false;
+        }
+        arguments.put(0, type);
+        arguments.put(1, length);
+        arguments.put(2, couplingFront);
+        arguments.put(3, couplingBack);
+        return true;
+    }
+
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.createCoachPattern;
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,14 +1,9 @@
 package userinterface.commands;
 
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the CreateEngine Command.
@@ -19,15 +14,9 @@ import userinterface.Strings;
 class CreateEngine extends Command {
 
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern createEnginePattern = Pattern
-            .compile("^create engine " + "(" + Strings.ENGINE_TYPE.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_OR_LETTER.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_OR_LETTER.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_POSITIVE.getMessage().toString() + ")" + " " + "("
-                    + Strings.TRUE_FALSE.getMessage().toString() + ")" + " " + "("
-                    + Strings.TRUE_FALSE.getMessage().toString() + ")$");
+    private static final String KEYWORD = "create engine ";
 
     /**
      * Contains all arguments.
@@ -38,11 +27,11 @@ class CreateEngine extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock()
+            console.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock()
                     .addLocomotiveToCollection(arguments.get(0), arguments.get(1), arguments.get(2), arguments.get(3),
                             arguments.get(4), arguments.get(5)));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
     }
 
@@ -56,21 +45,48 @@ class CreateEngine extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = createEnginePattern.matcher(argument);
-        if (matcher.matches()) {
-            arguments.put(0, matcher.group(1));
-            arguments.put(1, matcher.group(2));
-            arguments.put(2, matcher.group(3));
-            arguments.put(3, matcher.group(4));
-            arguments.put(4, matcher.group(5));
-            arguments.put(5, matcher.group(6));
+    boolean setArguments(CommandScanner scanner) {
+        String type = scanner.oneOf("diesel", "steam", "electrical");
+        if (type == null || !scanner.expect(" ")) {
+            return false;
         }
+        String series = scanner.name();
+        if (!scanner.expect(" ")) {
+            return false;
+        }
+        String name = scanner.name();
+        if (!scanner.expect(" ")) {
+            return false;
+        }
+        String length = scanner.number(false);
+        if (length == null || !scanner.expect(" ")) {
+            return false;
+        }
+        String couplingFront = scanner.oneOf("true", "false");
+        if (couplingFront == null || !scanner.expect(" ")) {
+            return false;
+        }
+        String couplingBack = scanner.oneOf("true", "false");
+        if (couplingBack == null) {
+            return false;
+        }
+        arguments.put(0, type);
+        arguments.put(1, series);
+        arguments.put(2, name);
+        arguments.put(3, length);
+        arguments.put(4, couplingFront);
+        arguments.put(5, couplingBack);
+        return true;
+    }
+
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.createEnginePattern;
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,14 +1,9 @@
 package userinterface.commands;
 
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the Create TrainSet Command.
@@ -18,14 +13,9 @@ import userinterface.Strings;
  */
 class CreateTrainSet extends Command {
     /**
-     * Pattern
+     * The keyword the Command starts with.
      */
-    private final Pattern createTrainSetPattern = Pattern
-            .compile("^create train-set " + "(" + Strings.DIGIT_OR_LETTER.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_OR_LETTER.getMessage().toString() + ")" + " " + "("
-                    + Strings.DIGIT_POSITIVE.getMessage().toString() + ")" + " " + "("
-                    + Strings.TRUE_FALSE.getMessage().toString() + ")" + " " + "("
-                    + Strings.TRUE_FALSE.getMessage().toString() + ")$");
+    private static final String KEYWORD = "create train-set ";
     /**
      * Contains all arguments.
      */
@@ -35,10 +25,10 @@ class CreateTrainSet extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().addTrainSetToCollection(
+            console.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().addTrainSetToCollection(
                     arguments.get(0), arguments.get(1), arguments.get(2), arguments.get(3), arguments.get(4)));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
 
     }
@@ -53,26 +43,48 @@ class CreateTrainSet extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = createTrainSetPattern.matcher(argument);
-        if (matcher.matches()) {
-            arguments.put(0, matcher.group(1));
-            arguments.put(1, matcher.group(2));
-            arguments.put(2, matcher.group(3));
-            arguments.put(3, matcher.group(4));
-            arguments.put(4, matcher.group(5));
-
+    boolean setArguments(CommandScanner scanner) {
+        String series = scanner.name();
+        if (!scanner.expect(" ")) {
+            return false;
         }
-
+        String name = scanner.name();
+        if (!scanner.expect(" ")) {
+            return false;
+        }
+        String length = scanner.number(false);
+        if (length == null || !scanner.expect(" ")) {
+            return false;
+        }
+        String couplingFront = scanner.oneOf("true", "false");
+        if (couplingFront == null || !scanner.expect(" ")) {
+            return false;
+        }
+        String couplingBack = scanner.oneOf("true", "false");
+        if (couplingBack == null) {
+            return false;
+        }
+        arguments.put(0, series);
+        arguments.put(1, name);
+        arguments.put(2, length);
+        arguments.put(3, couplingFront);
+        arguments.put(4, couplingBack);
+        return true;
     }
 
     /**
-     * Getter for the Pattern
+     * Getter for the keyword of the Command.
      * 
-     * @return the Pattern of this command.
+     * @return the keyword.
      */
-    public Pattern getPattern() {
-        return this.createTrainSetPattern;
+    @Override
+    String getKeyword() {
+        return KEYWORD;
+    }
+
+    @Override
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,13 +1,7 @@
 package userinterface.commands;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the DeleteRollingStock Command.
@@ -17,10 +11,9 @@ import userinterface.Strings;
  */
 class DeleteRollingStock extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern deleteRollingStockPattern = Pattern
-            .compile("^delete rolling stock " + "(" + Strings.DIGIT_OR_LETTER_SEPERATED.getMessage().toString() + ")$");
+    private static final String KEYWORD = "delete rolling stock ";
     /**
      * Contains the argument.
      */
@@ -30,10 +23,10 @@ class DeleteRollingStock extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(
+            console.printLine(
                     modelRailWay.getRollMaterialComposition().getRollMaterialStock().deleteRollingStock(argument));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
 
     }
@@ -50,17 +43,19 @@ class DeleteRollingStock extends Command {
     }
 
     @Override
-    void setArguments(String input) throws InputException {
-        Matcher matcher = deleteRollingStockPattern.matcher(input);
-        if (matcher.matches()) {
-            this.argument = matcher.group(1);
-        }
+    boolean setArguments(CommandScanner scanner) {
+        this.argument = scanner.rollingStockId();
+        return true;
+    }
 
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.deleteRollingStockPattern;
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,14 +1,7 @@
 package userinterface.commands;
 
-import java.util.regex.Matcher;
-
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the Delete Track Command.
@@ -19,10 +12,9 @@ import userinterface.Strings;
  */
 class DeleteTrack extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern deleteTrackPattern = Pattern
-            .compile("^delete track (" + Strings.DIGIT_POSITIVE.getMessage() + ")$");
+    private static final String KEYWORD = "delete track ";
     /**
      * The argument for the Command.
      */
@@ -32,9 +24,9 @@ class DeleteTrack extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(this.modelRailWay.deleteTrack(Integer.parseInt(argument)));
+            console.printLine(this.modelRailWay.deleteTrack(Integer.parseInt(argument)));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage());
+            console.printLine(l.getMessage());
         }
 
     }
@@ -49,17 +41,19 @@ class DeleteTrack extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = deleteTrackPattern.matcher(argument);
-        if (matcher.matches()) {
-            this.argument = matcher.group(1);
-        }
+    boolean setArguments(CommandScanner scanner) {
+        this.argument = scanner.number(false);
+        return this.argument != null;
+    }
 
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.deleteTrackPattern;
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,13 +1,7 @@
 package userinterface.commands;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the DeleteTrain Command.
@@ -17,10 +11,9 @@ import userinterface.Strings;
  */
 class DeleteTrain extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern deleteTrainPattern = Pattern
-            .compile("^delete train " + "(" + Strings.DIGIT_POSITIVE.getMessage().toString() + ")$");
+    private static final String KEYWORD = "delete train ";
     /**
      * Contains the argument.
      */
@@ -30,9 +23,9 @@ class DeleteTrain extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.deleteTrainFromTrack(argument));
+            console.printLine(modelRailWay.deleteTrainFromTrack(argument));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
     }
 
@@ -46,17 +39,19 @@ class DeleteTrain extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = deleteTrainPattern.matcher(argument);
-        if (matcher.matches()) {
-            this.argument = matcher.group(1);
-        }
+    boolean setArguments(CommandScanner scanner) {
+        this.argument = scanner.number(false);
+        return this.argument != null;
+    }
 
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.deleteTrainPattern;
+    public boolean changesState() {
+        return true;
     }
 
 }
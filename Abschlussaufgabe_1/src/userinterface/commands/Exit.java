@@ -1,8 +1,5 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
-import userinterface.InputException;
 import userinterface.Session;
 
 /**
@@ -13,9 +10,9 @@ import userinterface.Session;
  */
 class Exit extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern exitPattern = Pattern.compile("^exit$");
+    private static final String KEYWORD = "exit";
 
     /**
      * This command gets a session in contrast to the other commands, because this
@@ -24,12 +21,13 @@ class Exit extends Command {
     private Session session;
 
     /**
-     * Getter for the Pattern.
+     * Getter for the keyword of the Command.
      * 
-     * @return the Pattern of this Command.
+     * @return the keyword.
      */
-    public Pattern getPattern() {
-        return this.exitPattern;
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
@@ -43,10 +41,4 @@ class Exit extends Command {
         this.session = session;
     }
 
-    @Override
-    void setArguments(String argument) throws InputException {
-        // no arguments are needed for this Command.
-
-    }
-
 }
@@ -1,9 +1,5 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
-
 /**
  * Class for the ListCoaches Command.
  * 
@@ -12,20 +8,20 @@ import edu.kit.informatik.Terminal;
  */
 class ListCoaches extends Command {
     /**
-     * Pattern
+     * The keyword the Command starts with.
      */
-    private final Pattern listCoachesPattern = Pattern.compile("^list coaches$");
+    private static final String KEYWORD = "list coaches";
 
     @Override
     public void execute() {
 
-        Terminal.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().returnCoaches());
+        console.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().returnCoaches());
 
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.listCoachesPattern;
+    String getKeyword() {
+        return KEYWORD;
     }
 
 }
@@ -1,9 +1,5 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
-
 /**
  * Class for the ListEngines Command.
  * 
@@ -12,19 +8,19 @@ import edu.kit.informatik.Terminal;
  */
 class ListEngines extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern listEnginesPattern = Pattern.compile("^list engines$");
+    private static final String KEYWORD = "list engines";
 
     @Override
     public void execute() {
-        Terminal.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().returnEngines());
+        console.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().returnEngines());
 
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.listEnginesPattern;
+    String getKeyword() {
+        return KEYWORD;
     }
 
 }
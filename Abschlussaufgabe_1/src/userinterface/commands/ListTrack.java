@@ -1,9 +1,5 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
-
 /**
  * Class for the ListTrack Command.
  * 
@@ -12,23 +8,23 @@ import edu.kit.informatik.Terminal;
  */
 class ListTrack extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern listTrackPattern = Pattern.compile("^list tracks$");
+    private static final String KEYWORD = "list tracks";
 
     @Override
     public void execute() {
 
         if (!modelRailWay.getTrackNet().isEmpty()) {
-            Terminal.printLine(modelRailWay.getTrackNet().trackListToString());
+            console.printLine(modelRailWay.getTrackNet().trackListToString());
         } else {
-            Terminal.printLine("No track exists");
+            console.printLine("No track exists");
         }
 
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.listTrackPattern;
+    String getKeyword() {
+        return KEYWORD;
     }
 }
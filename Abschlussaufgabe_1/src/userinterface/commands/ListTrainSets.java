@@ -1,9 +1,5 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
-
 /**
  * Class for the ListTrainSets Command.
  * 
@@ -12,18 +8,18 @@ import edu.kit.informatik.Terminal;
  */
 class ListTrainSets extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern listTrainSetsPattern = Pattern.compile("^list train-sets$");
+    private static final String KEYWORD = "list train-sets";
 
     @Override
     public void execute() {
-        Terminal.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().returnTrainSets());
+        console.printLine(modelRailWay.getRollMaterialComposition().getRollMaterialStock().returnTrainSets());
 
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.listTrainSetsPattern;
+    String getKeyword() {
+        return KEYWORD;
     }
 }
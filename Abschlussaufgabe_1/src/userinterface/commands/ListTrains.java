@@ -1,9 +1,5 @@
 package userinterface.commands;
 
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
-
 /**
  * Class for the ListTrains Command.
  * 
@@ -12,19 +8,19 @@ import edu.kit.informatik.Terminal;
  */
 class ListTrains extends Command {
     /**
-     * Pattern
+     * The keyword the Command starts with.
      */
-    private final Pattern listTrainsPattern = Pattern.compile("^list trains$");
+    private static final String KEYWORD = "list trains";
 
     @Override
     public void execute() {
-        Terminal.printLine(modelRailWay.getRollMaterialComposition().returnTrains());
+        console.printLine(modelRailWay.getRollMaterialComposition().returnTrains());
 
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.listTrainsPattern;
+    String getKeyword() {
+        return KEYWORD;
     }
 
 }
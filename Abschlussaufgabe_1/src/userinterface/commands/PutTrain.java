@@ -1,14 +1,9 @@
 package userinterface.commands;
 
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the PutTrain Command.
@@ -18,13 +13,9 @@ import userinterface.Strings;
  */
 class PutTrain extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern putTrainPattern = Pattern
-            .compile("^put train " + "(" + Strings.DIGIT_POSITIVE.getMessage().toString() + ")" + " at " + "("
-                    + Strings.TRACKPOINT.getMessage().toString() + ")" + " in direction " + "("
-                    + Strings.DIGIT_POSITIVE_NEGATIVE.getMessage().toString() + ")" + "," + "("
-                    + Strings.DIGIT_POSITIVE_NEGATIVE.getMessage().toString() + ")$");
+    private static final String KEYWORD = "put train ";
     /*
      * Contains all arguments.
      */
@@ -34,11 +25,11 @@ class PutTrain extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.putTrain(arguments.get(0), arguments.get(1),
+            console.printLine(modelRailWay.putTrain(arguments.get(0), arguments.get(1),
                     Integer.parseInt(arguments.get(2)), Integer.parseInt(arguments.get(3))));
 
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
     }
 
@@ -57,31 +48,49 @@ class PutTrain extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = putTrainPattern.matcher(argument);
-        if (matcher.matches()) {
-            arguments.put(0, matcher.group(1));
-            arguments.put(1, matcher.group(2));
-            if (Integer.parseInt(matcher.group(3)) > 0) {
-                arguments.put(2, "1");
-            } else if (Integer.parseInt(matcher.group(3)) < 0) {
-                arguments.put(2, "-1");
-            } else {
-                arguments.put(2, "0");
-            }
-            if (Integer.parseInt(matcher.group(4)) > 0) {
-                arguments.put(3, "1");
-            } else if (Integer.parseInt(matcher.group(4)) < 0) {
-                arguments.put(3, "-1");
-            } else {
-                arguments.put(3, "0");
-            }
+    boolean setArguments(CommandScanner scanner) {
+        String trainId = scanner.number(false);
+        if (trainId == null || !scanner.expect(" at ")) {
+            return false;
+        }
+        String point = scanner.trackPoint();
+        if (point == null || !scanner.expect(" in direction ")) {
+            return false;
+        }
+        String vectorX = scanner.number(true);
+        if (vectorX == null || !scanner.expect(",")) {
+            return false;
+        }
+        String vectorY = scanner.number(true);
+        if (vectorY == null || !scanner.atEnd()) {
+            return false;
         }
+        arguments.put(0, trainId);
+        arguments.put(1, point);
+        if (Integer.parseInt(vectorX) > 0) {
+            arguments.put(2, "1");
+        } else if (Integer.parseInt(vectorX) < 0) {
+            arguments.put(2, "-1");
+        } else {
+            arguments.put(2, "0");
+        }
+        if (Integer.parseInt(vectorY) > 0) {
+            arguments.put(3, "1");
+        } else if (Integer.parseInt(vectorY) < 0) {
+            arguments.put(3, "-1");
+        } else {
+            arguments.put(3, "0");
+        }
+        return true;
+    }
 
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.putTrainPattern;
+    public boolean changesState() {
+        return true;
     }
 }
@@ -0,0 +1,64 @@
+package userinterface.commands;
+
+import java.util.HashMap;
+
+import logic.ErrorMessages;
+import logic.LogicException;
+
+/**
+ * Class for the Route Command. Prints the length of the shortest route of a
+ * train to a point and the switch settings it needs.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class Route extends Command {
+    /**
+     * The keyword the Command starts with.
+     */
+    private static final String KEYWORD = "route ";
+    /**
+     * Contains all arguments.
+     */
+    private HashMap<Integer, String> arguments = new HashMap<Integer, String>();
+
+    @Override
+    public void execute() {
+        try {
+            tryParse();
+            console.printLine(modelRailWay.route(arguments.get(0), arguments.get(1)));
+        } catch (LogicException l) {
+            console.printLine(l.getMessage());
+        }
+    }
+
+    private void tryParse() throws LogicException {
+        try {
+            Integer.parseInt(arguments.get(0));
+            this.modelRailWay.getTrackNet().createTrackPoint(arguments.get(1).split(","));
+        } catch (NumberFormatException n) {
+            throw new LogicException(ErrorMessages.NUMBER_TOO_BIG.getMessage());
+        }
+    }
+
+    @Override
+    boolean setArguments(CommandScanner scanner) {
+        String trainId = scanner.number(false);
+        if (trainId == null || !scanner.expect(" to ")) {
+            return false;
+        }
+        String point = scanner.trackPoint();
+        if (point == null) {
+            return false;
+        }
+        arguments.put(0, trainId);
+        arguments.put(1, point);
+        return true;
+    }
+
+    @Override
+    String getKeyword() {
+        return KEYWORD;
+    }
+}
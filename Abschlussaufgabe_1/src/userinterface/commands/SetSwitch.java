@@ -1,14 +1,9 @@
 package userinterface.commands;
 
 import java.util.HashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the SetSwitch Command.
@@ -19,11 +14,9 @@ import userinterface.Strings;
  */
 class SetSwitch extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern setSwitchPattern = Pattern
-            .compile("^set switch " + "(" + Strings.DIGIT_POSITIVE.getMessage().toString() + ")" + " position " + "("
-                    + Strings.TRACKPOINT.getMessage().toString() + ")");
+    private static final String KEYWORD = "set switch ";
     /**
      * Contains all arguments.
      */
@@ -33,9 +26,9 @@ class SetSwitch extends Command {
     public void execute() {
         try {
             tryParse();
-            Terminal.printLine(modelRailWay.setSwitch(arguments.get(0), arguments.get(1)));
+            console.printLine(modelRailWay.setSwitch(arguments.get(0), arguments.get(1)));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage().toString());
+            console.printLine(l.getMessage().toString());
         }
 
     }
@@ -52,19 +45,28 @@ class SetSwitch extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = setSwitchPattern.matcher(argument);
-        if (matcher.matches()) {
-            arguments.put(0, matcher.group(1));
-            arguments.put(1, matcher.group(2));
-
+    boolean setArguments(CommandScanner scanner) {
+        String trackId = scanner.number(false);
+        if (trackId == null || !scanner.expect(" position ")) {
+            return false;
+        }
+        String point = scanner.trackPoint();
+        if (point == null) {
+            return false;
         }
+        arguments.put(0, trackId);
+        arguments.put(1, point);
+        return true;
+    }
 
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.setSwitchPattern;
+    public boolean changesState() {
+        return true;
     }
 
 }
@@ -1,13 +1,7 @@
 package userinterface.commands;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the ShowTrain Command.
@@ -18,10 +12,9 @@ import userinterface.Strings;
  */
 class ShowTrain extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern showTrainPattern = Pattern
-            .compile("^show train " + "(" + Strings.DIGIT_POSITIVE.getMessage().toString() + ")$");
+    private static final String KEYWORD = "show train ";
     /**
      * Contains the argument.
      */
@@ -36,14 +29,14 @@ class ShowTrain extends Command {
                 String[] train = modelRailWay.getRollMaterialComposition().trainWithIdExists(Integer.parseInt(argument))
                         .returnTrainToString();
                 for (int i = train.length - 1; i >= 0; i--) {
-                    Terminal.printLine(train[i]);
+                    console.printLine(train[i]);
                 }
             } else {
-                Terminal.printError("This train is not existing!");
+                console.printError("This train is not existing!");
             }
 
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage());
+            console.printLine(l.getMessage());
         }
 
     }
@@ -59,17 +52,14 @@ class ShowTrain extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = showTrainPattern.matcher(argument);
-        if (matcher.matches()) {
-            this.argument = matcher.group(1);
-        }
-
+    boolean setArguments(CommandScanner scanner) {
+        this.argument = scanner.number(false);
+        return this.argument != null;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.showTrainPattern;
+    String getKeyword() {
+        return KEYWORD;
     }
 
 }
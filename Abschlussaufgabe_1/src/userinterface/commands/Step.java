@@ -1,13 +1,7 @@
 package userinterface.commands;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import edu.kit.informatik.Terminal;
 import logic.ErrorMessages;
 import logic.LogicException;
-import userinterface.InputException;
-import userinterface.Strings;
 
 /**
  * Class for the Step command.
@@ -19,10 +13,9 @@ import userinterface.Strings;
  */
 class Step extends Command {
     /**
-     * Pattern.
+     * The keyword the Command starts with.
      */
-    private final Pattern stepPattern = Pattern
-            .compile("^step " + "(" + Strings.DIGIT_POSITIVE_NEGATIVE.getMessage() + ")$");
+    private static final String KEYWORD = "step ";
     /**
      * Contains the argument.
      */
@@ -33,9 +26,9 @@ class Step extends Command {
 
         try {
             tryParse(argument);
-            Terminal.printLine(modelRailWay.step(Short.parseShort(argument)));
+            console.printLine(modelRailWay.step(Short.parseShort(argument)));
         } catch (LogicException l) {
-            Terminal.printLine(l.getMessage());
+            console.printLine(l.getMessage());
         }
 
     }
@@ -50,16 +43,18 @@ class Step extends Command {
     }
 
     @Override
-    void setArguments(String argument) throws InputException {
-        Matcher matcher = stepPattern.matcher(argument);
-        if (matcher.matches()) {
-            this.argument = matcher.group(1);
-        }
+    boolean setArguments(CommandScanner scanner) {
+        this.argument = scanner.number(true);
+        return this.argument != null;
+    }
 
+    @Override
+    String getKeyword() {
+        return KEYWORD;
     }
 
     @Override
-    public Pattern getPattern() {
-        return this.stepPattern;
+    public boolean changesState() {
+        return true;
     }
 }
@@ -0,0 +1,73 @@
+package userinterface.commands;
+
+import logic.ErrorMessages;
+import logic.LogicException;
+
+/**
+ * Class for the step until crash command. Moves the trains forward until the
+ * first crash, but at most a given number of points.
+ * 
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+class StepUntilCrash extends Command {
+    /**
+     * The keyword the Command starts with.
+     */
+    private static final String KEYWORD = "step until crash";
+    /**
+     * The maximum number of points if no maximum is given, which is the greatest
+     * speed of a step.
+     */
+    private static final String DEFAULT_MAX = String.valueOf(Short.MAX_VALUE);
+    /**
+     * Contains the maximum number of points.
+     */
+    private String max;
+
+    @Override
+    public void execute() {
+        try {
+            console.printLine(modelRailWay.stepUntilCrash(tryParse(max)));
+        } catch (LogicException l) {
+            console.printLine(l.getMessage());
+        }
+    }
+
+    private int tryParse(String argument) throws LogicException {
+        int number;
+        try {
+            number = Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new LogicException(ErrorMessages.NUMBER_TOO_BIG.getMessage());
+        }
+        if (number == 0) {
+            throw new LogicException(ErrorMessages.MAX_IS_ZERO.getMessage());
+        }
+        return number;
+    }
+
+    @Override
+    boolean setArguments(CommandScanner scanner) {
+        if (scanner.atEnd()) {
+            this.max = DEFAULT_MAX;
+            return true;
+        }
+        if (!scanner.expect(" max ")) {
+            return false;
+        }
+        this.max = scanner.number(false);
+        return this.max != null;
+    }
+
+    @Override
+    String getKeyword() {
+        return KEYWORD;
+    }
+
+    @Override
+    public boolean changesState() {
+        return true;
+    }
+}
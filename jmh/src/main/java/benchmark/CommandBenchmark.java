@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import userinterface.InputException;
+import userinterface.Session;
+import userinterface.commands.CommandCenter;
+
+/**
+ * Measures matching a mix of valid and invalid commands in the CommandCenter.
+ * The commands are only matched, not executed.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandBenchmark {
+    /**
+     * The commands which are matched.
+     */
+    private static final String[] COMMANDS = {"add track (1,1) -> (5,1)", "add switch (0,0) -> (0,10),(10,0)",
+        "create engine steam T3 Emma 1 false true", "create coach passenger 1 true true",
+        "create train-set 403 ICE4 1 true true", "delete rolling stock T3-Emma", "add train 1 W1",
+        "delete train 1", "list tracks", "list trains", "list engines", "list coaches", "list train-sets",
+        "set switch 3 position (10,0)", "put train 1 at (1,1) in direction 1,0", "show train 1", "step 10",
+        "step -3", "step until crash max 10", "route 1 to (5,1)", "delete track 2", "add track (1,1) -> (5,1",
+        "list", "step", "put train x at (1,1)", "create engine diesel", "exit now"};
+
+    /**
+     * The CommandCenter of an empty Session.
+     */
+    private CommandCenter center;
+
+    /**
+     * Creates the CommandCenter.
+     */
+    @Setup
+    public void setUp() {
+        this.center = new CommandCenter(new Session());
+    }
+
+    /**
+     * Matches all commands.
+     *
+     * @param blackhole consumes the matched commands and the errors.
+     */
+    @Benchmark
+    public void getCommand(Blackhole blackhole) {
+        for (String command : COMMANDS) {
+            try {
+                blackhole.consume(this.center.getCommand(command));
+            } catch (InputException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
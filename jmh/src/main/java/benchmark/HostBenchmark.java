@@ -0,0 +1,97 @@
+package benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import userinterface.RailWayHost;
+
+/**
+ * Measures Sessions which run at the same time in a RailWayHost. Every Session
+ * builds a ring of Tracks with Trains on it and executes steps.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HostBenchmark {
+    /**
+     * The number of Sessions.
+     */
+    private static final int SESSIONS = 64;
+    /**
+     * The number of Trains in every Session.
+     */
+    private static final int TRAINS = 8;
+    /**
+     * The length of every Train.
+     */
+    private static final int LENGTH = 5;
+
+    /**
+     * The script every Session executes.
+     */
+    private byte[] script;
+
+    /**
+     * Creates the script.
+     */
+    @Setup
+    public void setUp() {
+        int trackLength = 2 * LENGTH + 4;
+        List<String> commands = LayoutGenerator.toCommands(LayoutGenerator.ring(2 * TRAINS, trackLength));
+        commands.addAll(LayoutGenerator.trainsOnRing(TRAINS, LENGTH, trackLength));
+        for (int i = 0; i < 200; i++) {
+            commands.add("step 10");
+        }
+        this.script = (String.join("\n", commands) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Runs all Sessions and waits until they have ended.
+     *
+     * @return the number of bytes all Sessions printed.
+     * @throws InterruptedException if the benchmark is interrupted.
+     * @throws ExecutionException   if a Session fails.
+     */
+    @Benchmark
+    public int runSessions() throws InterruptedException, ExecutionException {
+        List<ByteArrayOutputStream> outputs = new ArrayList<ByteArrayOutputStream>();
+        List<Future<?>> sessions = new ArrayList<Future<?>>();
+        try (RailWayHost host = new RailWayHost()) {
+            for (int i = 0; i < SESSIONS; i++) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                outputs.add(output);
+                sessions.add(host.submit(new ByteArrayInputStream(this.script), output));
+            }
+        }
+        int printed = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions.get(i).get();
+            printed = printed + outputs.get(i).size();
+        }
+        return printed;
+    }
+}
@@ -0,0 +1,184 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.kit.informatik.Terminal;
+import userinterface.InputException;
+import userinterface.Session;
+import userinterface.commands.CommandCenter;
+
+/**
+ * Generates synthetic track layouts for the benchmarks. A layout is a list of
+ * track definitions in the order they can be added to an empty TrackNetwork.
+ * A definition with two points is a normal track, a definition with three
+ * points is a switch.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+final class LayoutGenerator {
+    /**
+     * The length of the Tracks in the generated layouts.
+     */
+    static final int TRACK_LENGTH = 10;
+
+    /**
+     * Utility class constructor.
+     */
+    private LayoutGenerator() {
+    }
+
+    /**
+     * Creates the String representation of a point, as it is used in the
+     * commands.
+     *
+     * @param coordX the x-coordinate.
+     * @param coordY the y-coordinate.
+     * @return the point as String.
+     */
+    static String point(int coordX, int coordY) {
+        return "(" + coordX + "," + coordY + ")";
+    }
+
+    /**
+     * Generates a straight horizontal line of tracks.
+     *
+     * @param tracks the number of tracks.
+     * @param length the length of every track.
+     * @return the layout.
+     */
+    static List<String[]> line(int tracks, int length) {
+        List<String[]> layout = new ArrayList<String[]>();
+        for (int i = 0; i < tracks; i++) {
+            layout.add(new String[] {point(i * length, 0), point((i + 1) * length, 0)});
+        }
+        return layout;
+    }
+
+    /**
+     * Generates a closed square of tracks. Every side of the square consists of
+     * the same number of tracks. The first side runs along the x-axis from (0,0).
+     *
+     * @param tracksPerSide the number of tracks on every side.
+     * @param length        the length of every track.
+     * @return the layout.
+     */
+    static List<String[]> ring(int tracksPerSide, int length) {
+        List<String[]> layout = new ArrayList<String[]>();
+        int side = tracksPerSide * length;
+        for (int i = 0; i < tracksPerSide; i++) {
+            layout.add(new String[] {point(i * length, 0), point((i + 1) * length, 0)});
+        }
+        for (int i = 0; i < tracksPerSide; i++) {
+            layout.add(new String[] {point(side, i * length), point(side, (i + 1) * length)});
+        }
+        for (int i = 0; i < tracksPerSide; i++) {
+            layout.add(new String[] {point(side - i * length, side), point(side - (i + 1) * length, side)});
+        }
+        for (int i = 0; i < tracksPerSide; i++) {
+            layout.add(new String[] {point(0, side - i * length), point(0, side - (i + 1) * length)});
+        }
+        return layout;
+    }
+
+    /**
+     * Generates a chain of switches along the x-axis. Every switch continues the
+     * chain with its first end and has a dead end as its second end.
+     *
+     * @param switches the number of switches.
+     * @param length   the length of both ends of every switch.
+     * @return the layout.
+     */
+    static List<String[]> switchChain(int switches, int length) {
+        List<String[]> layout = new ArrayList<String[]>();
+        for (int i = 0; i < switches; i++) {
+            layout.add(new String[] {point(i * length, 0), point((i + 1) * length, 0), point(i * length, length)});
+        }
+        return layout;
+    }
+
+    /**
+     * Generates a straight horizontal line of tracks which ends in a switch. The
+     * first end of the switch continues the line, the second end leads away from
+     * it. All tracks of the line lie on the same row as the first end.
+     *
+     * @param tracks the number of tracks before the switch.
+     * @param length the length of every track and of both ends of the switch.
+     * @return the layout, the switch is its last definition.
+     */
+    static List<String[]> lineWithSwitch(int tracks, int length) {
+        List<String[]> layout = line(tracks, length);
+        int end = tracks * length;
+        layout.add(new String[] {point(end, 0), point(end + length, 0), point(end, length)});
+        return layout;
+    }
+
+    /**
+     * Converts a layout into the add track and add switch commands which create
+     * it.
+     *
+     * @param layout the layout.
+     * @return the list of commands.
+     */
+    static List<String> toCommands(List<String[]> layout) {
+        List<String> commands = new ArrayList<String>();
+        for (String[] track : layout) {
+            if (track.length == 3) {
+                commands.add("add switch " + track[0] + " -> " + track[1] + "," + track[2]);
+            } else {
+                commands.add("add track " + track[0] + " -> " + track[1]);
+            }
+        }
+        return commands;
+    }
+
+    /**
+     * Creates the commands which put Trains on the first side of a ring. Every
+     * Train consists of one electrical engine and stands two tracks behind the
+     * Train in front of it, all Trains drive along the x-axis.
+     *
+     * @param trains      the number of Trains, the first side of the ring needs at
+     *                    least twice as many tracks.
+     * @param length      the length of every Train.
+     * @param trackLength the length of the tracks of the ring, at least two more
+     *                    than the length of a Train.
+     * @return the list of commands.
+     */
+    static List<String> trainsOnRing(int trains, int length, int trackLength) {
+        List<String> commands = new ArrayList<String>();
+        for (int i = 0; i < trains; i++) {
+            commands.add("create engine electrical E B" + i + " " + length + " true true");
+            commands.add("add train " + (i + 1) + " E-B" + i);
+            commands.add("put train " + (i + 1) + " at " + point(2 * i * trackLength + trackLength / 2 + length, 0)
+                    + " in direction 1,0");
+        }
+        return commands;
+    }
+
+    /**
+     * Creates a Session and executes commands in it. The output of the commands is
+     * not printed.
+     *
+     * @param commands the commands.
+     * @return the Session.
+     * @throws IllegalStateException if a command prints an error.
+     */
+    static Session execute(List<String> commands) {
+        Terminal.test = true;
+        Session session = new Session();
+        CommandCenter center = new CommandCenter(session);
+        for (String command : commands) {
+            try {
+                center.getCommand(command).execute();
+            } catch (InputException e) {
+                throw new IllegalStateException(command + ": " + e.getMessage());
+            }
+            if (Terminal.buffer.startsWith("Error")) {
+                throw new IllegalStateException(command + ": " + Terminal.buffer);
+            }
+        }
+        return session;
+    }
+}
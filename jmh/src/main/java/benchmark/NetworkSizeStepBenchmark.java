@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicException;
+import logic.ModelRailWay;
+
+/**
+ * Measures a long step of a fixed number of Trains on rings of growing size.
+ * The Trains only pass a few Tracks, so the time of the step should not depend
+ * on the number of Tracks in the network.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkSizeStepBenchmark {
+    /**
+     * The number of Trains.
+     */
+    private static final int TRAINS = 20;
+    /**
+     * The length of every Train.
+     */
+    private static final int LENGTH = 5;
+    /**
+     * The speed of the step.
+     */
+    private static final short SPEED = 2000;
+
+    /**
+     * The number of Tracks of the ring.
+     */
+    @Param({"200", "2000", "10000"})
+    public int tracks;
+
+    /**
+     * The ModelRailWay with the ring.
+     */
+    private ModelRailWay modelRailWay;
+
+    /**
+     * Builds the ring and puts the Trains on it.
+     */
+    @Setup
+    public void setUp() {
+        int trackLength = 2 * LENGTH + 4;
+        List<String> commands = LayoutGenerator.toCommands(LayoutGenerator.ring(this.tracks / 4, trackLength));
+        commands.addAll(LayoutGenerator.trainsOnRing(TRAINS, LENGTH, trackLength));
+        this.modelRailWay = LayoutGenerator.execute(commands).getModelRailWay();
+    }
+
+    /**
+     * Moves all Trains one step.
+     *
+     * @return the positions of the Trains.
+     * @throws LogicException if the Trains can not be moved.
+     */
+    @Benchmark
+    public String step() throws LogicException {
+        return this.modelRailWay.step(SPEED);
+    }
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicException;
+import logic.ModelRailWay;
+
+/**
+ * Compares a step of many Trains in the sequential and in the parallel mode.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelStepBenchmark {
+    /**
+     * The length of every Train.
+     */
+    private static final int LENGTH = 5;
+    /**
+     * The speed of the step.
+     */
+    private static final short SPEED = 100;
+
+    /**
+     * The number of Trains.
+     */
+    @Param({"32", "256"})
+    public int trains;
+    /**
+     * True if the Trains are moved at the same time.
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /**
+     * The ModelRailWay with the ring.
+     */
+    private ModelRailWay modelRailWay;
+
+    /**
+     * Builds the ring and puts the Trains on it.
+     */
+    @Setup
+    public void setUp() {
+        int trackLength = 2 * LENGTH + 4;
+        List<String> commands = LayoutGenerator.toCommands(LayoutGenerator.ring(2 * this.trains, trackLength));
+        commands.addAll(LayoutGenerator.trainsOnRing(this.trains, LENGTH, trackLength));
+        this.modelRailWay = LayoutGenerator.execute(commands).getModelRailWay();
+        this.modelRailWay.setParallelStep(this.parallel);
+    }
+
+    /**
+     * Moves all Trains one step.
+     *
+     * @return the positions of the Trains.
+     * @throws LogicException if the Trains can not be moved.
+     */
+    @Benchmark
+    public String step() throws LogicException {
+        return this.modelRailWay.step(SPEED);
+    }
+}
@@ -0,0 +1,131 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import logic.LogicException;
+import logic.ModelRailWay;
+import logic.TrackNetworkActions;
+
+/**
+ * Measures setting Switches. One benchmark sets every Switch of a chain of
+ * Switches, the other one toggles a single Switch at the end of a long line of
+ * Tracks which lie on the same row as the Switch. Both alternate between the
+ * two ends, so every operation really changes the Switches.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SetSwitchBenchmark {
+    /**
+     * The number of Switches in the chain and the number of Tracks in the line.
+     */
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    /**
+     * The ModelRailWay with the chain of Switches.
+     */
+    private ModelRailWay chain;
+    /**
+     * The definitions of the Switches of the chain.
+     */
+    private List<String[]> chainLayout;
+    /**
+     * The ids of the Switches of the chain.
+     */
+    private List<String> chainIds;
+    /**
+     * The ModelRailWay with the line of Tracks.
+     */
+    private ModelRailWay line;
+    /**
+     * The definition of the Switch at the end of the line.
+     */
+    private String[] lineSwitch;
+    /**
+     * The id of the Switch at the end of the line.
+     */
+    private String lineSwitchId;
+    /**
+     * The index of the end the Switches are set to next, 1 or 2.
+     */
+    private int end;
+
+    /**
+     * Builds both networks and sets all Switches to their first end.
+     *
+     * @throws LogicException if the networks can not be built.
+     */
+    @Setup
+    public void setUp() throws LogicException {
+        this.chainLayout = LayoutGenerator.switchChain(this.size, LayoutGenerator.TRACK_LENGTH);
+        this.chain = new ModelRailWay();
+        this.chainIds = new ArrayList<String>();
+        TrackNetworkActions actions = this.chain.getTrackNet().getTrackNetworkActions();
+        for (String[] track : this.chainLayout) {
+            this.chainIds.add(actions.addSwitch(track[0], track[1], track[2]));
+        }
+        for (int i = 0; i < this.chainLayout.size(); i++) {
+            this.chain.setSwitch(this.chainIds.get(i), this.chainLayout.get(i)[1]);
+        }
+        List<String[]> lineLayout = LayoutGenerator.lineWithSwitch(this.size, LayoutGenerator.TRACK_LENGTH);
+        this.line = new ModelRailWay();
+        actions = this.line.getTrackNet().getTrackNetworkActions();
+        for (String[] track : lineLayout.subList(0, lineLayout.size() - 1)) {
+            actions.addNormalTrack(track[0], track[1]);
+        }
+        this.lineSwitch = lineLayout.get(lineLayout.size() - 1);
+        this.lineSwitchId = actions.addSwitch(this.lineSwitch[0], this.lineSwitch[1], this.lineSwitch[2]);
+        this.line.setSwitch(this.lineSwitchId, this.lineSwitch[1]);
+        this.end = 2;
+    }
+
+    /**
+     * Sets every Switch of the chain to the other end.
+     *
+     * @param blackhole consumes the results of the Switches.
+     * @throws LogicException if a Switch can not be set.
+     */
+    @Benchmark
+    public void setSwitchChain(Blackhole blackhole) throws LogicException {
+        for (int i = 0; i < this.chainLayout.size(); i++) {
+            blackhole.consume(this.chain.setSwitch(this.chainIds.get(i), this.chainLayout.get(i)[this.end]));
+        }
+        this.end = 3 - this.end;
+    }
+
+    /**
+     * Sets the Switch at the end of the line to its other end.
+     *
+     * @return the result of the Switch.
+     * @throws LogicException if the Switch can not be set.
+     */
+    @Benchmark
+    public String toggleSwitchOnLine() throws LogicException {
+        String result = this.line.setSwitch(this.lineSwitchId, this.lineSwitch[this.end]);
+        this.end = 3 - this.end;
+        return result;
+    }
+}
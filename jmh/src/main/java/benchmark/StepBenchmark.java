@@ -0,0 +1,79 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicException;
+import logic.ModelRailWay;
+
+/**
+ * Measures one step of Trains which drive behind each other on a closed ring of
+ * Tracks. The Trains keep their distance, so they never crash and the same ring
+ * is used for every operation.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StepBenchmark {
+    /**
+     * The number of Trains.
+     */
+    @Param({"1", "8", "32"})
+    public int trains;
+    /**
+     * The length of every Train.
+     */
+    @Param({"1", "5", "20"})
+    public int length;
+    /**
+     * The speed of the step.
+     */
+    @Param({"1", "100", "10000"})
+    public short speed;
+
+    /**
+     * The ModelRailWay with the ring.
+     */
+    private ModelRailWay modelRailWay;
+
+    /**
+     * Builds the ring and puts the Trains on it.
+     */
+    @Setup
+    public void setUp() {
+        int trackLength = 2 * this.length + 4;
+        List<String> commands = LayoutGenerator.toCommands(LayoutGenerator.ring(2 * this.trains, trackLength));
+        commands.addAll(LayoutGenerator.trainsOnRing(this.trains, this.length, trackLength));
+        this.modelRailWay = LayoutGenerator.execute(commands).getModelRailWay();
+    }
+
+    /**
+     * Moves all Trains one step.
+     *
+     * @return the positions of the Trains.
+     * @throws LogicException if the Trains can not be moved.
+     */
+    @Benchmark
+    public String step() throws LogicException {
+        return this.modelRailWay.step(this.speed);
+    }
+}
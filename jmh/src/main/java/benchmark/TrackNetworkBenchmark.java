@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import logic.LogicException;
+import logic.ModelRailWay;
+import logic.TrackNetwork;
+import logic.TrackNetworkActions;
+
+/**
+ * Measures how long it takes to build a TrackNetwork of a given size, once out
+ * of normal Tracks and once out of Switches. Every operation builds the whole
+ * network in an empty ModelRailWay.
+ *
+ * @author Christopher Roth
+ * @version 1.0
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrackNetworkBenchmark {
+    /**
+     * The number of Tracks or Switches in the network.
+     */
+    @Param({"100", "1000", "5000"})
+    public int size;
+
+    /**
+     * A line of normal Tracks.
+     */
+    private List<String[]> line;
+    /**
+     * A chain of Switches.
+     */
+    private List<String[]> switchChain;
+
+    /**
+     * Generates the layouts.
+     */
+    @Setup
+    public void setUp() {
+        this.line = LayoutGenerator.line(this.size, LayoutGenerator.TRACK_LENGTH);
+        this.switchChain = LayoutGenerator.switchChain(this.size, LayoutGenerator.TRACK_LENGTH);
+    }
+
+    /**
+     * Adds the line of normal Tracks to an empty network.
+     *
+     * @return the network.
+     * @throws LogicException if a Track can not be added.
+     */
+    @Benchmark
+    public TrackNetwork addNormalTracks() throws LogicException {
+        TrackNetwork network = new ModelRailWay().getTrackNet();
+        TrackNetworkActions actions = network.getTrackNetworkActions();
+        for (String[] track : this.line) {
+            actions.addNormalTrack(track[0], track[1]);
+        }
+        return network;
+    }
+
+    /**
+     * Adds the chain of Switches to an empty network.
+     *
+     * @return the network.
+     * @throws LogicException if a Switch can not be added.
+     */
+    @Benchmark
+    public TrackNetwork addSwitches() throws LogicException {
+        TrackNetwork network = new ModelRailWay().getTrackNet();
+        TrackNetworkActions actions = network.getTrackNetworkActions();
+        for (String[] track : this.switchChain) {
+            actions.addSwitch(track[0], track[1], track[2]);
+        }
+        return network;
+    }
+}